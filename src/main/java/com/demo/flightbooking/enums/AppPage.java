@@ -0,0 +1,21 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * The pages of the booking flow, in the order a user reaches them.
+ * Each knows the path it lives at, relative to the application URL.
+ */
+public enum AppPage {
+    HOME(""),
+    RESERVE("reserve.php"),
+    PURCHASE("purchase.php");
+
+    private final String path;
+
+    AppPage(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
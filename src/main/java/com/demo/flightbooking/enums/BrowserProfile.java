@@ -0,0 +1,11 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * How a browser is launched.
+ * DEFAULT is the full headed browser; FAST runs headless with a fixed viewport, EAGER page loads
+ * and static assets/trackers blocked, so booking flows spend their time on the application itself.
+ */
+public enum BrowserProfile {
+    DEFAULT,
+    FAST;
+}
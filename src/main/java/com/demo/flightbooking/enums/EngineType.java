@@ -0,0 +1,11 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * How a suite drives the booking flow.
+ * BROWSER goes through Selenium and the page objects; HTTP posts the same forms directly
+ * with the classes in {@code com.demo.flightbooking.http}, with no browser at all.
+ */
+public enum EngineType {
+    BROWSER,
+    HTTP;
+}
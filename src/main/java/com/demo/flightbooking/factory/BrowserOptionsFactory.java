@@ -1,16 +1,28 @@
 package com.demo.flightbooking.factory;
 
+import com.demo.flightbooking.enums.BrowserProfile;
 import com.demo.flightbooking.enums.BrowserType;
-import io.github.bonigarcia.wdm.WebDriverManager; // Import WebDriverManager
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.EventWaits;
+import com.demo.flightbooking.utils.FailureArtifacts;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Returns browser-specific options after setting up WebDriverManager.
+ * Returns browser-specific options for the browser's configured {@link BrowserProfile}.
+ * Driver binaries are no longer set up here; local runs resolve them once via {@link DriverServiceFactory}.
  *
  * @param browserType Enum for supported browsers.
  * @return MutableCapabilities instance with browser-specific options.
@@ -21,35 +33,119 @@ public class BrowserOptionsFactory {
     private static final Logger logger = LogManager.getLogger(BrowserOptionsFactory.class);
 
     public static MutableCapabilities getOptions(BrowserType browserType) {
-        logger.info("Creating options for browser: {}", browserType);
+        MutableCapabilities options = createOptions(browserType);
+        if ((EventWaits.isEnabled() && Boolean.parseBoolean(ConfigReader.getProperty("wait.bidi")))
+                || FailureArtifacts.isConsoleEnabled()) {
+            // Opens the BiDi WebSocket so URL waits can listen for navigation events and console output is recorded.
+            options.setCapability("webSocketUrl", true);
+        }
+        return options;
+    }
+
+    private static MutableCapabilities createOptions(BrowserType browserType) {
+        BrowserProfile profile = getProfile(browserType);
+        logger.info("Creating options for browser: {} (profile: {})", browserType, profile);
+        boolean fast = profile == BrowserProfile.FAST;
+        String[] windowSize = getWindowSize();
+
         switch (browserType) {
             case CHROME:
-                // --- THIS IS THE CHANGE ---
-                // WebDriverManager setup is now handled here.
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--start-maximized");
                 chromeOptions.addArguments("--disable-gpu");
                 chromeOptions.addArguments("--remote-allow-origins=*");
+                if (fast) {
+                    chromeOptions.addArguments("--headless=new");
+                    chromeOptions.addArguments("--window-size=" + windowSize[0] + "," + windowSize[1]);
+                    chromeOptions.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                } else {
+                    chromeOptions.addArguments("--start-maximized");
+                }
                 return chromeOptions;
 
             case FIREFOX:
-                // --- THIS IS THE CHANGE ---
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
-                // Add any Firefox-specific options here if needed
+                if (fast) {
+                    firefoxOptions.addArguments("-headless");
+                    firefoxOptions.addArguments("--width=" + windowSize[0], "--height=" + windowSize[1]);
+                    firefoxOptions.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                    // Firefox has no CDP; block images and web fonts and let tracking protection drop trackers.
+                    firefoxOptions.addPreference("permissions.default.image", 2);
+                    firefoxOptions.addPreference("gfx.downloadable_fonts.enabled", false);
+                    firefoxOptions.addPreference("privacy.trackingprotection.enabled", true);
+                }
                 return firefoxOptions;
 
             case EDGE:
-                // --- THIS IS THE CHANGE ---
-                WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
-                edgeOptions.addArguments("--start-maximized");
                 edgeOptions.addArguments("--inprivate");
+                if (fast) {
+                    edgeOptions.addArguments("--headless=new");
+                    edgeOptions.addArguments("--window-size=" + windowSize[0] + "," + windowSize[1]);
+                    edgeOptions.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                } else {
+                    edgeOptions.addArguments("--start-maximized");
+                }
                 return edgeOptions;
 
             default:
                 throw new IllegalArgumentException("Unsupported browser type provided: " + browserType);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies profile settings that can only be set on a live session.
+     * For FAST Chromium sessions this blocks the configured URL patterns through CDP.
+     *
+     * @param driver      The freshly created session.
+     * @param browserType The browser the session runs.
+     */
+    public static void applySessionSettings(WebDriver driver, BrowserType browserType) {
+        if (getProfile(browserType) != BrowserProfile.FAST || browserType == BrowserType.FIREFOX) {
+            return;
+        }
+        List<String> blockedUrls = getBlockedUrls();
+        if (blockedUrls.isEmpty()) {
+            return;
+        }
+
+        // Grid sessions are plain RemoteWebDrivers; augmenting adds the CDP command endpoint.
+        WebDriver cdpDriver = driver instanceof HasCdp ? driver : new Augmenter().augment(driver);
+        if (!(cdpDriver instanceof HasCdp cdp)) {
+            logger.warn("{} session does not support CDP; URL blocking skipped.", browserType);
+            return;
+        }
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+        logger.info("Blocking {} URL pattern(s) for {} session", blockedUrls.size(), browserType);
+    }
+
+    /**
+     * Returns the profile for a browser: {@code browser.profile.<browser>} if set, otherwise {@code browser.profile}.
+     */
+    public static BrowserProfile getProfile(BrowserType browserType) {
+        String profile = ConfigReader.getProperty("browser.profile." + browserType.name().toLowerCase());
+        if (profile == null || profile.isBlank()) {
+            profile = ConfigReader.getProperty("browser.profile");
+        }
+        if (profile == null || profile.isBlank()) {
+            return BrowserProfile.DEFAULT;
+        }
+        return BrowserProfile.valueOf(profile.trim().toUpperCase());
+    }
+
+    private static String[] getWindowSize() {
+        String size = ConfigReader.getProperty("browser.fast.windowSize");
+        if (size == null || !size.matches("\\s*\\d+\\s*,\\s*\\d+\\s*")) {
+            return new String[]{"1366", "768"};
+        }
+        return Arrays.stream(size.split(",")).map(String::trim).toArray(String[]::new);
+    }
+
+    private static List<String> getBlockedUrls() {
+        String patterns = ConfigReader.getProperty("browser.fast.blockedUrls");
+        if (patterns == null || patterns.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(patterns.split(",")).map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+}
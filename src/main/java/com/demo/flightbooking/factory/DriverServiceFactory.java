@@ -0,0 +1,240 @@
+package com.demo.flightbooking.factory;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.utils.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves local driver binaries once per JVM and keeps one long-lived driver service per browser.
+ * Only chromedriver and msedgedriver can host several sessions; geckodriver allows one session per process,
+ * so Firefox always gets a driver process of its own (see {@link #supportsSharedService}).
+ * <p>
+ * Online, the driver is resolved through WebDriverManager once per JVM, so a browser that auto-updated gets a
+ * matching driver. Resolved paths are also remembered on disk, with the browser major version they were resolved
+ * for. Fully offline runs ({@code driver.offline=true}) use only that cache; online runs fall back to it when
+ * resolution fails and the installed browser still has the same major version.
+ */
+public class DriverServiceFactory {
+
+    private static final Logger logger = LogManager.getLogger(DriverServiceFactory.class);
+    private static final String CACHE_FILE_NAME = "driver-paths.properties";
+    private static final Pattern BROWSER_VERSION = Pattern.compile("(\\d+)\\.\\d+");
+
+    private static final Map<BrowserType, String> driverPaths = new ConcurrentHashMap<>();
+    private static final Map<BrowserType, DriverService> services = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverServiceFactory::stopAll, "driver-service-shutdown"));
+    }
+
+    private DriverServiceFactory() {
+    }
+
+    /**
+     * Returns the driver binary path for the browser, resolving it at most once per JVM.
+     *
+     * @param browserType The browser whose driver binary is needed.
+     * @return The absolute path of the driver executable.
+     */
+    public static String resolveDriverPath(BrowserType browserType) {
+        return driverPaths.computeIfAbsent(browserType, type -> {
+            String path = lookUpDriverPath(type);
+            // Lets the plain ChromeDriver/FirefoxDriver/EdgeDriver constructors find the binary too.
+            System.setProperty(driverSystemProperty(type), path);
+            return path;
+        });
+    }
+
+    /**
+     * Whether one driver process can serve concurrent sessions of the browser. geckodriver cannot: a second
+     * session on the same process fails with "Session is already started".
+     */
+    public static boolean supportsSharedService(BrowserType browserType) {
+        return browserType != BrowserType.FIREFOX;
+    }
+
+    /**
+     * Returns the running shared service for the browser, starting it on first use.
+     * Sessions created against {@link DriverService#getUrl()} must not own the service,
+     * otherwise quitting a session would stop it for everyone else.
+     *
+     * @param browserType The browser whose service is needed.
+     * @return A started driver service.
+     * @throws IllegalArgumentException if the browser's driver cannot be shared.
+     */
+    public static DriverService getSharedService(BrowserType browserType) {
+        if (!supportsSharedService(browserType)) {
+            throw new IllegalArgumentException(browserType + " driver hosts one session per process and cannot be shared");
+        }
+        return services.computeIfAbsent(browserType, DriverServiceFactory::startService);
+    }
+
+    /**
+     * Stops every shared driver service. Safe to call more than once.
+     */
+    public static void stopAll() {
+        services.forEach((browserType, service) -> {
+            if (service.isRunning()) {
+                logger.info("Stopping shared {} driver service.", browserType);
+                service.stop();
+            }
+        });
+        services.clear();
+    }
+
+    private static DriverService startService(BrowserType browserType) {
+        File executable = new File(resolveDriverPath(browserType));
+        DriverService service = switch (browserType) {
+            case CHROME -> new ChromeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+            case FIREFOX -> new GeckoDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+            case EDGE -> new EdgeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+        };
+
+        long start = System.nanoTime();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start shared " + browserType + " driver service", e);
+        }
+        logger.info("Shared {} driver service started at {} in {} ms", browserType, service.getUrl(),
+                (System.nanoTime() - start) / 1_000_000);
+        return service;
+    }
+
+    private static String lookUpDriverPath(BrowserType browserType) {
+        Path cacheFile = getCacheDir().resolve(CACHE_FILE_NAME);
+        Properties cached = loadCache(cacheFile);
+        String key = browserType.name().toLowerCase();
+        String cachedPath = cached.getProperty(key);
+        boolean cacheUsable = cachedPath != null && Files.isExecutable(Paths.get(cachedPath));
+
+        if (Boolean.parseBoolean(ConfigReader.getProperty("driver.offline"))) {
+            if (cacheUsable) {
+                logger.info("Using cached {} driver (offline): {}", browserType, cachedPath);
+                return cachedPath;
+            }
+            throw new RuntimeException("driver.offline=true but no usable " + browserType
+                    + " driver is cached in " + cacheFile + ". Run once online to populate the cache.");
+        }
+
+        WebDriverManager manager = switch (browserType) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case EDGE -> WebDriverManager.edgedriver();
+        };
+        long start = System.nanoTime();
+        try {
+            manager.setup();
+        } catch (RuntimeException e) {
+            // A cached driver is only safe if the browser has not been updated past it since.
+            String browserMajor = installedBrowserMajor(manager);
+            String cachedMajor = cached.getProperty(key + ".browserMajor");
+            if (cacheUsable && browserMajor != null && browserMajor.equals(cachedMajor)) {
+                logger.warn("Could not resolve {} driver ({}); using the cached one for browser {}: {}",
+                        browserType, e.getMessage(), browserMajor, cachedPath);
+                return cachedPath;
+            }
+            throw new RuntimeException("Could not resolve the " + browserType + " driver and no cached driver in "
+                    + cacheFile + " matches the installed browser (version " + browserMajor + ")", e);
+        }
+        String path = manager.getDownloadedDriverPath();
+        logger.info("Resolved {} driver {} via WebDriverManager in {} ms: {}", browserType,
+                manager.getDownloadedDriverVersion(), (System.nanoTime() - start) / 1_000_000, path);
+
+        storeInCache(cacheFile, key, path, installedBrowserMajor(manager));
+        return path;
+    }
+
+    // Major version of the locally installed browser, from "<browser> --version"; null if it cannot be told.
+    private static String installedBrowserMajor(WebDriverManager manager) {
+        try {
+            Optional<Path> browser = manager.getBrowserPath();
+            if (browser.isEmpty()) {
+                return null;
+            }
+            Process process = new ProcessBuilder(browser.get().toString(), "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher version = BROWSER_VERSION.matcher(output);
+            return version.find() ? version.group(1) : null;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read the installed browser version: {}", e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String driverSystemProperty(BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY;
+            case FIREFOX -> GeckoDriverService.GECKO_DRIVER_EXE_PROPERTY;
+            case EDGE -> EdgeDriverService.EDGE_DRIVER_EXE_PROPERTY;
+        };
+    }
+
+    private static Path getCacheDir() {
+        String configured = ConfigReader.getProperty("driver.cache.dir");
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured.trim());
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "flightbooking");
+    }
+
+    private static Properties loadCache(Path cacheFile) {
+        Properties properties = new Properties();
+        if (Files.exists(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                properties.load(in);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    // Several browsers may resolve at the same time; serialize the read-modify-write of the file.
+    private static synchronized void storeInCache(Path cacheFile, String key, String path, String browserMajor) {
+        Properties properties = loadCache(cacheFile);
+        properties.setProperty(key, path);
+        if (browserMajor != null) {
+            properties.setProperty(key + ".browserMajor", browserMajor);
+        } else {
+            properties.remove(key + ".browserMajor");
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                properties.store(out, "Resolved WebDriver binaries");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write driver cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.demo.flightbooking.http;
+
+import org.jsoup.nodes.Element;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The submittable state of an HTML form, built the way a browser would build it:
+ * hidden fields (such as CSRF tokens) and pre-filled values are kept, selects default to their
+ * selected (or first) option and only checked checkboxes are sent.
+ * Submit buttons are not included unless they have a name, which BlazeDemo's do not.
+ */
+public class HtmlForm {
+
+    private final URI action;
+    private final String method;
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    // select name -> (visible text -> option value)
+    private final Map<String, Map<String, String>> selectOptions = new HashMap<>();
+    // checkbox name -> the value it sends when checked
+    private final Map<String, String> checkboxes = new HashMap<>();
+
+    private HtmlForm(URI action, String method) {
+        this.action = action;
+        this.method = method;
+    }
+
+    /**
+     * Reads a {@code <form>} element.
+     *
+     * @param form    The parsed form element.
+     * @param baseUri The URI of the page the form is on, used to resolve a relative action.
+     */
+    public static HtmlForm from(Element form, URI baseUri) {
+        HtmlForm htmlForm = new HtmlForm(baseUri.resolve(form.attr("action")),
+                form.hasAttr("method") ? form.attr("method").toUpperCase() : "GET");
+
+        for (Element input : form.select("input[name]")) {
+            String name = input.attr("name");
+            switch (input.attr("type").toLowerCase()) {
+                case "submit", "button", "image", "reset" -> { }
+                case "checkbox", "radio" -> {
+                    String value = input.hasAttr("value") ? input.attr("value") : "on";
+                    htmlForm.checkboxes.put(name, value);
+                    if (input.hasAttr("checked")) {
+                        htmlForm.fields.put(name, value);
+                    }
+                }
+                default -> htmlForm.fields.put(name, input.attr("value"));
+            }
+        }
+
+        for (Element select : form.select("select[name]")) {
+            Map<String, String> options = new LinkedHashMap<>();
+            String selected = null;
+            for (Element option : select.select("option")) {
+                String value = option.hasAttr("value") ? option.attr("value") : option.text();
+                options.put(option.text(), value);
+                if (selected == null || option.hasAttr("selected")) {
+                    selected = value;
+                }
+            }
+            htmlForm.selectOptions.put(select.attr("name"), options);
+            htmlForm.fields.put(select.attr("name"), selected != null ? selected : "");
+        }
+
+        for (Element textarea : form.select("textarea[name]")) {
+            htmlForm.fields.put(textarea.attr("name"), textarea.text());
+        }
+        return htmlForm;
+    }
+
+    /**
+     * Sets a text field. Unknown names are rejected so that a renamed field fails loudly instead of being ignored.
+     */
+    public HtmlForm set(String name, String value) {
+        if (!fields.containsKey(name) || selectOptions.containsKey(name) || checkboxes.containsKey(name)) {
+            throw new RuntimeException("Form " + action + " has no input field '" + name + "'");
+        }
+        fields.put(name, value);
+        return this;
+    }
+
+    /**
+     * Chooses a select option by its visible text, like {@code Select.selectByVisibleText}.
+     */
+    public HtmlForm selectByVisibleText(String name, String text) {
+        Map<String, String> options = selectOptions.get(name);
+        if (options == null) {
+            throw new RuntimeException("Form " + action + " has no select '" + name + "'");
+        }
+        String value = options.get(text);
+        if (value == null) {
+            throw new RuntimeException("Cannot locate option with text: " + text + " in select '" + name + "'");
+        }
+        fields.put(name, value);
+        return this;
+    }
+
+    /**
+     * Ticks a checkbox.
+     */
+    public HtmlForm check(String name) {
+        String value = checkboxes.get(name);
+        if (value == null) {
+            throw new RuntimeException("Form " + action + " has no checkbox '" + name + "'");
+        }
+        fields.put(name, value);
+        return this;
+    }
+
+    public URI getAction() {
+        return action;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public Map<String, String> getFields() {
+        return Map.copyOf(fields);
+    }
+
+    /**
+     * Returns the fields as an {@code application/x-www-form-urlencoded} body.
+     */
+    public String encode() {
+        return fields.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
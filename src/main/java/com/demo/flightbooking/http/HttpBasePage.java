@@ -0,0 +1,35 @@
+package com.demo.flightbooking.http;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Base class for the HTTP page objects.
+ * Mirrors {@link com.demo.flightbooking.pages.BasePage}, but works on an {@link HttpSession} instead of a WebDriver.
+ */
+public abstract class HttpBasePage {
+
+    protected final HttpSession session;
+    protected final Logger logger;
+
+    public HttpBasePage(HttpSession session) {
+        this.session = session;
+        this.logger = LogManager.getLogger(this.getClass());
+    }
+
+    /**
+     * Get the title of the current page.
+     * @return The page title.
+     */
+    public String getPageTitle() {
+        return session.getCurrentPage().title();
+    }
+
+    /**
+     * Get the current URL.
+     * @return The current URL.
+     */
+    public String getCurrentUrl() {
+        return session.getCurrentUrl();
+    }
+}
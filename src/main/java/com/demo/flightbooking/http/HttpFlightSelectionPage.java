@@ -0,0 +1,48 @@
+package com.demo.flightbooking.http;
+
+import com.demo.flightbooking.pages.FlightTable;
+import org.jsoup.nodes.Element;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * HTTP counterpart of {@link com.demo.flightbooking.pages.FlightSelectionPage} (reserve.php).
+ * Each flight row carries its own small form with the flight's details as hidden fields.
+ */
+public class HttpFlightSelectionPage extends HttpBasePage {
+
+    private static final String CHOOSE_FORM = "purchase.php";
+
+    public HttpFlightSelectionPage(HttpSession session) {
+        super(session);
+    }
+
+    // Posts the first "Choose This Flight" form, like clicking its button.
+    public void clickChooseFlightButton() {
+        logger.info("Choosing the first flight (HTTP).");
+        session.submit(session.getCurrentPage().form(CHOOSE_FORM));
+    }
+
+    /**
+     * Reads the results table into the same {@link FlightTable} the browser page returns (without buttons).
+     */
+    public FlightTable getFlightTable() {
+        List<List<String>> rows = session.getCurrentPage().document().select("table.table > tbody > tr").stream()
+            .map(row -> row.select("> td").stream().skip(1).limit(5).map(Element::text).toList())
+            .filter(cells -> cells.size() == 5)
+            .toList();
+        return new FlightTable(rows, List.of());
+    }
+
+    /**
+     * Gets the lowest flight price from the results table.
+     *
+     * @return An Optional<Double> containing the lowest price, or an empty Optional if no prices are found.
+     */
+    public Optional<Double> getLowestFlightPrice() {
+        OptionalDouble lowest = getFlightTable().lowestPrice();
+        return lowest.isPresent() ? Optional.of(lowest.getAsDouble()) : Optional.empty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.demo.flightbooking.http;
+
+/**
+ * HTTP counterpart of {@link com.demo.flightbooking.pages.HomePage}: fills in and posts the search form to reserve.php.
+ */
+public class HttpHomePage extends HttpBasePage {
+
+    private static final String SEARCH_FORM = "reserve.php";
+
+    public HttpHomePage(HttpSession session) {
+        super(session);
+    }
+
+    /**
+     * Performs the full flight search operation from the home page.
+     *
+     * @param departCity The city to depart from.
+     * @param arriveCity The city to arrive at.
+     */
+    public void findFlights(String departCity, String arriveCity) {
+        logger.info("Performing flight search (HTTP) from {} to {}.", departCity, arriveCity);
+        HtmlForm form = session.getCurrentPage().form(SEARCH_FORM)
+                .selectByVisibleText("fromPort", departCity)
+                .selectByVisibleText("toPort", arriveCity);
+        session.submit(form);
+    }
+}
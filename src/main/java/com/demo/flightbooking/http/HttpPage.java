@@ -0,0 +1,35 @@
+package com.demo.flightbooking.http;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.net.URI;
+
+/**
+ * A page fetched by an {@link HttpSession}: where it came from, the HTTP status and the parsed HTML.
+ *
+ * @param uri      The final URI of the page (after redirects).
+ * @param status   The HTTP status code.
+ * @param document The parsed HTML.
+ */
+public record HttpPage(URI uri, int status, Document document) {
+
+    /**
+     * Returns the first form on the page whose action contains {@code actionChunk},
+     * e.g. {@code "reserve.php"}.
+     *
+     * @throws RuntimeException if the page has no such form.
+     */
+    public HtmlForm form(String actionChunk) {
+        for (Element form : document.select("form")) {
+            if (form.attr("action").contains(actionChunk)) {
+                return HtmlForm.from(form, uri);
+            }
+        }
+        throw new RuntimeException("No form posting to '" + actionChunk + "' on " + uri);
+    }
+
+    public String title() {
+        return document.title();
+    }
+}
@@ -0,0 +1,45 @@
+package com.demo.flightbooking.http;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * HTTP counterpart of {@link com.demo.flightbooking.pages.PurchasePage} (purchase.php).
+ * The form is filled in locally and only sent when {@link #clickPurchaseFlightButton()} is called.
+ * On BlazeDemo the field names match the ids the browser page object uses.
+ */
+public class HttpPurchasePage extends HttpBasePage {
+
+    private static final String PURCHASE_FORM = "confirmation.php";
+
+    private HtmlForm form;
+
+    public HttpPurchasePage(HttpSession session) {
+        super(session);
+    }
+
+    /**
+     * Fills the entire purchase form using data from a Passenger record.
+     *
+     * @param passenger The Passenger record containing all necessary data.
+     */
+    public void fillPurchaseForm(Passenger passenger) {
+        logger.info("Filling purchase form (HTTP) for passenger: {}", passenger.firstName());
+        form = session.getCurrentPage().form(PURCHASE_FORM)
+                .set("inputName", passenger.firstName())
+                .set("address", passenger.address())
+                .set("city", passenger.city())
+                .set("state", passenger.state())
+                .set("zipCode", passenger.zipCode())
+                .selectByVisibleText("cardType", passenger.cardType())
+                .set("creditCardNumber", passenger.cardNumber())
+                .set("creditCardMonth", passenger.month())
+                .set("creditCardYear", passenger.year())
+                .set("nameOnCard", passenger.cardName())
+                .check("rememberMe");
+    }
+
+    public void clickPurchaseFlightButton() {
+        logger.info("Posting the purchase form (HTTP)");
+        session.submit(form != null ? form : session.getCurrentPage().form(PURCHASE_FORM));
+    }
+}
@@ -0,0 +1,164 @@
+package com.demo.flightbooking.http;
+
+import com.demo.flightbooking.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A browser-less session against the application: it keeps its own cookies and the page it is on,
+ * and submits forms the way a browser would.
+ * <p>
+ * All sessions share one {@link HttpClient}, so TCP/TLS connections (and HTTP/2 streams) are reused across
+ * tests. Cookies are therefore kept per session here rather than in the client. They are matched by name only,
+ * which is enough for a single-host application like BlazeDemo.
+ */
+public class HttpSession {
+
+    private static final Logger logger = LogManager.getLogger(HttpSession.class);
+    private static final int MAX_REDIRECTS = 5;
+    private static final int DEFAULT_TIMEOUT = 10;
+
+    private static final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER) // redirects are followed here so their cookies are kept
+            .connectTimeout(Duration.ofSeconds(DEFAULT_TIMEOUT))
+            .build();
+
+    private final Map<String, HttpCookie> cookies = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private HttpPage currentPage;
+
+    public HttpSession() {
+        int timeoutSeconds = ConfigReader.getTestTimeout();
+        this.timeout = Duration.ofSeconds(timeoutSeconds > 0 ? timeoutSeconds : DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Loads a page, like {@code driver.get(url)}.
+     */
+    public HttpPage open(String url) {
+        return send(HttpRequest.newBuilder(URI.create(url)).GET());
+    }
+
+    /**
+     * Submits a form, like clicking its submit button.
+     */
+    public HttpPage submit(HtmlForm form) {
+        String body = form.encode();
+        if ("POST".equals(form.getMethod())) {
+            return send(HttpRequest.newBuilder(form.getAction())
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+        }
+        URI action = form.getAction();
+        String query = body.isEmpty() ? "" : "?" + body;
+        return send(HttpRequest.newBuilder(URI.create(action.toString().split("\\?")[0] + query)).GET());
+    }
+
+    public HttpPage getCurrentPage() {
+        if (currentPage == null) {
+            throw new IllegalStateException("No page loaded yet. Call open() first.");
+        }
+        return currentPage;
+    }
+
+    public String getCurrentUrl() {
+        return currentPage != null ? currentPage.uri().toString() : "";
+    }
+
+    /**
+     * Returns the cookies the application has set on this session so far.
+     */
+    public List<HttpCookie> getCookies() {
+        return List.copyOf(cookies.values());
+    }
+
+    private HttpPage send(HttpRequest.Builder request) {
+        HttpRequest httpRequest = withCookies(request).timeout(timeout).build();
+        try {
+            for (int redirects = 0; ; redirects++) {
+                long start = System.nanoTime();
+                HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                storeCookies(response);
+                logger.debug("{} {} -> {} in {} ms", httpRequest.method(), httpRequest.uri(), response.statusCode(),
+                        (System.nanoTime() - start) / 1_000_000);
+
+                int status = response.statusCode();
+                if (status >= 300 && status < 400) {
+                    if (redirects == MAX_REDIRECTS) {
+                        throw new RuntimeException(httpRequest.method() + " " + httpRequest.uri() + " returned HTTP "
+                                + status + " after " + MAX_REDIRECTS + " redirects; giving up (redirect loop?)");
+                    }
+                    String location = response.headers().firstValue("Location").orElse(null);
+                    if (location == null) {
+                        throw new RuntimeException("Redirect without Location from " + httpRequest.uri());
+                    }
+                    httpRequest = withCookies(redirect(httpRequest, status, httpRequest.uri().resolve(location)))
+                            .timeout(timeout).build();
+                    continue;
+                }
+                if (status >= 400) {
+                    throw new RuntimeException(httpRequest.method() + " " + httpRequest.uri() + " returned HTTP " + status);
+                }
+                currentPage = new HttpPage(response.uri(), status, Jsoup.parse(response.body(), response.uri().toString()));
+                return currentPage;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Request to " + httpRequest.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while requesting " + httpRequest.uri(), e);
+        }
+    }
+
+    // 307 and 308 repeat the request, method and body included; the others (301/302/303) turn into a GET,
+    // as browsers do.
+    private static HttpRequest.Builder redirect(HttpRequest previous, int status, URI target) {
+        HttpRequest.Builder next = HttpRequest.newBuilder(target);
+        if (status != 307 && status != 308) {
+            return next.GET();
+        }
+        previous.headers().map().forEach((name, values) -> {
+            if (!"Cookie".equalsIgnoreCase(name)) { // re-added from the session's current cookies
+                values.forEach(value -> next.header(name, value));
+            }
+        });
+        return next.method(previous.method(), previous.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder withCookies(HttpRequest.Builder request) {
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies.values().stream()
+                    .map(c -> c.getName() + "=" + c.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        return request;
+    }
+
+    private void storeCookies(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                if (cookie.getDomain() == null) {
+                    cookie.setDomain(response.uri().getHost());
+                }
+                if (cookie.hasExpired()) {
+                    cookies.remove(cookie.getName());
+                } else {
+                    cookies.put(cookie.getName(), cookie);
+                }
+            }
+        }
+    }
+}
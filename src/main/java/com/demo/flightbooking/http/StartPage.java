@@ -0,0 +1,19 @@
+package com.demo.flightbooking.http;
+
+import com.demo.flightbooking.enums.AppPage;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the page a browser test starts on. Before the test runs, {@link StateSeeder} prepares the
+ * server-side state over HTTP and opens the browser directly on that page, so the test body skips the
+ * navigation prefix. The route is taken from the test's {@code Passenger} parameter.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StartPage {
+    AppPage value();
+}
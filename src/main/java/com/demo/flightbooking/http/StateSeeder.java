@@ -0,0 +1,165 @@
+package com.demo.flightbooking.http;
+
+import com.demo.flightbooking.enums.AppPage;
+import com.demo.flightbooking.pages.FlightSelectionPage;
+import com.demo.flightbooking.pages.HomePage;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.WebDriverUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.HttpCookie;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens a browser directly on a page deep in the booking flow.
+ * <p>
+ * The search (and flight choice) are done over HTTP with an {@link HttpSession}. The browser then
+ * loads one cheap page on the application's origin, takes over the HTTP session's cookies, and posts
+ * the last form itself, so it lands on the target page with the same server-side state as if it had
+ * clicked through. The final post has to come from the browser: it is what puts the page in its history
+ * and DOM, and a cross-site post would not carry SameSite session cookies.
+ * <p>
+ * To report the time saved, the first seed per browser and page walks the UI instead and is timed
+ * as the baseline (see {@code seed.calibrate}).
+ */
+public class StateSeeder {
+
+    private static final Logger logger = LogManager.getLogger(StateSeeder.class);
+
+    // Submits a form built from arguments[1] to arguments[0] from the current page.
+    private static final String POST_FORM_SCRIPT =
+            "var form = document.createElement('form');"
+            + "form.method = 'post'; form.action = arguments[0];"
+            + "for (var name in arguments[1]) {"
+            + "  var input = document.createElement('input');"
+            + "  input.type = 'hidden'; input.name = name; input.value = arguments[1][name];"
+            + "  form.appendChild(input);"
+            + "}"
+            + "document.body.appendChild(form); form.submit();";
+
+    // "<browser>:<page>" -> time the UI walk took.
+    private static final Map<String, Long> uiBaselineMillis = new ConcurrentHashMap<>();
+    // Keys whose baseline a test has claimed, so parallel tests for the same browser and page walk the UI once.
+    private static final Set<String> calibrationClaims = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong totalSavedMillis = new AtomicLong();
+    private static final AtomicLong seededTests = new AtomicLong();
+
+    /**
+     * How a test got to its start page.
+     *
+     * @param page          The page the browser is on.
+     * @param elapsedMillis How long it took.
+     * @param savedMillis   Time saved against the UI baseline, or -1 if there is no baseline yet.
+     * @param calibration   True if the UI was walked to measure the baseline.
+     */
+    public record SeedResult(AppPage page, long elapsedMillis, long savedMillis, boolean calibration) {
+        @Override
+        public String toString() {
+            if (calibration) {
+                return String.format("Walked the UI to %s in %d ms (baseline for seeding)", page, elapsedMillis);
+            }
+            return String.format("Seeded %s in %d ms, saved %s", page, elapsedMillis,
+                    savedMillis >= 0 ? "~" + savedMillis + " ms" : "unknown (no UI baseline)");
+        }
+    }
+
+    /**
+     * Brings the browser to {@code page} for a search from {@code origin} to {@code destination},
+     * choosing the first flight when the page is past the results.
+     *
+     * @param driver      The test's browser session.
+     * @param browser     The browser name, used to keep the baseline per browser.
+     * @param page        The page to start on.
+     * @param origin      The departure city.
+     * @param destination The arrival city.
+     * @return How long seeding took and how much it saved.
+     */
+    public static SeedResult seed(WebDriver driver, String browser, AppPage page, String origin, String destination) {
+        String baseUrl = ConfigReader.getApplicationUrl();
+        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
+        String baselineKey = browser + ":" + page;
+        long start = System.nanoTime();
+
+        if (page == AppPage.HOME) {
+            driver.get(baseUrl);
+            return new SeedResult(page, (System.nanoTime() - start) / 1_000_000, 0, false);
+        }
+
+        if (Boolean.parseBoolean(ConfigReader.getProperty("seed.calibrate")) && calibrationClaims.add(baselineKey)) {
+            try {
+                walkUi(driver, webDriverUtils, baseUrl, page, origin, destination);
+            } catch (RuntimeException e) {
+                calibrationClaims.remove(baselineKey); // let a later test measure it
+                throw e;
+            }
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            uiBaselineMillis.put(baselineKey, elapsed);
+            return new SeedResult(page, elapsed, 0, true);
+        }
+
+        HttpSession http = new HttpSession();
+        http.open(baseUrl);
+        HtmlForm form = http.getCurrentPage().form(AppPage.RESERVE.getPath())
+                .selectByVisibleText("fromPort", origin)
+                .selectByVisibleText("toPort", destination);
+        if (page == AppPage.PURCHASE) {
+            http.submit(form);
+            form = http.getCurrentPage().form(AppPage.PURCHASE.getPath());
+        }
+
+        // Cookies can only be set for the origin the browser is on.
+        String landingPath = ConfigReader.getProperty("seed.landingPath");
+        driver.get(baseUrl + (landingPath != null ? landingPath.trim() : ""));
+        driver.manage().deleteAllCookies();
+        for (HttpCookie cookie : http.getCookies()) {
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .isSecure(cookie.getSecure())
+                    .build());
+        }
+        ((JavascriptExecutor) driver).executeScript(POST_FORM_SCRIPT, form.getAction().toString(), form.getFields());
+        if (!webDriverUtils.waitUntilUrlContains("/" + page.getPath())) {
+            throw new RuntimeException("Browser did not land on " + page.getPath() + " after seeding");
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        Long baseline = uiBaselineMillis.get(baselineKey);
+        long saved = baseline != null ? Math.max(0, baseline - elapsed) : -1;
+        if (saved > 0) {
+            totalSavedMillis.addAndGet(saved);
+        }
+        seededTests.incrementAndGet();
+        return new SeedResult(page, elapsed, saved, false);
+    }
+
+    private static void walkUi(WebDriver driver, WebDriverUtils webDriverUtils, String baseUrl, AppPage page,
+                               String origin, String destination) {
+        logger.info("Walking the UI to {} once to measure the seeding baseline", page);
+        driver.get(baseUrl);
+        new HomePage(driver).findFlights(origin, destination);
+        webDriverUtils.waitUntilUrlContains("/" + AppPage.RESERVE.getPath());
+        if (page == AppPage.PURCHASE) {
+            new FlightSelectionPage(driver).clickChooseFlightButton();
+            webDriverUtils.waitUntilUrlContains("/" + AppPage.PURCHASE.getPath());
+        }
+    }
+
+    /**
+     * Wall time saved by seeding so far, summed over all tests with a baseline.
+     */
+    public static long getTotalSavedMillis() {
+        return totalSavedMillis.get();
+    }
+
+    public static long getSeededTestCount() {
+        return seededTests.get();
+    }
+}
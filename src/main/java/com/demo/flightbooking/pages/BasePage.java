@@ -1,6 +1,7 @@
 package com.demo.flightbooking.pages;
 
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.DomSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -22,13 +23,15 @@ public abstract class BasePage {
 
     private static final int DEFAULT_TIMEOUT = 10; // Default timeout if not specified in config
 
+    private DomSnapshot snapshot; // taken on first read, dropped by invalidateSnapshot()
+
     public BasePage(WebDriver driver) {
         this.driver = driver;
         // Initialize logger with the specific class name of the concrete page object
         this.logger = LogManager.getLogger(this.getClass());
         // Initialize WebDriverWait using the timeout from config.properties
         // If "test.timeout" is not found or invalid, it will default to 10 seconds.
-        int timeoutSeconds = ConfigReader.getPropertyAsInt("test.timeout");
+        int timeoutSeconds = ConfigReader.getTestTimeout();
         if (timeoutSeconds <= 0) {
             timeoutSeconds = DEFAULT_TIMEOUT; // Use default if config value is invalid or not found
             logger.warn("Invalid or missing 'test.timeout' in config.properties. Using default timeout: {} seconds.", DEFAULT_TIMEOUT);
@@ -55,6 +58,26 @@ public abstract class BasePage {
         return driver.getCurrentUrl();
     }
 
+    /**
+     * Returns a local copy of the page's DOM for read-only checks, taking it with one driver call if needed.
+     * Page actions that navigate or change the page must call {@link #invalidateSnapshot()}.
+     * @return The current snapshot.
+     */
+    protected DomSnapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot = DomSnapshot.capture(driver);
+            logger.debug("DOM snapshot taken of {}", snapshot.getUrl());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops the DOM snapshot so the next read takes a fresh one.
+     */
+    public void invalidateSnapshot() {
+        snapshot = null;
+    }
+
     // You can add more common methods here, e.g.,
     // public void navigateTo(String url) { driver.get(url); }
     // public boolean isElementPresent(By locator) { ... }
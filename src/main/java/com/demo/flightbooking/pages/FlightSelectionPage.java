@@ -1,26 +1,39 @@
 package com.demo.flightbooking.pages;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Predicate;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.StepMetrics;
 import com.demo.flightbooking.utils.WebDriverUtils;
 
 /**
  * Page Object for the Flight Selection Page (reserve.php).
  * This class contains elements and actions related to selecting a flight.
- * It now includes a Stream-based method to process flight data.
+ * Flight data is read in bulk into a {@link FlightTable}.
  */
 public class FlightSelectionPage extends BasePage {
 
     // --- Locators ---
     private final By chooseFlightButton = By.cssSelector("input[type='submit']");
-    // Locator for all the rows in the flight table
-    private final By flightRows = By.xpath("//table[@class='table']/tbody/tr");
-    // Locator for the price cell within a flight row (it's the 6th column: <td>)
-    private final By priceCell = By.xpath("./td[6]");
+    // Returns [[flight #, airline, departs, arrives, price] per row, [choose button per row]] in one round-trip.
+    private static final String READ_TABLE_SCRIPT =
+            "var rows = document.querySelectorAll('table.table > tbody > tr'), cells = [], buttons = [];"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + "  var td = rows[i].cells, row = [];"
+            + "  for (var c = 1; c <= 5; c++) { row.push(td[c] ? td[c].textContent.trim() : ''); }"
+            + "  cells.push(row);"
+            + "  buttons.push(rows[i].querySelector(\"input[type='submit']\"));"
+            + "}"
+            + "return [cells, buttons];";
 
     // WebDriverUtils instance for robust interactions
     private final WebDriverUtils webDriverUtils;
@@ -28,7 +41,7 @@ public class FlightSelectionPage extends BasePage {
     // Constructor
     public FlightSelectionPage(WebDriver driver) {
         super(driver); // Call BasePage constructor
-        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
         logger.info("FlightSelectionPage initialized.");
     }
 
@@ -36,25 +49,75 @@ public class FlightSelectionPage extends BasePage {
 
     // Method to click the first "Choose Flight" button on the page
     public void clickChooseFlightButton() {
-        logger.info("Clicking Choose This Flight button.");
-        webDriverUtils.click(chooseFlightButton);
-        logger.info("Choose Flight button clicked.");
+        StepMetrics.time("FlightSelectionPage.clickChooseFlightButton", () -> {
+            logger.info("Clicking Choose This Flight button.");
+            webDriverUtils.click(chooseFlightButton);
+            invalidateSnapshot();
+            logger.info("Choose Flight button clicked.");
+        });
     }
 
-    // --- NEW STREAM-BASED DATA PROCESSING METHOD ---
+    // --- BULK TABLE EXTRACTION ---
 
     /**
-     * Gets the lowest flight price from the results table using Java Streams.
-     * This method demonstrates a clean, declarative way to process a collection of WebElements.
+     * Reads the whole results table (flight number, airline, times, price and each row's button)
+     * with a single script call, instead of a findElement and getText per row.
+     *
+     * @return The results as a column-oriented {@link FlightTable}.
+     */
+    @SuppressWarnings("unchecked")
+    public FlightTable getFlightTable() {
+        return StepMetrics.time("FlightSelectionPage.getFlightTable", () -> {
+            webDriverUtils.findElement(chooseFlightButton); // results rendered
+            List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(READ_TABLE_SCRIPT);
+            FlightTable table = new FlightTable((List<List<Object>>) result.get(0), (List<WebElement>) result.get(1));
+            logger.info("Read {} flights from the results table in one call.", table.size());
+            return table;
+        });
+    }
+
+    /**
+     * Gets the lowest flight price from the results table.
+     * Used to walk the rows with a stream of WebElements (2N+1 remote calls); it now reads the table once.
      *
      * @return An Optional<Double> containing the lowest price, or an empty Optional if no prices are found.
      */
     public Optional<Double> getLowestFlightPrice() {
-        logger.info("Finding the lowest flight price on the page using Streams.");
-        return driver.findElements(flightRows).stream()       // 1. Get a stream of all flight row <tr> WebElements.
-            .map(row -> row.findElement(priceCell).getText())  // 2. For each row, find its price cell and get the text (e.g., "$472.56").
-            .map(priceText -> priceText.replace("$", ""))     // 3. For each price string, remove the '$' character.
-            .map(Double::parseDouble)                          // 4. Convert the clean string (e.g., "472.56") into a Double.
-            .min(Double::compare);                             // 5. Use the min() terminal operation to find the smallest Double in the stream.
+        logger.info("Finding the lowest flight price on the page.");
+        OptionalDouble lowest = getFlightTable().lowestPrice();
+        return lowest.isPresent() ? Optional.of(lowest.getAsDouble()) : Optional.empty();
+    }
+
+    /**
+     * Clicks "Choose This Flight" on the cheapest flight that has the button (sold-out rows are skipped).
+     *
+     * @return The flight that was chosen.
+     */
+    public FlightTable.Flight chooseCheapestFlight() {
+        FlightTable table = getFlightTable();
+        return choose(table, table.cheapestBookableRow());
+    }
+
+    /**
+     * Clicks "Choose This Flight" on the first bookable flight matching {@code criteria}.
+     *
+     * @param criteria e.g. {@code f -> f.airline().equals("Lufthansa") && f.price() < 600}
+     * @return The flight that was chosen.
+     * @throws IllegalStateException if no flight matches.
+     */
+    public FlightTable.Flight chooseFlight(Predicate<FlightTable.Flight> criteria) {
+        FlightTable table = getFlightTable();
+        return choose(table, table.firstRowMatching(f -> table.isBookable(f.row()) && criteria.test(f)));
+    }
+
+    private FlightTable.Flight choose(FlightTable table, OptionalInt row) {
+        if (row.isEmpty()) {
+            throw new IllegalStateException("No flight in the results matches the criteria");
+        }
+        FlightTable.Flight flight = table.get(row.getAsInt());
+        logger.info("Choosing flight {} ({}, ${}).", flight.flightNumber(), flight.airline(), flight.price());
+        StepMetrics.time("FlightSelectionPage.chooseFlight", () -> table.chooseButton(row.getAsInt()).click());
+        invalidateSnapshot();
+        return flight;
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.demo.flightbooking.pages;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * The flight results table of reserve.php, read in one script call by {@link FlightSelectionPage#getFlightTable()}.
+ * <p>
+ * Data is stored by column: prices in a {@code double[]} so queries never box or re-parse, and airline
+ * names interned because a results page repeats the same handful of carriers. Each row keeps a reference
+ * to its "Choose This Flight" button, so choosing a row clicks it without another lookup. A row without
+ * one (e.g. a sold-out flight) is kept for its data but is not {@linkplain #isBookable(int) bookable}.
+ */
+public final class FlightTable {
+
+    /**
+     * One row of the table.
+     */
+    public record Flight(int row, String flightNumber, String airline, String departs, String arrives, double price) {
+    }
+
+    private final String[] flightNumbers;
+    private final String[] airlines;
+    private final String[] departs;
+    private final String[] arrives;
+    private final double[] prices;
+    private final WebElement[] chooseButtons; // null where a row has no button
+
+    /**
+     * @param rows          Cell texts per row: flight number, airline, departs, arrives, price (e.g. "$472.56").
+     * @param chooseButtons The row's choose button, in the same order, with null for a row that has none
+     *                      (may be empty when only data is needed).
+     */
+    public FlightTable(List<? extends List<?>> rows, List<WebElement> chooseButtons) {
+        int size = rows.size();
+        this.flightNumbers = new String[size];
+        this.airlines = new String[size];
+        this.departs = new String[size];
+        this.arrives = new String[size];
+        this.prices = new double[size];
+        this.chooseButtons = chooseButtons.toArray(new WebElement[0]);
+        for (int i = 0; i < size; i++) {
+            List<?> cells = rows.get(i);
+            flightNumbers[i] = String.valueOf(cells.get(0));
+            airlines[i] = String.valueOf(cells.get(1)).intern();
+            departs[i] = String.valueOf(cells.get(2));
+            arrives[i] = String.valueOf(cells.get(3));
+            prices[i] = parsePrice(String.valueOf(cells.get(4)));
+        }
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    public double price(int row) {
+        return prices[row];
+    }
+
+    public String airline(int row) {
+        return airlines[row];
+    }
+
+    public Flight get(int row) {
+        return new Flight(row, flightNumbers[row], airlines[row], departs[row], arrives[row], prices[row]);
+    }
+
+    public OptionalDouble lowestPrice() {
+        OptionalInt cheapest = cheapestRow();
+        return cheapest.isPresent() ? OptionalDouble.of(prices[cheapest.getAsInt()]) : OptionalDouble.empty();
+    }
+
+    /**
+     * Returns the row with the lowest price (the first one on a tie).
+     */
+    public OptionalInt cheapestRow() {
+        return cheapestRow(i -> true);
+    }
+
+    /**
+     * Returns the bookable row with the lowest price (the first one on a tie).
+     */
+    public OptionalInt cheapestBookableRow() {
+        return cheapestRow(this::isBookable);
+    }
+
+    /**
+     * Whether the row has a "Choose This Flight" button to click.
+     */
+    public boolean isBookable(int row) {
+        return row < chooseButtons.length && chooseButtons[row] != null;
+    }
+
+    private OptionalInt cheapestRow(IntPredicate eligible) {
+        int best = -1;
+        for (int i = 0; i < prices.length; i++) {
+            if (Double.isNaN(prices[i]) || !eligible.test(i)) {
+                continue; // price cell was empty, or the row is excluded
+            }
+            if (best < 0 || prices[i] < prices[best]) {
+                best = i;
+            }
+        }
+        return best < 0 ? OptionalInt.empty() : OptionalInt.of(best);
+    }
+
+    /**
+     * Returns the rows flown by {@code airline}, in table order.
+     */
+    public int[] rowsForAirline(String airline) {
+        return IntStream.range(0, airlines.length).filter(i -> airlines[i].equals(airline)).toArray();
+    }
+
+    /**
+     * Returns the first row matching {@code criteria}, e.g. {@code f -> f.price() < 500 && f.airline().equals("Lufthansa")}.
+     */
+    public OptionalInt firstRowMatching(Predicate<Flight> criteria) {
+        return IntStream.range(0, prices.length).filter(i -> criteria.test(get(i))).findFirst();
+    }
+
+    public List<Flight> toList() {
+        return IntStream.range(0, prices.length).mapToObj(this::get).toList();
+    }
+
+    WebElement chooseButton(int row) {
+        if (row >= chooseButtons.length) {
+            throw new IllegalStateException("No choose button captured for row " + row);
+        }
+        if (chooseButtons[row] == null) {
+            throw new IllegalStateException("Row " + row + " (flight " + flightNumbers[row]
+                    + ") has no choose button; it is not bookable");
+        }
+        return chooseButtons[row];
+    }
+
+    private static double parsePrice(String text) {
+        String digits = text.replace("$", "").replace(",", "").trim();
+        return digits.isEmpty() ? Double.NaN : Double.parseDouble(digits);
+    }
+}
@@ -1,15 +1,15 @@
 package com.demo.flightbooking.pages;
 
+import org.jsoup.nodes.Element;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.Select; // Keep Select for direct dropdown interaction if needed for options retrieval
 
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.StepMetrics;
 import com.demo.flightbooking.utils.WebDriverUtils; // Import WebDriverUtils
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Page Object for the Home Page (blazedemo.com).
@@ -32,7 +32,7 @@ public class HomePage extends BasePage { // Extend BasePage
     public HomePage(WebDriver driver) {
         super(driver); // Call BasePage constructor
         // Initialize WebDriverUtils with the driver and the same timeout from ConfigReader
-        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
         logger.info("HomePage initialized."); // Use the logger from BasePage
     }
 
@@ -43,11 +43,7 @@ public class HomePage extends BasePage { // Extend BasePage
      */
     public List<String> getAvailableDepartCities() {
         logger.debug("Getting available departure cities.");
-        WebElement departFromElement = webDriverUtils.findElement(departFromDropdown); // Use WebDriverUtils
-        Select select = new Select(departFromElement);
-        return select.getOptions().stream()
-                    .map(WebElement::getText)
-                    .collect(Collectors.toList());
+        return getOptionTexts(departFromDropdown);
     }
 
     /**
@@ -59,6 +55,7 @@ public class HomePage extends BasePage { // Extend BasePage
         logger.info("Selecting departure city: {}", city);
         // Use the selectByVisibleText method from WebDriverUtils
         webDriverUtils.selectByVisibleText(departFromDropdown, city);
+        invalidateSnapshot();
     }
 
     /**
@@ -68,11 +65,18 @@ public class HomePage extends BasePage { // Extend BasePage
      */
     public List<String> getAvailableArriveCities() {
         logger.debug("Getting available arrival cities.");
-        WebElement arriveAtElement = webDriverUtils.findElement(arriveAtDropdown); // Use WebDriverUtils
-        Select select = new Select(arriveAtElement);
-        return select.getOptions().stream()
-                    .map(WebElement::getText)
-                    .collect(Collectors.toList());
+        return getOptionTexts(arriveAtDropdown);
+    }
+
+    // Reads all option texts from the DOM snapshot in one driver call instead of a getText() per option.
+    private List<String> getOptionTexts(By dropdown) {
+        if (getSnapshot().findFirst(dropdown).isEmpty()) {
+            webDriverUtils.findElement(dropdown); // not rendered yet when the snapshot was taken
+            invalidateSnapshot();
+        }
+        Element select = getSnapshot().findFirst(dropdown)
+                .orElseThrow(() -> new NoSuchElementException("Dropdown not found: " + dropdown));
+        return select.select("option").eachText();
     }
 
     /**
@@ -84,6 +88,7 @@ public class HomePage extends BasePage { // Extend BasePage
         logger.info("Selecting arrival city: {}", city);
         // Use the selectByVisibleText method from WebDriverUtils
         webDriverUtils.selectByVisibleText(arriveAtDropdown, city);
+        invalidateSnapshot();
     }
 
     /**
@@ -93,6 +98,7 @@ public class HomePage extends BasePage { // Extend BasePage
         logger.info("Clicking Find Flights button.");
         // Use the click method from WebDriverUtils
         webDriverUtils.click(findFlightsButton);
+        invalidateSnapshot();
     }
 
     /**
@@ -102,10 +108,12 @@ public class HomePage extends BasePage { // Extend BasePage
      * @param arriveCity The city to arrive at.
      */
     public void findFlights(String departCity, String arriveCity) {
-        logger.info("Performing flight search from {} to {}.", departCity, arriveCity);
-        selectDepartFromCity(departCity);
-        selectArriveAtCity(arriveCity);
-        clickFindFlightsButton();
-        logger.info("Flight search initiated.");
+        StepMetrics.time("HomePage.findFlights", () -> {
+            logger.info("Performing flight search from {} to {}.", departCity, arriveCity);
+            selectDepartFromCity(departCity);
+            selectArriveAtCity(arriveCity);
+            clickFindFlightsButton();
+            logger.info("Flight search initiated.");
+        });
     }
 }
\ No newline at end of file
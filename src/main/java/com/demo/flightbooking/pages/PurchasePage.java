@@ -1,10 +1,22 @@
 package com.demo.flightbooking.pages;
 
 import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.StepMetrics;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Page Object for the flight purchase page (purchase.php).
  * Encapsulates all elements and actions available on this page.
@@ -25,6 +37,32 @@ public class PurchasePage extends BasePage {
     private final By rememberMeCheckbox = By.id("rememberMe");
     private final By purchaseFlightButton = By.xpath("//input[@value='Purchase Flight']");
 
+    // Fills every field given as {id: value} in one call and returns what each field holds afterwards.
+    // Selects are matched by option text and checkboxes by "true"; missing fields come back as null.
+    private static final String BATCH_FILL_SCRIPT =
+            "var values = arguments[0], result = {};"
+            + "function fire(el, type) { el.dispatchEvent(new Event(type, {bubbles: true})); }"
+            + "for (var id in values) {"
+            + "  var el = document.getElementById(id), value = values[id];"
+            + "  if (!el) { result[id] = null; continue; }"
+            + "  if (el.tagName === 'SELECT') {"
+            + "    for (var i = 0; i < el.options.length; i++) {"
+            + "      if (el.options[i].text.trim() === value) { el.selectedIndex = i; break; }"
+            + "    }"
+            + "    fire(el, 'input'); fire(el, 'change');"
+            + "    result[id] = el.selectedIndex >= 0 ? el.options[el.selectedIndex].text.trim() : '';"
+            + "  } else if (el.type === 'checkbox') {"
+            + "    if (String(el.checked) !== value) { el.click(); }"
+            + "    result[id] = String(el.checked);"
+            + "  } else {"
+            + "    el.focus();"
+            + "    Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value').set.call(el, value);"
+            + "    fire(el, 'input'); fire(el, 'change'); el.blur();"
+            + "    result[id] = el.value;"
+            + "  }"
+            + "}"
+            + "return result;";
+
     public PurchasePage(WebDriver driver) {
         super(driver);
     }
@@ -38,6 +76,15 @@ public class PurchasePage extends BasePage {
      * @param passenger The Passenger record containing all necessary data.
      */
     public void fillPurchaseForm(Passenger passenger) {
+        StepMetrics.time("PurchasePage.fillPurchaseForm", () -> fillForm(passenger));
+    }
+
+    private void fillForm(Passenger passenger) {
+        invalidateSnapshot();
+        if (Boolean.parseBoolean(ConfigReader.getProperty("form.fill.batched"))) {
+            fillPurchaseFormBatched(passenger);
+            return;
+        }
         // --- CHANGE: From Getters to Record Accessors ---
         // We now use the direct accessor methods provided by the record.
         logger.info("Filling purchase form for passenger: {}", passenger.firstName());
@@ -54,6 +101,81 @@ public class PurchasePage extends BasePage {
         tickRememberMeCheckbox();
     }
 
+    /**
+     * Fills the purchase form in a single script call instead of ~25 WebDriver commands.
+     * The script sets each value, fires input/change events and reads the values back. Fields listed in
+     * {@code form.fill.typedFields}, and any field whose read-back does not match (e.g. a mask or a
+     * key handler rewrote it), are then typed one by one as in {@link #fillPurchaseForm}.
+     *
+     * @param passenger The Passenger record containing all necessary data.
+     * @throws IllegalArgumentException if {@code form.fill.typedFields} names a field id this form does not
+     *         have; nothing is filled in that case.
+     */
+    public void fillPurchaseFormBatched(Passenger passenger) {
+        logger.info("Filling purchase form (batched) for passenger: {}", passenger.firstName());
+        invalidateSnapshot();
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("inputName", passenger.firstName());
+        values.put("address", passenger.address());
+        values.put("city", passenger.city());
+        values.put("state", passenger.state());
+        values.put("zipCode", passenger.zipCode());
+        values.put("cardType", passenger.cardType());
+        values.put("creditCardNumber", passenger.cardNumber());
+        values.put("creditCardMonth", passenger.month());
+        values.put("creditCardYear", passenger.year());
+        values.put("nameOnCard", passenger.cardName());
+        values.put("rememberMe", "true");
+
+        Set<String> typedFields = getTypedFields();
+        List<String> unknown = typedFields.stream().filter(id -> !values.containsKey(id)).sorted().toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("form.fill.typedFields contains unknown field id(s) " + unknown
+                    + "; the purchase form has " + values.keySet());
+        }
+        Map<String, String> batch = new LinkedHashMap<>(values);
+        batch.keySet().removeAll(typedFields);
+
+        Object result = ((JavascriptExecutor) driver).executeScript(BATCH_FILL_SCRIPT, batch);
+        Map<?, ?> readBack = result instanceof Map<?, ?> map ? map : Map.of();
+
+        List<String> retype = new ArrayList<>(typedFields);
+        batch.forEach((id, expected) -> {
+            Object actual = readBack.get(id);
+            if (!expected.equals(actual)) {
+                logger.warn("Batched fill of '{}' read back '{}' instead of '{}'; typing it instead", id, actual, expected);
+                retype.add(id);
+            }
+        });
+        retype.forEach(id -> typeField(id, values.get(id)));
+        logger.info("Purchase form filled: {} field(s) in one call, {} typed",
+                batch.size() - (retype.size() - typedFields.size()), retype.size());
+    }
+
+    // Per-field fallback with real key events.
+    private void typeField(String id, String value) {
+        switch (id) {
+            case "cardType" -> selectCardType(value);
+            case "rememberMe" -> {
+                if (!driver.findElement(rememberMeCheckbox).isSelected()) {
+                    tickRememberMeCheckbox();
+                }
+            }
+            default -> {
+                WebElement field = driver.findElement(By.id(id));
+                field.clear();
+                field.sendKeys(value);
+            }
+        }
+    }
+
+    private static Set<String> getTypedFields() {
+        String fields = ConfigReader.getProperty("form.fill.typedFields");
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).collect(Collectors.toSet());
+    }
 
     // --- Low-Level Action Methods ---
 
@@ -106,6 +228,7 @@ public class PurchasePage extends BasePage {
 
     public void clickPurchaseFlightButton() {
         logger.info("Clicking on 'Purchase Flight' button");
-        driver.findElement(purchaseFlightButton).click();
+        StepMetrics.time("PurchasePage.clickPurchaseFlightButton", () -> driver.findElement(purchaseFlightButton).click());
+        invalidateSnapshot();
     }
 }
\ No newline at end of file
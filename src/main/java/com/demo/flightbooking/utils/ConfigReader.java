@@ -1,36 +1,67 @@
 package com.demo.flightbooking.utils;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import com.demo.flightbooking.enums.EnvironmentType;
-
 
+/**
+ * Static access to the current {@link ConfigSnapshot}.
+ * <p>
+ * The snapshot is built once at startup. With {@code config.reload.enabled=true} the config directory is
+ * watched and a changed file is merged into a new snapshot, which replaces the old one in a single write;
+ * readers see either the old values or the new ones, never a mix. Pages and utilities read timeouts when
+ * they are created, so a long soak run picks up a new {@code test.timeout} or URL on its next test.
+ * <p>
+ * The watched directory is {@code config.watch.path} when set, otherwise the source folder
+ * ({@code src/test/resources/config}) when the run starts from the project root, otherwise the folder the
+ * file was loaded from. Edits there are read directly; the copy under {@code target/test-classes} is only
+ * refreshed by a build.
+ */
 public class ConfigReader {
 
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static final Properties properties = new Properties();
     private static final String CONFIG_FILE = System.getProperty("configFile", "config/config.properties");
+    // Missing or malformed keys are reported once, not on every lookup.
+    private static final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private static volatile ConfigSnapshot snapshot;
+    // Where reloads read the files from; null (the classpath) until live reload starts.
+    private static volatile Path watchedDir;
 
     static {
-        try (InputStream stream = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            if (stream == null) {
-                logger.error("Configuration file not found: {}", CONFIG_FILE);
-                throw new RuntimeException("Configuration file not found: " + CONFIG_FILE);
-            }
-            properties.load(stream);
-            logger.info("Configuration successfully loaded from: {}", CONFIG_FILE);
-        } catch (IOException e) {
+        try {
+            snapshot = ConfigSnapshot.load(CONFIG_FILE);
+        } catch (RuntimeException e) {
             logger.error("Failed to load configuration file: {}", CONFIG_FILE, e);
-            throw new RuntimeException("Failed to load configuration", e);
+            throw e;
+        }
+        logger.info("Configuration successfully loaded from: {}", CONFIG_FILE);
+        logEnvironment(snapshot);
+        if ("true".equalsIgnoreCase(snapshot.get("config.reload.enabled"))) {
+            startWatcher(snapshot);
         }
     }
 
+    /**
+     * The configuration currently in effect. Hold on to it to read several values consistently.
+     */
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
-        if (value == null) {
+        String value = snapshot.get(key);
+        if (value == null && reported.add(key)) {
             logger.warn("Property not found: {}", key);
         }
         return value;
@@ -38,44 +69,137 @@ public class ConfigReader {
 
     public static int getPropertyAsInt(String key) {
         String value = getProperty(key);
-        if (value != null) {
-            try {
-                return Integer.parseInt(value.trim());
-            } catch (NumberFormatException e) {
-                logger.error("Property '{}' value '{}' is not a valid integer.", key, value, e);
-                return 0; // Return 0 or some default on format error
+        if (value == null) {
+            return 0;
+        }
+        int parsed = snapshot.getInt(key, Integer.MIN_VALUE);
+        if (parsed == Integer.MIN_VALUE) {
+            if (reported.add(key)) {
+                logger.error("Property '{}' value '{}' is not a valid integer.", key, value);
             }
+            return 0; // Return 0 or some default on format error
         }
-        return 0;
+        return parsed;
+    }
+
+    /**
+     * The default wait timeout in seconds ({@code test.timeout}), parsed once per snapshot.
+     */
+    public static int getTestTimeout() {
+        return snapshot.getTestTimeout();
     }
 
     /**
      * Gets the application URL based on the 'env' system property (e.g., -Denv=QA).
      * Falls back to the default 'application.url' if 'env' is not specified.
+     * The URL is resolved when the configuration is loaded, so this is a field read.
      * @return The target application URL for the test run.
      */
     public static String getApplicationUrl() {
-        String env = System.getProperty("env"); // Reads -Denv=QA from the command line
-        if (env == null || env.trim().isEmpty()) {
+        return snapshot.getApplicationUrl();
+    }
+
+    /**
+     * Rebuilds the snapshot from all layers and swaps it in. On error the current snapshot is kept.
+     *
+     * @return true if a new snapshot was installed.
+     */
+    public static synchronized boolean reload() {
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot next;
+        try {
+            next = ConfigSnapshot.load(CONFIG_FILE, watchedDir);
+        } catch (RuntimeException e) {
+            logger.error("Configuration reload failed; keeping the current values", e);
+            return false;
+        }
+        List<String> changed = next.changedKeys(previous);
+        snapshot = next;
+        reported.clear();
+        if (!changed.isEmpty()) {
+            logger.info("Configuration reloaded; changed keys: {}", changed);
+            logEnvironment(next);
+        }
+        return true;
+    }
+
+    private static void logEnvironment(ConfigSnapshot config) {
+        if (config.getEnvironment() == null) {
             logger.info("No 'env' system property provided. Using default 'application.url'.");
-            return getProperty("application.url");
+        } else {
+            logger.info("Running tests on environment: {}", config.getEnvironment());
         }
+    }
 
-        EnvironmentType environmentType;
+    private static void startWatcher(ConfigSnapshot config) {
+        Path dir = watchDirectory(config);
+        if (dir == null) {
+            return;
+        }
+        WatchService watcher;
         try {
-            environmentType = EnvironmentType.valueOf(env.toUpperCase().trim());
-            logger.info("Running tests on environment: {}", environmentType);
-        } catch (IllegalArgumentException e) {
-            logger.error("Invalid environment specified: '{}'. Please use one of: {}", env, (Object[]) EnvironmentType.values());
-            throw new IllegalArgumentException("Invalid environment specified: " + env);
+            watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            logger.warn("Could not watch {} for configuration changes: {}", dir, e.getMessage());
+            return;
         }
+        watchedDir = dir;
+        Thread thread = new Thread(() -> watch(watcher), "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} for configuration changes", dir);
+    }
 
-        String propertyKey = environmentType.name().toLowerCase() + ".url";
-        String url = getProperty(propertyKey);
+    /**
+     * The directory to watch: {@code config.watch.path} (a directory or a file in it), else the source folder
+     * of {@code configFile} if it exists, else the folder the snapshot was loaded from. Null if none is usable.
+     */
+    private static Path watchDirectory(ConfigSnapshot config) {
+        String configured = config.get("config.watch.path");
+        if (configured != null && !configured.isBlank()) {
+            Path path = Path.of(configured.trim()).toAbsolutePath().normalize();
+            Path dir = Files.isRegularFile(path) ? path.getParent() : path;
+            if (!Files.isDirectory(dir)) {
+                logger.warn("config.watch.path {} is not a directory; live reload is off", path);
+                return null;
+            }
+            return dir;
+        }
+        Path source = Path.of("src", "test", "resources").resolve(CONFIG_FILE).toAbsolutePath().normalize();
+        if (Files.isRegularFile(source)) {
+            return source.getParent();
+        }
+        List<Path> files = config.getFiles();
+        if (files.isEmpty()) {
+            logger.warn("config.reload.enabled is set, but {} is not a file on disk and config.watch.path is not set;"
+                    + " live reload is off", CONFIG_FILE);
+            return null;
+        }
+        return files.get(0).getParent();
+    }
 
-        if (url == null || url.isEmpty()) {
-            throw new RuntimeException("URL for environment '" + environmentType + "' not found in config.properties for key '" + propertyKey + "'");
+    private static void watch(WatchService watcher) {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    String name = String.valueOf(event.context());
+                    relevant |= name.endsWith(".properties");
+                }
+                key.reset();
+                if (relevant) {
+                    Thread.sleep(200); // editors often write a file in several steps
+                    while ((key = watcher.poll()) != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
         }
-        return url;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,217 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import com.demo.flightbooking.enums.EnvironmentType;
+
+/**
+ * The effective configuration, merged from its layers once and then read without locks or parsing.
+ * <p>
+ * Layers, lowest precedence first:
+ * <ol>
+ *   <li>the defaults file ({@code config/config.properties}, or {@code -DconfigFile})</li>
+ *   <li>the environment overlay {@code config-<env>.properties} next to it, if present (e.g. {@code config-qa.properties})</li>
+ *   <li>environment variables named after a key with dots as underscores, upper-cased ({@code TEST_TIMEOUT})</li>
+ *   <li>system properties ({@code -Dtest.timeout=90})</li>
+ * </ol>
+ * Values read on every test (the target environment and URL, {@code test.timeout}) are resolved when the snapshot
+ * is built. A snapshot never changes; {@link ConfigReader} swaps in a new one when live reload is enabled.
+ */
+public final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final List<Path> files;
+    private final EnvironmentType environment;
+    private final String applicationUrl;
+    private final RuntimeException applicationUrlError;
+    private final int testTimeout;
+
+    private ConfigSnapshot(Map<String, String> values, List<Path> files) {
+        this.values = Collections.unmodifiableMap(values);
+        this.files = List.copyOf(files);
+        this.testTimeout = parseInt(values.get("test.timeout"), 0);
+
+        String env = values.get("env");
+        EnvironmentType environment = null;
+        String url = null;
+        RuntimeException error = null;
+        if (env == null || env.isBlank()) {
+            url = values.get("application.url");
+        } else {
+            try {
+                environment = EnvironmentType.valueOf(env.toUpperCase(Locale.ROOT).trim());
+                String propertyKey = environment.name().toLowerCase(Locale.ROOT) + ".url";
+                url = values.get(propertyKey);
+                if (url == null || url.isEmpty()) {
+                    error = new RuntimeException("URL for environment '" + environment
+                            + "' not found in config.properties for key '" + propertyKey + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                // Reported when the URL is asked for, as before, so suites that never open the app still run.
+                error = new IllegalArgumentException("Invalid environment specified: " + env + ". Please use one of: "
+                        + Arrays.toString(EnvironmentType.values()));
+            }
+        }
+        this.environment = environment;
+        this.applicationUrl = url;
+        this.applicationUrlError = error;
+    }
+
+    /**
+     * Builds a snapshot from the defaults resource {@code configFile} and the layers above it.
+     */
+    public static ConfigSnapshot load(String configFile) {
+        return load(configFile, null);
+    }
+
+    /**
+     * Builds a snapshot like {@link #load(String)}, but reads the defaults file and its overlay from
+     * {@code sourceDir} when they exist there. Live reload uses this to read the files it watches (usually
+     * {@code src/test/resources/config}) rather than the copies the build left on the classpath.
+     */
+    public static ConfigSnapshot load(String configFile, Path sourceDir) {
+        Map<String, String> merged = new HashMap<>();
+        List<Path> files = new ArrayList<>();
+
+        URL defaults = locate(configFile, sourceDir);
+        if (defaults == null) {
+            throw new RuntimeException("Configuration file not found: " + configFile);
+        }
+        readInto(defaults, merged, files);
+
+        String env = firstNonBlank(System.getProperty("env"), merged.get("env"));
+        if (env != null) {
+            String overlayName = configFile.replaceFirst("(\\.properties)?$", "-" + env.trim().toLowerCase(Locale.ROOT) + ".properties");
+            URL overlay = locate(overlayName, sourceDir);
+            if (overlay != null) {
+                readInto(overlay, merged, files);
+            }
+        }
+
+        for (String key : new ArrayList<>(merged.keySet())) {
+            String fromEnv = System.getenv(key.replace('.', '_').toUpperCase(Locale.ROOT));
+            if (fromEnv != null) {
+                merged.put(key, fromEnv);
+            }
+        }
+        System.getProperties().stringPropertyNames().forEach(key -> merged.put(key, System.getProperty(key)));
+        return new ConfigSnapshot(merged, files);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Returns the value as an int, or {@code defaultValue} if it is missing or not a number.
+     */
+    public int getInt(String key, int defaultValue) {
+        return parseInt(values.get(key), defaultValue);
+    }
+
+    /** The target environment from {@code env}, or null when the default {@code application.url} is used. */
+    public EnvironmentType getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * The URL for the selected environment.
+     *
+     * @throws RuntimeException if {@code env} is unknown or its URL is not configured.
+     */
+    public String getApplicationUrl() {
+        if (applicationUrlError != null) {
+            throw applicationUrlError;
+        }
+        return applicationUrl;
+    }
+
+    public int getTestTimeout() {
+        return testTimeout;
+    }
+
+    /**
+     * The files the snapshot was read from (when they are on the file system), for watching.
+     */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * Keys whose values differ from {@code previous}, for logging what a reload changed.
+     */
+    public List<String> changedKeys(ConfigSnapshot previous) {
+        TreeSet<String> keys = new TreeSet<>(values.keySet());
+        keys.addAll(previous.values.keySet());
+        keys.removeIf(key -> Objects.equals(values.get(key), previous.values.get(key)));
+        return List.copyOf(keys);
+    }
+
+    private static URL locate(String resource, Path sourceDir) {
+        if (sourceDir != null) {
+            Path file = sourceDir.resolve(Path.of(resource).getFileName());
+            if (Files.isRegularFile(file)) {
+                try {
+                    return file.toUri().toURL();
+                } catch (MalformedURLException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return ConfigSnapshot.class.getClassLoader().getResource(resource);
+    }
+
+    private static void readInto(URL resource, Map<String, String> merged, List<Path> files) {
+        Properties properties = new Properties();
+        try (InputStream stream = resource.openStream()) {
+            properties.load(stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration file: " + resource, e);
+        }
+        properties.stringPropertyNames().forEach(key -> merged.put(key, properties.getProperty(key)));
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                files.add(Path.of(resource.toURI()));
+            } catch (URISyntaxException e) {
+                // not watchable; the values are still used
+            }
+        }
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String firstNonBlank(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.isBlank()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.demo.flightbooking.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A local, read-only copy of the page's DOM, taken with one driver call.
+ * <p>
+ * Queries (CSS, XPath, {@link By} locators, text lookups) run against the parsed copy, so a check that
+ * reads fifty options costs the same single round-trip as one that reads one. The copy does not follow the
+ * page: take a new one after anything that navigates or changes the DOM (see {@code BasePage#invalidateSnapshot}).
+ * Live form state (typed values, checked boxes, selected options) is written into the markup before it is
+ * serialized, so it shows up as the usual attributes.
+ */
+public final class DomSnapshot {
+
+    // Serializes a clone of the document with current form state copied into attributes.
+    private static final String CAPTURE_SCRIPT =
+            "var live = document.querySelectorAll('input, textarea, option');"
+            + "var root = document.documentElement.cloneNode(true);"
+            + "var copy = root.querySelectorAll('input, textarea, option');"
+            + "for (var i = 0; i < live.length && i < copy.length; i++) {"
+            + "  var el = live[i], c = copy[i];"
+            + "  if (el.tagName === 'OPTION') { el.selected ? c.setAttribute('selected', '') : c.removeAttribute('selected'); }"
+            + "  else if (el.type === 'checkbox' || el.type === 'radio') { el.checked ? c.setAttribute('checked', '') : c.removeAttribute('checked'); }"
+            + "  else if (el.tagName === 'TEXTAREA') { c.textContent = el.value; }"
+            + "  else { c.setAttribute('value', el.value); }"
+            + "}"
+            + "return [location.href, root.outerHTML];";
+
+    private final String url;
+    private final Document document;
+    private final Map<String, Element> byId = new HashMap<>();
+    private final Map<String, List<Element>> byName = new HashMap<>();
+
+    private DomSnapshot(String url, Document document) {
+        this.url = url;
+        this.document = document;
+        for (Element element : document.getAllElements()) {
+            if (element.hasAttr("id")) {
+                byId.putIfAbsent(element.id(), element);
+            }
+            if (element.hasAttr("name")) {
+                byName.computeIfAbsent(element.attr("name"), k -> new ArrayList<>()).add(element);
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the browser's current document.
+     */
+    public static DomSnapshot capture(WebDriver driver) {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return parse(String.valueOf(result.get(1)), String.valueOf(result.get(0)));
+    }
+
+    /**
+     * Builds a snapshot from HTML, e.g. a page fetched without a browser.
+     */
+    public static DomSnapshot parse(String html, String url) {
+        return new DomSnapshot(url, Jsoup.parse(html, url));
+    }
+
+    /** The URL of the document when the snapshot was taken. */
+    public String getUrl() {
+        return url;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public Elements select(String cssQuery) {
+        return document.select(cssQuery);
+    }
+
+    public Elements selectXpath(String xpath) {
+        return document.selectXpath(xpath);
+    }
+
+    /**
+     * Finds elements with a Selenium locator (id, name, css, xpath, className or tagName).
+     */
+    public List<Element> find(By locator) {
+        String[] how = EventWaits.toScriptLocator(locator);
+        if (how == null) {
+            throw new IllegalArgumentException("Locator type not supported on a DOM snapshot: " + locator);
+        }
+        return switch (how[0]) {
+            case "id" -> byId.containsKey(how[1]) ? List.of(byId.get(how[1])) : List.of();
+            case "name" -> byName.getOrDefault(how[1], List.of());
+            case "xpath" -> selectXpath(how[1]);
+            default -> select(how[1]);
+        };
+    }
+
+    public Optional<Element> findFirst(By locator) {
+        List<Element> found = find(locator);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * Returns the normalized text of every element matching {@code cssQuery}.
+     */
+    public List<String> texts(String cssQuery) {
+        return select(cssQuery).eachText();
+    }
+
+    public Optional<String> text(By locator) {
+        return findFirst(locator).map(Element::text);
+    }
+
+    /**
+     * Returns true if any element's own text contains {@code text}.
+     */
+    public boolean containsText(String text) {
+        return !document.getElementsContainingOwnText(text).isEmpty();
+    }
+}
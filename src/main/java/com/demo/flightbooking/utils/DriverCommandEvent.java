@@ -0,0 +1,41 @@
+package com.demo.flightbooking.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one WebDriver / WebElement command, emitted by {@link JfrCommandListener}.
+ * Its duration is the whole call as the test sees it, including the round trip to the driver.
+ */
+@Name("com.demo.flightbooking.DriverCommand")
+@Label("WebDriver Command")
+@Category({"Flight Booking", "WebDriver"})
+@Description("A command sent to the browser through a WebDriver, WebElement or one of their helper interfaces")
+@StackTrace(false)
+public class DriverCommandEvent extends Event {
+
+    @Label("Command")
+    @Description("Interface and method, e.g. WebElement.click")
+    String command;
+
+    @Label("Locator")
+    @Description("The By used to find the element, or that the target element was found with")
+    String locator;
+
+    @Label("Session ID")
+    String sessionId;
+
+    @Label("Browser")
+    String browser;
+
+    @Label("Test")
+    String testName;
+
+    @Label("Error")
+    @Description("Exception the command failed with, if any")
+    String error;
+}
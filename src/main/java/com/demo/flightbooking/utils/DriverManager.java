@@ -1,11 +1,18 @@
 package com.demo.flightbooking.utils;
 
+import com.demo.flightbooking.enums.BrowserProfile;
 import com.demo.flightbooking.enums.BrowserType;
 import com.demo.flightbooking.factory.BrowserOptionsFactory;
+import com.demo.flightbooking.factory.DriverServiceFactory;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,90 +24,281 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.Augmenter;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
 public class DriverManager {
 
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
-    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
-    private static final ThreadLocal<String> browserName = new ThreadLocal<>();
+
+    private static volatile DriverPool pool;
+    // Grid sessions holding a slot claimed from the capacity monitor, released when the session is quit.
+    private static final Map<WebDriver, BrowserType> gridSlots = Collections.synchronizedMap(new IdentityHashMap<>());
 
     public static void setBrowser(String browser) {
         logger.info("Setting browser for current thread to: {}", browser.toUpperCase());
-        browserName.set(browser.toLowerCase());
+        TestContext.current().setBrowserName(browser.toLowerCase());
     }
 
     public static String getBrowser() {
-        return browserName.get();
+        return TestContext.current().getBrowserName();
     }
 
     public static WebDriver getDriver() {
-        if (driver.get() == null) {
-            String browser = browserName.get() != null
-                    ? browserName.get()
+        TestContext context = TestContext.current();
+        if (context.getDriver() == null) {
+            String browser = context.getBrowserName() != null
+                    ? context.getBrowserName()
                     : ConfigReader.getProperty("browser");
             BrowserType browserType = BrowserType.valueOf(browser.toUpperCase());
 
-            boolean useGrid = Boolean.parseBoolean(ConfigReader.getProperty("selenium.grid.enabled"));
-            logger.info("Grid enabled? " + useGrid);
-            logger.info("Execution mode: {}", useGrid ? "REMOTE (Grid)" : "LOCAL");
-            logger.info("Initializing {} driver for thread: {}", browserType, Thread.currentThread().getId());
-
-            MutableCapabilities options = BrowserOptionsFactory.getOptions(browserType);
+            if (isPoolEnabled()) {
+                DriverPool.PooledDriver pooled = getPool().lease(browserType);
+                context.setLease(pooled);
+                context.setDriver(pooled.driver());
+            } else {
+                context.setDriver(createDriver(browserType));
+            }
+        }
 
-            if (useGrid) {
-                try {
-                    // Validate required properties
-                    String hubHost = ConfigReader.getProperty("selenium.hubHost");
-                    String urlFormat = ConfigReader.getProperty("seleniumhub.urlFormat");
+        return context.getDriver();
+    }
 
-                    if (hubHost == null || hubHost.isEmpty()) {
-                        throw new RuntimeException("Missing hubHost or urlFormat in config.properties");
-                    }
-                    if (urlFormat == null || urlFormat.isEmpty()) {
-                        throw new RuntimeException("⚠️ seleniumhub.urlFormat property is missing in config.properties");
-                    }
+    /**
+     * Creates a brand-new session for the given browser, locally or on the Grid.
+     */
+    private static WebDriver createDriver(BrowserType browserType) {
+        WebDriver newDriver;
+        boolean useGrid = Boolean.parseBoolean(ConfigReader.getProperty("selenium.grid.enabled"));
+        logger.debug("Grid enabled? {}", useGrid);
+        logger.info("Execution mode: {}", useGrid ? "REMOTE (Grid)" : "LOCAL");
+        logger.info("Initializing {} driver for thread: {}", browserType, Thread.currentThread().getId());
 
-                    String fullUrl = String.format(urlFormat, hubHost);
-                    logger.info("Connecting to Selenium Grid at: {}", fullUrl);
+        MutableCapabilities options = BrowserOptionsFactory.getOptions(browserType);
+        long start = System.nanoTime();
+        DriverSessionEvent sessionEvent = DriverSessionEvent.start();
+        String mode = "REMOTE (Grid)";
 
-                    URL gridUrl = URI.create(fullUrl).toURL(); // Safe in Java 20+
+        if (useGrid) {
+            try {
+                // Validate required properties
+                String hubHost = ConfigReader.getProperty("selenium.hubHost");
+                String urlFormat = ConfigReader.getProperty("seleniumhub.urlFormat");
 
-                    driver.set(new RemoteWebDriver(gridUrl, options));
-                } catch (MalformedURLException e) {
-                    logger.error("❌ Malformed Selenium Grid URL: {}", e.getMessage());
-                    throw new RuntimeException("Invalid Selenium Grid URL", e);
+                if (hubHost == null || hubHost.isEmpty()) {
+                    throw new RuntimeException("Missing hubHost or urlFormat in config.properties");
                 }
-            } else {
-                // Local Mode
-                switch (browserType) {
-                    case CHROME:
-                        driver.set(new ChromeDriver((ChromeOptions) options));
-                        break;
-                    case FIREFOX:
-                        driver.set(new FirefoxDriver((FirefoxOptions) options));
-                        break;
-                    case EDGE:
-                        driver.set(new EdgeDriver((EdgeOptions) options));
-                        break;
-                    default:
-                        throw new IllegalStateException("Unsupported browser type: " + browserType);
+                if (urlFormat == null || urlFormat.isEmpty()) {
+                    throw new RuntimeException("⚠️ seleniumhub.urlFormat property is missing in config.properties");
                 }
+
+                String fullUrl = String.format(urlFormat, hubHost);
+                logger.info("Connecting to Selenium Grid at: {}", fullUrl);
+
+                URL gridUrl = URI.create(fullUrl).toURL(); // Safe in Java 20+
+
+                newDriver = createGridDriver(browserType, gridUrl, options);
+            } catch (MalformedURLException e) {
+                logger.error("❌ Malformed Selenium Grid URL: {}", e.getMessage());
+                throw new RuntimeException("Invalid Selenium Grid URL", e);
+            }
+        } else if (Boolean.parseBoolean(ConfigReader.getProperty("driver.service.shared"))
+                && DriverServiceFactory.supportsSharedService(browserType)) {
+            // Local Mode, one long-lived driver process per browser shared by all sessions (not Firefox:
+            // geckodriver hosts one session per process, so Firefox falls through to a dedicated service).
+            // The session talks to the service over HTTP so that quitting it leaves the service running.
+            DriverService service = DriverServiceFactory.getSharedService(browserType);
+            newDriver = new Augmenter().augment(new RemoteWebDriver(service.getUrl(), options));
+            mode = "LOCAL (shared service)";
+        } else {
+            // Local Mode, a new driver process per session
+            DriverServiceFactory.resolveDriverPath(browserType);
+            switch (browserType) {
+                case CHROME:
+                    newDriver = new ChromeDriver((ChromeOptions) options);
+                    break;
+                case FIREFOX:
+                    newDriver = new FirefoxDriver((FirefoxOptions) options);
+                    break;
+                case EDGE:
+                    newDriver = new EdgeDriver((EdgeOptions) options);
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported browser type: " + browserType);
+            }
+            mode = "LOCAL (dedicated service)";
+        }
+        sessionEvent.finish("create", newDriver, mode);
+        logger.info("Created {} session in {} ms [{}]", browserType, (System.nanoTime() - start) / 1_000_000, mode);
+
+        BrowserProfile profile = BrowserOptionsFactory.getProfile(browserType);
+        WebDriver session = newDriver;
+        try {
+            BrowserOptionsFactory.applySessionSettings(newDriver, browserType);
+            if (profile == BrowserProfile.DEFAULT) {
+                newDriver.manage().window().maximize(); // FAST sessions keep their fixed headless viewport
+            }
+            newDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+            session = decorate(newDriver, browserType, profile);
+            FailureArtifacts.watch(session);
+            ScreencastRecorder.start(session);
+        } catch (RuntimeException e) {
+            // Nobody else holds the session yet: quit it here so its browser and Grid slot are not leaked.
+            logger.error("Setting up the new {} session failed; quitting it", browserType);
+            try {
+                disposeDriver(session);
+            } catch (RuntimeException quitError) {
+                e.addSuppressed(quitError);
             }
+            throw e;
+        }
+        return session;
+    }
+
+    /**
+     * Wraps a new session with the configured WebDriver listeners, if any.
+     */
+    private static WebDriver decorate(WebDriver rawDriver, BrowserType browserType, BrowserProfile profile) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (Boolean.parseBoolean(ConfigReader.getProperty("browser.pageLoadTiming"))) {
+            listeners.add(new PageLoadTimingListener(rawDriver, browserType, profile));
+        }
+        if (JfrCommandListener.isEnabled()) {
+            listeners.add(new JfrCommandListener(rawDriver));
+        }
+        if (listeners.isEmpty()) {
+            return rawDriver;
+        }
+        WebDriver decorated = new EventFiringDecorator<>(listeners.toArray(WebDriverListener[]::new))
+                .decorate(rawDriver);
+        BrowserType slotBrowser = gridSlots.remove(rawDriver);
+        if (slotBrowser != null) {
+            gridSlots.put(decorated, slotBrowser);
+        }
+        return decorated;
+    }
+
+    private static WebDriver createGridDriver(BrowserType browserType, URL gridUrl, MutableCapabilities options) {
+        if (!GridCapacityMonitor.isEnabled()) {
+            return newRemoteDriver(gridUrl, options);
+        }
+
+        GridCapacityMonitor monitor = GridCapacityMonitor.shared();
+        int slotWait = ConfigReader.getPropertyAsInt("grid.slot.waitSeconds");
+        monitor.acquireSlot(browserType, Duration.ofSeconds(slotWait > 0 ? slotWait : 300));
+        try {
+            WebDriver remoteDriver = newRemoteDriver(gridUrl, options);
+            gridSlots.put(remoteDriver, browserType);
+            return remoteDriver;
+        } catch (RuntimeException e) {
+            monitor.releaseSlot(browserType);
+            throw e;
+        }
+    }
+
+    // Augmented so a Grid session exposes BiDi (HasBiDi) like a local one; otherwise the webSocketUrl the options
+    // request is opened on the node but never used.
+    private static WebDriver newRemoteDriver(URL gridUrl, MutableCapabilities options) {
+        return new Augmenter().augment(new RemoteWebDriver(gridUrl, options));
+    }
 
-            driver.get().manage().window().maximize();
-            driver.get().manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+    /**
+     * Quits a session and gives back any Grid slot it was holding.
+     */
+    private static void disposeDriver(WebDriver webDriver) {
+        EventWaits.forget(webDriver);
+        FailureArtifacts.forget(webDriver);
+        ScreencastRecorder.stop(webDriver);
+        DriverSessionEvent sessionEvent = DriverSessionEvent.start(webDriver);
+        try {
+            webDriver.quit();
+        } finally {
+            sessionEvent.finish("quit", webDriver, null);
+            BrowserType slotBrowser = gridSlots.remove(webDriver);
+            if (slotBrowser != null) {
+                GridCapacityMonitor.shared().releaseSlot(slotBrowser);
+            }
         }
+    }
 
-        return driver.get();
+    /**
+     * Ends the current thread's use of its driver after a test.
+     * In pooled mode the session is reset and returned to the pool, unless {@code reusable} is false,
+     * in which case it is evicted. Without a pool the session is simply quit.
+     *
+     * @param reusable false if the test left the browser in a suspect state (e.g. it failed).
+     */
+    public static void releaseDriver(boolean reusable) {
+        TestContext context = TestContext.current();
+        DriverPool.PooledDriver pooled = context.getLease();
+        if (pooled == null) {
+            quitDriver();
+            return;
+        }
+        logger.info("Returning {} session to pool for thread: {}", pooled.browserType(), Thread.currentThread().getId());
+        try {
+            pool.release(pooled, reusable);
+        } finally {
+            context.setLease(null);
+            context.setDriver(null);
+            context.setBrowserName(null);
+        }
     }
 
     public static void quitDriver() {
-        if (driver.get() != null) {
+        TestContext context = TestContext.current();
+        if (context.getLease() != null) {
+            releaseDriver(false);
+            return;
+        }
+        if (context.getDriver() != null) {
             logger.info("Quitting driver for thread: {}", Thread.currentThread().getId());
-            driver.get().quit();
-            driver.remove();
-            browserName.remove();
+            try {
+                disposeDriver(context.getDriver());
+            } finally {
+                context.setDriver(null);
+                context.setBrowserName(null);
+            }
+        }
+    }
+
+    public static boolean isPoolEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("driver.pool.enabled"));
+    }
+
+    /**
+     * Returns the pool counters per browser, or an empty map when pooling is off or unused.
+     */
+    public static Map<BrowserType, DriverPool.Stats> getPoolStats() {
+        return pool != null ? pool.stats() : Map.of();
+    }
+
+    /**
+     * Quits every pooled session. Call once at the end of the suite.
+     */
+    public static synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private static DriverPool getPool() {
+        if (pool == null) {
+            synchronized (DriverManager.class) {
+                if (pool == null) {
+                    int maxSize = ConfigReader.getPropertyAsInt("driver.pool.maxSize");
+                    int maxUses = ConfigReader.getPropertyAsInt("driver.pool.maxUses");
+                    int leaseTimeout = ConfigReader.getPropertyAsInt("driver.pool.leaseTimeoutSeconds");
+                    pool = new DriverPool(DriverManager::createDriver, DriverManager::disposeDriver, maxSize, maxUses,
+                            Duration.ofSeconds(leaseTimeout > 0 ? leaseTimeout : 120));
+                    logger.info("Driver pool enabled: maxSize={} per browser, maxUses={}", maxSize, maxUses);
+                }
+            }
         }
+        return pool;
     }
 }
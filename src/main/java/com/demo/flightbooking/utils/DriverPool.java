@@ -0,0 +1,268 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.BrowserType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A pool of live WebDriver sessions, keyed by browser type.
+ * Sessions are leased to one thread at a time, reset when handed back and evicted
+ * after a configurable number of uses or as soon as they misbehave.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    // Clears storage for the current origin; about:blank and friends throw SecurityError, which is fine.
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Function<BrowserType, WebDriver> driverFactory;
+    private final Consumer<WebDriver> driverDisposer;
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+
+    private final Map<BrowserType, ConcurrentLinkedDeque<PooledDriver>> idle = new ConcurrentHashMap<>();
+    private final Map<BrowserType, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<BrowserType, Counters> counters = new ConcurrentHashMap<>();
+    private final Set<PooledDriver> all = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param driverFactory  Creates a brand-new session for a browser type (pool miss).
+     * @param driverDisposer Quits a session the pool no longer wants.
+     * @param maxSize        Maximum number of live sessions per browser type.
+     * @param maxUses        Number of leases after which a session is quit instead of reused.
+     * @param leaseTimeout   How long a thread may wait for a free session before failing.
+     */
+    public DriverPool(Function<BrowserType, WebDriver> driverFactory, Consumer<WebDriver> driverDisposer,
+                      int maxSize, int maxUses, Duration leaseTimeout) {
+        this.driverFactory = driverFactory;
+        this.driverDisposer = driverDisposer;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    /**
+     * Leases a session for the given browser, reusing an idle one when it passes the health check.
+     * Blocks while all {@code maxSize} sessions of that browser are leased out.
+     *
+     * @param browserType The browser the caller needs.
+     * @return A session owned by the calling thread until {@link #release} is called.
+     */
+    public PooledDriver lease(BrowserType browserType) {
+        Counters stats = countersFor(browserType);
+        long waitStart = System.nanoTime();
+        try {
+            if (!permitsFor(browserType).tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + leaseTimeout.toSeconds()
+                        + "s waiting for a pooled " + browserType + " session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled " + browserType + " session", e);
+        }
+        stats.recordWait(System.nanoTime() - waitStart);
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = idleFor(browserType).pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    stats.hits.increment();
+                    pooled.uses++;
+                    logger.debug("Pool hit for {} (session used {} times)", browserType, pooled.uses);
+                    return pooled;
+                }
+                evict(pooled, "failed health check");
+            }
+
+            stats.misses.increment();
+            logger.info("Pool miss for {}. Creating a new session.", browserType);
+            pooled = new PooledDriver(browserType, driverFactory.apply(browserType));
+            pooled.uses = 1;
+            all.add(pooled);
+            return pooled;
+        } catch (RuntimeException e) {
+            permitsFor(browserType).release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands a session back to the pool. Reusable sessions are reset and parked for the next lease;
+     * anything else (errors, worn-out sessions, failed resets) is quit.
+     *
+     * @param pooled   The session previously returned by {@link #lease}.
+     * @param reusable false when the caller suspects the session is in a bad state.
+     */
+    public void release(PooledDriver pooled, boolean reusable) {
+        try {
+            if (!reusable) {
+                evict(pooled, "released after an error");
+            } else if (pooled.uses >= maxUses) {
+                evict(pooled, "reached " + maxUses + " uses");
+            } else if (!reset(pooled)) {
+                evict(pooled, "reset failed");
+            } else {
+                idleFor(pooled.browserType).offerFirst(pooled);
+            }
+        } finally {
+            permitsFor(pooled.browserType).release();
+        }
+    }
+
+    /**
+     * Returns a point-in-time view of the pool counters per browser type.
+     */
+    public Map<BrowserType, Stats> stats() {
+        Map<BrowserType, Stats> snapshot = new EnumMap<>(BrowserType.class);
+        counters.forEach((type, c) -> snapshot.put(type, c.snapshot(idleFor(type).size())));
+        return snapshot;
+    }
+
+    /**
+     * Quits every session the pool created, idle or not.
+     */
+    public void shutdown() {
+        List<PooledDriver> remaining = new ArrayList<>(all);
+        logger.info("Shutting down driver pool with {} live session(s).", remaining.size());
+        remaining.forEach(this::quitQuietly);
+        all.clear();
+        idle.clear();
+    }
+
+    // Restores the session to a blank state: no cookies, no storage, a single window on about:blank.
+    private boolean reset(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        try {
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            driver.manage().deleteAllCookies();
+
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not reset pooled {} session: {}", pooled.browserType, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Pooled {} session is no longer responsive: {}", pooled.browserType, e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(PooledDriver pooled, String reason) {
+        logger.info("Evicting pooled {} session: {}", pooled.browserType, reason);
+        countersFor(pooled.browserType).evictions.increment();
+        quitQuietly(pooled);
+    }
+
+    private void quitQuietly(PooledDriver pooled) {
+        all.remove(pooled);
+        try {
+            driverDisposer.accept(pooled.driver);
+        } catch (RuntimeException e) {
+            logger.warn("Error quitting pooled {} session: {}", pooled.browserType, e.getMessage());
+        }
+    }
+
+    private ConcurrentLinkedDeque<PooledDriver> idleFor(BrowserType browserType) {
+        return idle.computeIfAbsent(browserType, type -> new ConcurrentLinkedDeque<>());
+    }
+
+    private Semaphore permitsFor(BrowserType browserType) {
+        return permits.computeIfAbsent(browserType, type -> new Semaphore(maxSize, true));
+    }
+
+    private Counters countersFor(BrowserType browserType) {
+        return counters.computeIfAbsent(browserType, type -> new Counters());
+    }
+
+    /**
+     * A live session owned by the pool. Callers only ever see it between lease and release.
+     */
+    public static final class PooledDriver {
+        private final BrowserType browserType;
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(BrowserType browserType, WebDriver driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+
+        public WebDriver driver() {
+            return driver;
+        }
+
+        public BrowserType browserType() {
+            return browserType;
+        }
+    }
+
+    /**
+     * Pool counters for one browser type, used to size the pool against the Grid.
+     */
+    public record Stats(long hits, long misses, long evictions, int idle, double avgLeaseWaitMillis, double maxLeaseWaitMillis) {
+
+        public double hitRatio() {
+            long leases = hits + misses;
+            return leases == 0 ? 0 : (double) hits / leases;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d (hit ratio %.0f%%), evictions=%d, idle=%d, lease wait avg=%.1f ms, max=%.1f ms",
+                    hits, misses, hitRatio() * 100, evictions, idle, avgLeaseWaitMillis, maxLeaseWaitMillis);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void recordWait(long nanos) {
+            waits.increment();
+            totalWaitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private Stats snapshot(int idleCount) {
+            long count = waits.sum();
+            double avg = count == 0 ? 0 : totalWaitNanos.sum() / (double) count / 1_000_000;
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), idleCount, avg, maxWaitNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.demo.flightbooking.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * JFR event for creating or quitting a browser session in {@link DriverManager}.
+ */
+@Name("com.demo.flightbooking.DriverSession")
+@Label("WebDriver Session")
+@Category({"Flight Booking", "WebDriver"})
+@Description("A browser session being created or quit")
+@StackTrace(false)
+public class DriverSessionEvent extends Event {
+
+    @Label("Action")
+    @Description("create or quit")
+    String action;
+
+    @Label("Session ID")
+    String sessionId;
+
+    @Label("Browser")
+    String browser;
+
+    @Label("Mode")
+    @Description("How the session was created, e.g. local or grid")
+    String mode;
+
+    @Label("Test")
+    String testName;
+
+    /**
+     * Starts timing a session create.
+     */
+    public static DriverSessionEvent start() {
+        DriverSessionEvent event = new DriverSessionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts timing a session quit. The id is read now, since quitting clears it.
+     */
+    public static DriverSessionEvent start(WebDriver driver) {
+        DriverSessionEvent event = start();
+        event.sessionId = JfrCommandListener.sessionId(driver);
+        event.browser = JfrCommandListener.browserName(driver);
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if JFR is recording it.
+     *
+     * @param driver The session; only its id and capabilities are read, which needs no browser call.
+     */
+    public void finish(String action, WebDriver driver, String mode) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            if (sessionId == null) {
+                this.sessionId = JfrCommandListener.sessionId(driver);
+                this.browser = JfrCommandListener.browserName(driver);
+            }
+            this.mode = mode;
+            this.testName = ThreadContext.get(TestLogs.TEST_ID);
+            commit();
+        }
+    }
+}
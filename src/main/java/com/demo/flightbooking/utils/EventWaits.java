@@ -0,0 +1,358 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.browsingcontext.NavigationInfo;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Waits that finish when the browser reports the change instead of re-checking every 500 ms.
+ * <ul>
+ *   <li>Elements: one async script installs a {@code MutationObserver} and returns the element as soon
+ *   as it is attached and visible (one round-trip instead of one per poll).</li>
+ *   <li>URLs: on sessions with WebDriver BiDi, {@code browsingContext.domContentLoaded} and
+ *   {@code fragmentNavigated} events of the current window (frames and other windows are ignored), with the URL
+ *   re-read every 500 ms for History API changes, which fire no event; otherwise an async script that returns
+ *   when the document unloads or its URL changes.</li>
+ * </ul>
+ * A method returns {@code null} when it cannot handle the request (e.g. an unsupported locator type);
+ * {@link WebDriverUtils} then falls back to its {@code WebDriverWait}. Both paths record their latency
+ * here, so runs with {@code wait.eventDriven} on and off can be compared.
+ */
+public final class EventWaits {
+
+    private static final Logger logger = LogManager.getLogger(EventWaits.class);
+
+    // Each script call waits at most this long, well under WebDriver's default 30 s script timeout.
+    private static final long SCRIPT_CHUNK_MILLIS = 5_000;
+    private static final long RETRY_PAUSE_MILLIS = 100;
+    // pushState/replaceState change the URL without a BiDi event, so event-driven URL waits re-read it this often.
+    private static final long SAME_DOCUMENT_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    // arguments: locator type, locator value, timeout ms, require enabled, callback
+    private static final String ELEMENT_SCRIPT =
+            "var how = arguments[0], what = arguments[1], timeout = arguments[2], enabled = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function locate() {"
+            + "  switch (how) {"
+            + "    case 'id': return document.getElementById(what);"
+            + "    case 'name': return document.getElementsByName(what)[0];"
+            + "    case 'css': return document.querySelector(what);"
+            + "    case 'xpath': return document.evaluate(what, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "}"
+            + "function ready() {"
+            + "  var el = locate();"
+            + "  if (!el || !el.getClientRects().length) { return null; }"
+            + "  var style = getComputedStyle(el);"
+            + "  if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') { return null; }"
+            + "  return enabled && el.disabled ? null : el;"
+            + "}"
+            + "var found = ready();"
+            + "if (found) { done(found); return; }"
+            + "var observer = new MutationObserver(function () {"
+            + "  var el = ready();"
+            + "  if (el) { observer.disconnect(); clearTimeout(timer); done(el); }"
+            + "});"
+            + "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true});"
+            + "var timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);";
+
+    // arguments: URL fragment, timeout ms, callback. A real navigation unloads the document, which ends the call.
+    private static final String URL_SCRIPT =
+            "var chunk = arguments[0], done = arguments[arguments.length - 1];"
+            + "function check() { if (location.href.indexOf(chunk) >= 0) { done(true); return true; } return false; }"
+            + "if (check()) { return; }"
+            + "window.addEventListener('hashchange', check);"
+            + "window.addEventListener('popstate', check);"
+            + "setTimeout(function () { done(false); }, arguments[1]);";
+
+    private static final Map<WebDriver, NavigationEvents> navigationEvents =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+
+    private EventWaits() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("wait.eventDriven"));
+    }
+
+    /**
+     * Waits until the first element matching {@code locator} is visible (and enabled, if asked).
+     *
+     * @return The element, or {@code null} if the locator type is not supported here.
+     * @throws TimeoutException if the element does not show up in time.
+     * @throws WebDriverException at once for any error other than a navigation, e.g. an invalid selector.
+     */
+    public static WebElement waitForElement(WebDriver driver, By locator, Duration timeout, boolean enabled) {
+        String[] how = toScriptLocator(locator);
+        if (how == null || !(driver instanceof JavascriptExecutor js)) {
+            return null;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                throw new TimeoutException("Element not visible after " + timeout.toSeconds() + " s: " + locator);
+            }
+            try {
+                Object result = js.executeAsyncScript(ELEMENT_SCRIPT, how[0], how[1],
+                        Math.min(remaining, SCRIPT_CHUNK_MILLIS), enabled);
+                if (result instanceof WebElement element) {
+                    return element;
+                }
+            } catch (ScriptTimeoutException e) {
+                logger.debug("Element script timed out for {}; re-arming", locator);
+            } catch (WebDriverException e) {
+                if (!isNavigation(e)) {
+                    throw e; // e.g. an invalid selector or a dead session: retrying cannot help
+                }
+                // The document was replaced while we were observing it; observe the new one.
+                logger.debug("Element wait for {} interrupted by navigation: {}", locator, e.getMessage());
+                pauseBeforeRetry();
+            }
+        }
+    }
+
+    /**
+     * Waits until the current URL contains {@code urlChunk}.
+     *
+     * @return true once it does, false on timeout.
+     */
+    public static boolean waitForUrl(WebDriver driver, String urlChunk, Duration timeout) {
+        NavigationEvents events = navigationEvents(driver);
+        if (events != null) {
+            // A top-level window handle is its BiDi browsing context id.
+            String context = driver.getWindowHandle();
+            long seen = events.sequence();
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                if (driver.getCurrentUrl().contains(urlChunk)) {
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                if (events.awaitUrl(context, urlChunk, seen, Math.min(remaining, SAME_DOCUMENT_POLL_NANOS))) {
+                    return true;
+                }
+            }
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return driver.getCurrentUrl().contains(urlChunk);
+            }
+            try {
+                if (Boolean.TRUE.equals(js.executeAsyncScript(URL_SCRIPT, urlChunk, Math.min(remaining, SCRIPT_CHUNK_MILLIS)))) {
+                    return true;
+                }
+            } catch (WebDriverException e) {
+                if (!isNavigation(e)) {
+                    throw e;
+                }
+                // "document unloaded": a navigation happened, which is exactly what we were waiting for.
+                if (driver.getCurrentUrl().contains(urlChunk)) {
+                    return true;
+                }
+                pauseBeforeRetry();
+            }
+        }
+    }
+
+    /**
+     * Drops the BiDi subscription kept for a session. Call when the session is quit.
+     */
+    public static void forget(WebDriver driver) {
+        NavigationEvents events = navigationEvents.remove(driver);
+        if (events != null) {
+            events.close();
+        }
+    }
+
+    private static NavigationEvents navigationEvents(WebDriver driver) {
+        if (!(driver instanceof HasBiDi bidi) || bidi.maybeGetBiDi().isEmpty()) {
+            return null;
+        }
+        synchronized (navigationEvents) {
+            NavigationEvents events = navigationEvents.get(driver);
+            if (events == null) {
+                try {
+                    events = new NavigationEvents(driver);
+                } catch (WebDriverException e) {
+                    logger.warn("BiDi navigation events unavailable, using script waits: {}", e.getMessage());
+                    return null;
+                }
+                navigationEvents.put(driver, events);
+            }
+            return events;
+        }
+    }
+
+    // Only an unloaded or replaced document is worth re-arming the script for. Chrome reports "document unloaded
+    // while waiting for result" or a destroyed execution context, Firefox "Document was unloaded".
+    private static boolean isNavigation(WebDriverException e) {
+        String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains("unload") || message.contains("execution context") || message.contains("navigat");
+    }
+
+    // Gives the next document a moment to exist, so a page that keeps reloading does not become a tight loop.
+    private static void pauseBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_PAUSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    // By has no public accessors, but its toString is stable: "By.cssSelector: input[type='submit']".
+    // Returns {"id"|"name"|"css"|"xpath", value}, or null for other locator types. Also used by DomSnapshot.
+    static String[] toScriptLocator(By locator) {
+        String text = locator.toString();
+        int colon = text.indexOf(": ");
+        if (!text.startsWith("By.") || colon < 0) {
+            return null;
+        }
+        String value = text.substring(colon + 2);
+        return switch (text.substring(3, colon)) {
+            case "id" -> new String[]{"id", value};
+            case "name" -> new String[]{"name", value};
+            case "cssSelector" -> new String[]{"css", value};
+            case "xpath" -> new String[]{"xpath", value};
+            case "className" -> new String[]{"css", "." + value};
+            case "tagName" -> new String[]{"css", value};
+            default -> null;
+        };
+    }
+
+    // --- Latency accounting ---
+
+    /**
+     * Records how long one wait took, keyed by strategy ("events" or "polling").
+     */
+    public static void record(String strategy, long millis) {
+        latencies.computeIfAbsent(strategy, k -> new Latency()).add(millis);
+    }
+
+    /**
+     * Returns a summary per strategy, e.g. {@code "events" -> "42 waits, avg 35 ms, max 410 ms"}.
+     */
+    public static Map<String, String> latencySummary() {
+        Map<String, String> summary = new TreeMap<>();
+        latencies.forEach((strategy, latency) -> summary.put(strategy, latency.toString()));
+        return summary;
+    }
+
+    private static final class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        void add(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+        }
+
+        @Override
+        public String toString() {
+            long n = count.sum();
+            return String.format("%d waits, avg %.0f ms, max %d ms", n, n == 0 ? 0.0 : (double) totalMillis.sum() / n,
+                    maxMillis.get());
+        }
+    }
+
+    /**
+     * One BiDi subscription per session that remembers the latest document URL of each browsing context.
+     */
+    private static final class NavigationEvents {
+        private final BrowsingContextInspector inspector;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition loaded = lock.newCondition();
+        private final AtomicLong sequence = new AtomicLong();
+        // Context id -> its latest load or fragment change; guarded by 'lock'.
+        private final Map<String, Load> lastLoads = new HashMap<>();
+
+        private record Load(long sequence, String url) {
+        }
+
+        NavigationEvents(WebDriver driver) {
+            inspector = new BrowsingContextInspector(driver);
+            inspector.onDomContentLoaded(this::navigated);
+            inspector.onFragmentNavigated(this::navigated);
+        }
+
+        private void navigated(NavigationInfo info) {
+            lock.lock();
+            try {
+                lastLoads.put(info.getBrowsingContextId(), new Load(sequence.incrementAndGet(), info.getUrl()));
+                loaded.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long sequence() {
+            return sequence.get();
+        }
+
+        // True once 'context' has loaded or changed fragment after 'seen' to a matching URL.
+        boolean awaitUrl(String context, String urlChunk, long seen, long timeoutNanos) {
+            lock.lock();
+            try {
+                long remaining = timeoutNanos;
+                while (true) {
+                    Load load = lastLoads.get(context);
+                    if (load != null && load.sequence() > seen && load.url().contains(urlChunk)) {
+                        return true;
+                    }
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = loaded.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                inspector.close();
+            } catch (WebDriverException e) {
+                logger.debug("Closing BiDi subscription failed: {}", e.getMessage());
+            }
+        }
+    }
+}
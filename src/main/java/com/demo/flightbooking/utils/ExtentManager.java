@@ -1,26 +1,23 @@
 package com.demo.flightbooking.utils;
 
-import com.aventstack.extentreports.ExtentTest;
-
 /**
- * Manages thread-safe access to ExtentTest instances for parallel test execution.
+ * Manages thread-safe access to the current test's report node for parallel test execution.
+ * The node is kept on the current {@link TestContext}; its calls are applied by a {@link ReportQueue}.
  */
 public class ExtentManager {
 
-	private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
-
-    // Retrieve the ExtentTest for the current thread
-    public static ExtentTest getTest() {
-        return extentTest.get();
+    // Retrieve the ExtentTest for the current test
+    public static ReportTest getTest() {
+        return TestContext.current().getExtentTest();
     }
 
-    // Set the ExtentTest for the current thread
-    public static void setTest(ExtentTest test) {
-        extentTest.set(test);
+    // Set the ExtentTest for the current test
+    public static void setTest(ReportTest test) {
+        TestContext.current().setExtentTest(test);
     }
 
     // Remove the ExtentTest to avoid memory leaks
     public static void unload() {
-        extentTest.remove();
+        TestContext.current().setExtentTest(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,317 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.log.BaseLogEntry;
+import org.openqa.selenium.bidi.module.LogInspector;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Collects everything needed to diagnose a UI failure into one zip under {@code reports/failures/}.
+ * <p>
+ * The screenshot, page source, URL and title, and the last {@code failure.bundle.networkEntries} network requests
+ * (from the page's Resource Timing, with start, duration and time to first byte) are requested at the same time,
+ * and the whole capture is bounded by {@code failure.bundle.timeoutSeconds}: a part the browser has not returned by
+ * then is listed as timed out in {@code summary.txt} and the bundle is written without it, so a hung browser cannot
+ * stall teardown. Console messages and JavaScript errors are recorded over WebDriver BiDi while the test runs
+ * ({@code failure.bundle.console}), because the browser does not keep them for later.
+ */
+public final class FailureArtifacts {
+
+    private static final Logger logger = LogManager.getLogger(FailureArtifacts.class);
+    private static final String BUNDLE_DIR = "reports/failures/";
+
+    // [startTime, duration, time to first byte, transferSize, initiatorType, url] for the last N entries, oldest first.
+    private static final String NETWORK_SCRIPT =
+            "var all = performance.getEntriesByType('navigation').concat(performance.getEntriesByType('resource'));"
+            + "all.sort(function (a, b) { return a.startTime - b.startTime; });"
+            + "return all.slice(-arguments[0]).map(function (e) {"
+            + "  return [e.startTime, e.duration, e.responseStart > 0 ? e.responseStart - e.startTime : -1,"
+            + "          e.transferSize || 0, e.initiatorType || e.entryType, e.name]; });";
+
+    private static final int PARTS = 4;
+
+    // One small pool per session: a part stuck on a hung browser keeps its thread until the WebDriver call gives up,
+    // so the same session's next capture queues behind it and times out instead of adding threads, while other
+    // sessions are unaffected. forget() shuts the pool down.
+    private static final Map<WebDriver, ExecutorService> capturePools = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, ConsoleLog> consoleLogs = new ConcurrentHashMap<>();
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * What a capture produced.
+     *
+     * @param file       The zip, or null if it could not be written.
+     * @param screenshot PNG bytes for the inline report image, or null if the browser did not return one in time.
+     * @param missing    Parts that timed out or failed, e.g. {@code "page.html (timed out)"}.
+     */
+    public record Bundle(Path file, byte[] screenshot, List<String> missing) {
+    }
+
+    private FailureArtifacts() {
+    }
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(String.valueOf(ConfigReader.getProperty("failure.bundle.enabled")).trim());
+    }
+
+    /**
+     * True if sessions should open a BiDi connection so console messages can be recorded.
+     */
+    public static boolean isConsoleEnabled() {
+        return isEnabled() && Boolean.parseBoolean(ConfigReader.getProperty("failure.bundle.console"));
+    }
+
+    /**
+     * Starts recording console messages and JavaScript errors for a new session. Does nothing without BiDi.
+     */
+    public static void watch(WebDriver driver) {
+        if (!isConsoleEnabled() || !(driver instanceof HasBiDi bidi) || bidi.maybeGetBiDi().isEmpty()) {
+            return;
+        }
+        int capacity = ConfigReader.getPropertyAsInt("failure.bundle.consoleEntries");
+        try {
+            consoleLogs.put(driver, new ConsoleLog(driver, capacity > 0 ? capacity : 200));
+        } catch (WebDriverException e) {
+            logger.warn("Console capture unavailable for this session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops recording for a session. Call when the session is quit.
+     */
+    public static void forget(WebDriver driver) {
+        ConsoleLog log = consoleLogs.remove(driver);
+        if (log != null) {
+            log.close();
+        }
+        ExecutorService pool = capturePools.remove(driver);
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Captures a bundle with the configured time limit ({@code failure.bundle.timeoutSeconds}, default 10).
+     *
+     * @param sinceMillis Console entries older than this (e.g. from a previous test on a pooled session) are left out.
+     */
+    public static Bundle capture(WebDriver driver, String testName, Throwable error, long sinceMillis) {
+        int timeoutSeconds = ConfigReader.getPropertyAsInt("failure.bundle.timeoutSeconds");
+        return capture(driver, testName, error, sinceMillis, Duration.ofSeconds(timeoutSeconds > 0 ? timeoutSeconds : 10));
+    }
+
+    public static Bundle capture(WebDriver driver, String testName, Throwable error, long sinceMillis, Duration timeout) {
+        long start = System.nanoTime();
+        int networkEntries = ConfigReader.getPropertyAsInt("failure.bundle.networkEntries");
+
+        ExecutorService pool = capturePools.computeIfAbsent(driver, d -> newCapturePool());
+        Map<String, CompletableFuture<byte[]>> requests = new LinkedHashMap<>();
+        requests.put("screenshot.png", async(pool, () -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES)));
+        requests.put("page.html", async(pool, () -> utf8(driver.getPageSource())));
+        requests.put("url.txt", async(pool, () -> utf8(driver.getCurrentUrl() + "\n" + driver.getTitle() + "\n")));
+        requests.put("network.tsv", async(pool, () -> utf8(network(driver, networkEntries > 0 ? networkEntries : 50))));
+
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long deadline = start + timeout.toNanos();
+        requests.forEach((name, request) -> {
+            try {
+                parts.put(name, request.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                request.cancel(true);
+                missing.add(name + " (timed out)");
+            } catch (ExecutionException e) {
+                missing.add(name + " (" + firstLine(e.getCause()) + ")");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                missing.add(name + " (interrupted)");
+            }
+        });
+        ConsoleLog console = consoleLogs.get(driver);
+        parts.put("console.log", utf8(console != null
+                ? console.since(sinceMillis)
+                : "Not recorded: the session has no BiDi connection (failure.bundle.console=false or unsupported).\n"));
+        parts.put("error.txt", utf8(stackTrace(error)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        StringBuilder summary = new StringBuilder()
+                .append("test: ").append(testName).append('\n')
+                .append("captured: ").append(Instant.now()).append(" in ").append(elapsedMillis).append(" ms\n")
+                .append("error: ").append(firstLine(error)).append('\n');
+        parts.keySet().forEach(name -> summary.append("part: ").append(name).append('\n'));
+        missing.forEach(name -> summary.append("missing: ").append(name).append('\n'));
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        Path file = Path.of(BUNDLE_DIR, testName + "_" + timestamp + "_" + sequence.incrementAndGet() + ".zip");
+        try {
+            write(file, summary.toString(), parts);
+        } catch (IOException e) {
+            logger.error("Failed to write failure bundle {}", file, e);
+            file = null;
+        }
+        if (!missing.isEmpty()) {
+            logger.warn("Failure bundle for {} is missing {}", testName, missing);
+        }
+        logger.info("Failure bundle for {} captured in {} ms: {}", testName, elapsedMillis, file);
+        return new Bundle(file, parts.get("screenshot.png"), List.copyOf(missing));
+    }
+
+    private static ExecutorService newCapturePool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(PARTS, PARTS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "failure-capture");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static CompletableFuture<byte[]> async(ExecutorService pool, Callable<byte[]> part) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return part.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }, pool);
+    }
+
+    private static String network(WebDriver driver, int entries) {
+        Object result = ((JavascriptExecutor) driver).executeScript(NETWORK_SCRIPT, entries);
+        StringBuilder tsv = new StringBuilder("start_ms\tduration_ms\tttfb_ms\tbytes\ttype\turl\n");
+        if (result instanceof List<?> rows) {
+            for (Object row : rows) {
+                List<?> cells = (List<?>) row;
+                tsv.append(millis(cells.get(0))).append('\t')
+                        .append(millis(cells.get(1))).append('\t')
+                        .append(millis(cells.get(2))).append('\t')
+                        .append(((Number) cells.get(3)).longValue()).append('\t')
+                        .append(cells.get(4)).append('\t')
+                        .append(cells.get(5)).append('\n');
+            }
+        }
+        return tsv.toString();
+    }
+
+    private static void write(Path file, String summary, Map<String, byte[]> parts) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("summary.txt"));
+            zip.write(utf8(summary));
+            zip.closeEntry();
+            for (Map.Entry<String, byte[]> part : parts.entrySet()) {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue());
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static long millis(Object value) {
+        return Math.round(((Number) value).doubleValue());
+    }
+
+    private static byte[] utf8(String text) {
+        return String.valueOf(text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String firstLine(Throwable t) {
+        if (t == null) {
+            return "-";
+        }
+        String text = t.getMessage() == null ? t.toString() : t.getMessage();
+        return text.split("\n")[0];
+    }
+
+    private static String stackTrace(Throwable t) {
+        if (t == null) {
+            return "";
+        }
+        StringWriter out = new StringWriter();
+        t.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    /**
+     * The last N console entries and JavaScript errors of one session, fed by a BiDi subscription.
+     */
+    private static final class ConsoleLog {
+        private final LogInspector inspector;
+        private final int capacity;
+        private final ArrayDeque<BaseLogEntry> entries = new ArrayDeque<>();
+
+        ConsoleLog(WebDriver driver, int capacity) {
+            this.capacity = capacity;
+            this.inspector = new LogInspector(driver);
+            inspector.onConsoleEntry(this::add);
+            inspector.onJavaScriptException(this::add);
+        }
+
+        private synchronized void add(BaseLogEntry entry) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+
+        synchronized String since(long sinceMillis) {
+            StringBuilder text = new StringBuilder();
+            for (BaseLogEntry entry : entries) {
+                if (entry.getTimestamp() >= sinceMillis) {
+                    text.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                            .append(entry.getLevel()).append(' ')
+                            .append(entry.getText()).append('\n');
+                }
+            }
+            return text.length() == 0 ? "No console messages or JavaScript errors.\n" : text.toString();
+        }
+
+        void close() {
+            try {
+                inspector.close();
+            } catch (WebDriverException e) {
+                logger.debug("Closing BiDi log subscription failed: {}", e.getMessage());
+            }
+        }
+    }
+}
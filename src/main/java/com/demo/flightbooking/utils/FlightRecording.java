@@ -0,0 +1,81 @@
+package com.demo.flightbooking.utils;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A JDK Flight Recorder recording spanning the suite, started by {@code BaseTest} when
+ * {@code jfr.recording.enabled=true} and dumped next to the report at the end.
+ * <p>
+ * It uses the JDK's {@code jfr.recording.settings} configuration ({@code profile} by default) plus the framework's
+ * own {@link DriverCommandEvent}, {@link DriverSessionEvent} and {@link WaitEvent}, so a slow test can be read in
+ * JDK Mission Control as WebDriver commands next to GC, thread and socket activity. Without this option the
+ * recording can still be taken from outside, e.g. {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}.
+ */
+public final class FlightRecording {
+
+    private static final Logger logger = LogManager.getLogger(FlightRecording.class);
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("jfr.recording.enabled"));
+    }
+
+    /**
+     * Starts the suite recording if {@code jfr.recording.enabled} is set. Idempotent.
+     */
+    public static synchronized void start() {
+        if (recording != null || !isEnabled()) {
+            return;
+        }
+        String settings = ConfigReader.getProperty("jfr.recording.settings");
+        String name = settings == null || settings.isBlank() ? "profile" : settings.trim();
+        try {
+            Recording suiteRecording = new Recording(Configuration.getConfiguration(name));
+            suiteRecording.setName("flight-booking-suite");
+            suiteRecording.enable(DriverCommandEvent.class);
+            suiteRecording.enable(DriverSessionEvent.class);
+            suiteRecording.enable(WaitEvent.class);
+            suiteRecording.setToDisk(true);
+            suiteRecording.start();
+            recording = suiteRecording;
+            logger.info("Flight recording started with '{}' settings", name);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            logger.warn("Flight recording not started: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the suite recording and writes it to {@code file}.
+     *
+     * @return The file written, or null if no recording was running.
+     */
+    public static synchronized Path stop(Path file) {
+        if (recording == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            recording.stop();
+            recording.dump(file);
+            logger.info("Flight recording written to {} ({} KB)", file, Files.size(file) / 1024);
+            return file;
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Failed to write flight recording to {}", file, e);
+            return null;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
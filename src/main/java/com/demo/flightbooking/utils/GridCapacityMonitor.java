@@ -0,0 +1,251 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.BrowserType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Watches the Selenium Grid hub's {@code /status} endpoint and throttles session creation
+ * to the number of free slots per browser.
+ * <p>
+ * Threads that would otherwise sit inside {@code new RemoteWebDriver(...)} waiting in the hub's
+ * queue wait here instead, and are released as soon as the hub reports capacity (for example
+ * after nodes are scaled up or another job finishes).
+ */
+public class GridCapacityMonitor {
+
+    private static final Logger logger = LogManager.getLogger(GridCapacityMonitor.class);
+    private static final Json JSON = new Json();
+
+    private static GridCapacityMonitor shared;
+
+    private final URI statusUri;
+    private final HttpClient httpClient;
+    private final Map<BrowserType, SlotLimiter> limiters = new ConcurrentHashMap<>();
+    private volatile Map<BrowserType, Capacity> latest = Map.of();
+    private ScheduledExecutorService poller;
+
+    /**
+     * Slot counts reported by the hub for one browser.
+     */
+    public record Capacity(int total, int free) {
+    }
+
+    public GridCapacityMonitor(URI statusUri) {
+        this.statusUri = statusUri;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * @return true when tests run on the Grid and adaptive throttling is switched on in config.
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("selenium.grid.enabled"))
+                && Boolean.parseBoolean(ConfigReader.getProperty("grid.adaptive.enabled"));
+    }
+
+    /**
+     * Returns the monitor for the configured hub, creating it on first use.
+     */
+    public static synchronized GridCapacityMonitor shared() {
+        if (shared == null) {
+            String statusUrl = String.format(ConfigReader.getProperty("seleniumhub.statusUrlFormat"),
+                    ConfigReader.getProperty("selenium.hubHost"));
+            shared = new GridCapacityMonitor(URI.create(statusUrl));
+        }
+        return shared;
+    }
+
+    /**
+     * Fetches {@code /status} once and updates the slot limits.
+     *
+     * @return The capacity per browser, or the last known capacity if the hub could not be reached.
+     */
+    public Map<BrowserType, Capacity> poll() {
+        HttpRequest request = HttpRequest.newBuilder(statusUri).timeout(Duration.ofSeconds(5)).GET().build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.warn("Grid status returned HTTP {}. Keeping last known capacity.", response.statusCode());
+                return latest;
+            }
+            Map<BrowserType, Capacity> capacity = parseStatus(response.body());
+            capacity.forEach((browserType, slots) -> limiterFor(browserType).update(slots.free()));
+            if (!capacity.equals(latest)) {
+                logger.info("Grid capacity changed: {}", capacity);
+            }
+            latest = capacity;
+        } catch (IOException e) {
+            logger.warn("Could not read Grid status from {}: {}", statusUri, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return latest;
+    }
+
+    /**
+     * Starts polling the hub in the background. Calling it again while running has no effect.
+     */
+    public synchronized void start(Duration interval) {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-capacity-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Polling Grid status at {} every {} s", statusUri, interval.toSeconds());
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    public Map<BrowserType, Capacity> getLatest() {
+        return latest;
+    }
+
+    /**
+     * Blocks until the hub has a free slot for the browser, then claims it for this process.
+     * Every successful call must be paired with {@link #releaseSlot}.
+     *
+     * @throws RuntimeException if no slot frees up within the timeout.
+     */
+    public void acquireSlot(BrowserType browserType, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            if (!limiterFor(browserType).acquire(timeout.toNanos())) {
+                throw new RuntimeException("No free " + browserType + " slot on the Grid after " + timeout.toSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a " + browserType + " Grid slot", e);
+        }
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        if (waitedMillis > 0) {
+            logger.info("Waited {} ms for a free {} Grid slot", waitedMillis, browserType);
+        }
+    }
+
+    public void releaseSlot(BrowserType browserType) {
+        limiterFor(browserType).release();
+    }
+
+    /**
+     * Counts total and free slots per browser from a Grid 4 {@code /status} response.
+     * Slots on nodes that are not {@code UP} count towards neither.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<BrowserType, Capacity> parseStatus(String body) {
+        Map<String, Object> root = JSON.toType(body, Map.class);
+        Map<String, Object> value = (Map<String, Object>) root.getOrDefault("value", Map.of());
+        Collection<Map<String, Object>> nodes = (Collection<Map<String, Object>>) value.getOrDefault("nodes", List.of());
+
+        Map<BrowserType, int[]> counts = new EnumMap<>(BrowserType.class);
+        for (Map<String, Object> node : nodes) {
+            if (!"UP".equalsIgnoreCase(String.valueOf(node.get("availability")))) {
+                continue;
+            }
+            for (Map<String, Object> slot : (Collection<Map<String, Object>>) node.getOrDefault("slots", List.of())) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.getOrDefault("stereotype", Map.of());
+                BrowserType browserType = toBrowserType(String.valueOf(stereotype.get("browserName")));
+                if (browserType == null) {
+                    continue;
+                }
+                int[] totalAndFree = counts.computeIfAbsent(browserType, type -> new int[2]);
+                totalAndFree[0]++;
+                if (slot.get("session") == null) {
+                    totalAndFree[1]++;
+                }
+            }
+        }
+
+        Map<BrowserType, Capacity> capacity = new EnumMap<>(BrowserType.class);
+        counts.forEach((browserType, c) -> capacity.put(browserType, new Capacity(c[0], c[1])));
+        return capacity;
+    }
+
+    private static BrowserType toBrowserType(String browserName) {
+        return switch (browserName.toLowerCase()) {
+            case "chrome", "chromium" -> BrowserType.CHROME;
+            case "firefox" -> BrowserType.FIREFOX;
+            case "microsoftedge", "msedge" -> BrowserType.EDGE;
+            default -> null;
+        };
+    }
+
+    private SlotLimiter limiterFor(BrowserType browserType) {
+        return limiters.computeIfAbsent(browserType, type -> new SlotLimiter());
+    }
+
+    /**
+     * A semaphore whose size follows the hub: the limit is what this process already holds
+     * plus whatever the hub currently reports as free. Until the first poll it does not limit.
+     */
+    private static final class SlotLimiter {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private int limit = Integer.MAX_VALUE;
+        private int inUse;
+
+        boolean acquire(long timeoutNanos) throws InterruptedException {
+            lock.lock();
+            try {
+                long remaining = timeoutNanos;
+                while (inUse >= limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = changed.awaitNanos(remaining);
+                }
+                inUse++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() {
+            lock.lock();
+            try {
+                inUse = Math.max(0, inUse - 1);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void update(int free) {
+            lock.lock();
+            try {
+                limit = inUse + free;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Emits a {@link DriverCommandEvent} for every call made through a decorated session: navigation, finds,
+ * element actions, scripts, window and timeout settings.
+ * <p>
+ * One listener belongs to one session. Elements remember the locator they were found with, so a
+ * {@code WebElement.click} event carries the same locator as the {@code findElement} before it.
+ * When the flight recorder is not recording these events the cost is one small allocation per command.
+ */
+public class JfrCommandListener implements WebDriverListener {
+
+    private final String sessionId;
+    private final String browser;
+    // Calls can nest (a listener or script callback using the driver), so each thread keeps a stack of open events.
+    private final ThreadLocal<ArrayDeque<DriverCommandEvent>> open = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<Object, String> locators = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public JfrCommandListener(WebDriver driver) {
+        this.sessionId = sessionId(driver);
+        this.browser = browserName(driver);
+    }
+
+    /**
+     * Command events are on unless {@code jfr.events.enabled=false}.
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(String.valueOf(ConfigReader.getProperty("jfr.events.enabled")).trim());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        DriverCommandEvent event = new DriverCommandEvent();
+        open.get().push(event);
+        event.begin();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        finish(target, method, args, cause.getClass().getSimpleName());
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        locators.put(original(result), locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        result.forEach(found -> locators.put(original(found), locator.toString()));
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        locators.put(original(result), locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        result.forEach(found -> locators.put(original(found), locator.toString()));
+    }
+
+    private void finish(Object target, Method method, Object[] args, String error) {
+        DriverCommandEvent event = open.get().poll();
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        event.locator = locatorOf(target, args);
+        event.sessionId = sessionId;
+        event.browser = browser;
+        event.testName = ThreadContext.get(TestLogs.TEST_ID);
+        event.error = error;
+        event.commit();
+    }
+
+    private String locatorOf(Object target, Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof By by) {
+                    return by.toString();
+                }
+            }
+        }
+        return target instanceof WebElement element ? locators.get(element) : null;
+    }
+
+    // Found elements arrive already decorated; later calls on them report the undecorated element as the target.
+    private static Object original(WebElement element) {
+        return element instanceof Decorated<?> decorated ? decorated.getOriginal() : element;
+    }
+
+    /**
+     * The session id of a local or remote session; null if there is none.
+     */
+    static String sessionId(WebDriver driver) {
+        SessionId id = unwrap(driver) instanceof RemoteWebDriver remote ? remote.getSessionId() : null;
+        return id == null ? null : id.toString();
+    }
+
+    /**
+     * The browser name the session reports, e.g. {@code chrome} or {@code MicrosoftEdge}.
+     */
+    static String browserName(WebDriver driver) {
+        Capabilities capabilities = unwrap(driver) instanceof HasCapabilities session ? session.getCapabilities() : null;
+        return capabilities == null ? null : capabilities.getBrowserName();
+    }
+
+    // Reads through decorators so these lookups are not themselves reported as commands.
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver wrapper && wrapper.getWrappedDriver() != current) {
+            current = wrapper.getWrappedDriver();
+        }
+        return current;
+    }
+}
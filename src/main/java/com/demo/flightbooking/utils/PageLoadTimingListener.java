@@ -0,0 +1,104 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.BrowserProfile;
+import com.demo.flightbooking.enums.BrowserType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Logs the browser's own Navigation Timing for every page the session lands on,
+ * whether it got there through {@code driver.get} or by clicking a submit button.
+ * <p>
+ * One listener belongs to one session. It reads the timings through the undecorated driver so that
+ * its own script call is not reported back to it. {@code click()} returns before a submitted form's next page
+ * has loaded, so after a click or submit the timing is read before each of the following commands (at most
+ * {@value #MAX_PENDING_CHECKS}) until a new document with DOMContentLoaded done shows up.
+ */
+public class PageLoadTimingListener implements WebDriverListener {
+
+    private static final Logger logger = LogManager.getLogger(PageLoadTimingListener.class);
+
+    // [timeOrigin, url, responseEnd, domContentLoadedEventEnd, loadEventEnd] for the current document.
+    private static final String TIMING_SCRIPT =
+            "var n = performance.getEntriesByType('navigation')[0];"
+            + "if (!n) { return null; }"
+            + "return [performance.timeOrigin, location.href, n.responseEnd, n.domContentLoadedEventEnd, n.loadEventEnd];";
+
+    private static final int MAX_PENDING_CHECKS = 20;
+
+    private final JavascriptExecutor js;
+    private final BrowserType browserType;
+    private final BrowserProfile profile;
+    private double lastTimeOrigin;
+    private int pendingChecks; // commands left in which to look for the page a click or submit led to
+
+    public PageLoadTimingListener(WebDriver driver, BrowserType browserType, BrowserProfile profile) {
+        this.js = (JavascriptExecutor) driver;
+        this.browserType = browserType;
+        this.profile = profile;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (pendingChecks > 0) {
+            pendingChecks--;
+            if (logNavigationTiming(true)) {
+                pendingChecks = 0;
+            }
+        }
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        pendingChecks = 0;
+        logNavigationTiming(false); // get() returns once the page has loaded
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        pendingChecks = MAX_PENDING_CHECKS;
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        pendingChecks = MAX_PENDING_CHECKS;
+    }
+
+    // True if a document not logged before was logged.
+    private boolean logNavigationTiming(boolean requireDomContentLoaded) {
+        try {
+            Object result = js.executeScript(TIMING_SCRIPT);
+            if (!(result instanceof List<?> timing) || timing.size() < 5) {
+                return false;
+            }
+            double timeOrigin = ((Number) timing.get(0)).doubleValue();
+            if (timeOrigin == lastTimeOrigin) {
+                return false; // Same document as last time: no navigation (yet).
+            }
+            if (requireDomContentLoaded && ((Number) timing.get(3)).doubleValue() <= 0) {
+                return false; // The next page is still loading; look again before the next command.
+            }
+            lastTimeOrigin = timeOrigin;
+            logger.info("Page load [{} / {}] {}: response {} ms, DOMContentLoaded {} ms, load {} ms",
+                    browserType, profile, timing.get(1), millis(timing.get(2)), millis(timing.get(3)), millis(timing.get(4)));
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Navigation timing unavailable: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // loadEventEnd is still 0 when an EAGER page load returns before the load event.
+    private static String millis(Object value) {
+        long ms = Math.round(((Number) value).doubleValue());
+        return ms > 0 ? String.valueOf(ms) : "-";
+    }
+}
@@ -0,0 +1,273 @@
+package com.demo.flightbooking.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Moves ExtentReports work off the test threads.
+ * <p>
+ * Test threads publish report events (create a test, log a step, record a failure) to a lock-free queue and
+ * carry on; one background thread applies them to {@link ExtentReports} in publish order, so a test's own
+ * events stay in sequence and Extent is only ever touched by one thread. {@link #flush()} waits until every
+ * event published before it has been applied.
+ * <p>
+ * When more than {@code report.queue.capacity} events are waiting, INFO steps are dropped (and counted)
+ * rather than letting the backlog grow; status events (pass, fail, skip, screenshots) are never dropped.
+ * With {@code report.async=false} events are applied on the calling thread, as before.
+ * <p>
+ * Every {@code report.flush.intervalSeconds} the consumer also flushes Extent to disk, and a shutdown hook
+ * flushes whatever is queued if the JVM is stopped before the suite ends (e.g. a Jenkins abort), so a long
+ * or interrupted run still leaves a current report behind.
+ */
+public final class ReportQueue {
+
+    private static final Logger logger = LogManager.getLogger(ReportQueue.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private record Event(Runnable action, long publishedNanos) {
+    }
+
+    private final ExtentReports reports;
+    private final boolean async;
+    private final int capacity;
+    private final long flushIntervalNanos;
+    private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    // Only touched by the consumer (or under 'this' when not async).
+    private final List<String> failureSummaries = new ArrayList<>();
+    private final Thread consumer;
+    private volatile boolean sleeping;
+    private volatile boolean stopped;
+    private final Thread shutdownHook = new Thread(this::flushOnShutdown, "report-flush-on-exit");
+    private long lastFlushNanos = System.nanoTime();
+    private boolean unflushed;
+
+    public ReportQueue(ExtentReports reports, boolean async, int capacity) {
+        this(reports, async, capacity, 0);
+    }
+
+    /**
+     * @param flushIntervalSeconds How often the consumer flushes Extent to disk during the run (0 = only on {@link #flush()}).
+     */
+    public ReportQueue(ExtentReports reports, boolean async, int capacity, int flushIntervalSeconds) {
+        this.reports = reports;
+        this.async = async;
+        this.capacity = capacity;
+        this.flushIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, flushIntervalSeconds));
+        if (async) {
+            consumer = new Thread(this::consume, "report-writer");
+            consumer.setDaemon(true);
+            consumer.start();
+        } else {
+            consumer = null;
+        }
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * A queue configured by {@code report.async} (default true), {@code report.queue.capacity} (default 10000)
+     * and {@code report.flush.intervalSeconds} (default 0, off).
+     */
+    public static ReportQueue fromConfig(ExtentReports reports) {
+        boolean async = !"false".equalsIgnoreCase(String.valueOf(ConfigReader.getProperty("report.async")).trim());
+        int capacity = ConfigReader.getPropertyAsInt("report.queue.capacity");
+        return new ReportQueue(reports, async, capacity > 0 ? capacity : 10_000,
+                ConfigReader.getPropertyAsInt("report.flush.intervalSeconds"));
+    }
+
+    /**
+     * Returns a handle for a new report node; the node itself is created by the consumer.
+     */
+    public ReportTest createTest(String name) {
+        ReportTest test = new ReportTest(this);
+        publish(false, () -> test.bind(reports.createTest(name)));
+        return test;
+    }
+
+    public void systemInfo(String key, String value) {
+        publish(false, () -> reports.setSystemInfo(key, value));
+    }
+
+    /**
+     * Runs {@code action} on the report thread, in order with the report events (e.g. writing a results file).
+     */
+    public void execute(Runnable action) {
+        publish(false, action);
+    }
+
+    /**
+     * Adds a line to the failure summary returned by {@link #flush()}.
+     */
+    public void addFailure(String summary) {
+        publish(false, () -> failureSummaries.add(summary));
+    }
+
+    /**
+     * Applies everything published so far, flushes Extent to disk and returns the failure summary lines.
+     */
+    public List<String> flush() {
+        flush(TimeUnit.MINUTES.toMillis(5));
+        // The latch orders the consumer's writes before this read.
+        synchronized (this) {
+            return List.copyOf(failureSummaries);
+        }
+    }
+
+    /**
+     * Flushes and stops the consumer thread.
+     */
+    public List<String> close() {
+        List<String> failures = flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down; the hook is running or has run
+        }
+        stopped = true;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return failures;
+    }
+
+    /** Events waiting to be applied. */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getMaxLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get());
+    }
+
+    /**
+     * One-line metrics: events published/dropped, peak queue depth and publish-to-apply lag.
+     */
+    public String stats() {
+        long count = applied.sum();
+        double avgLagMillis = count == 0 ? 0 : totalLagNanos.sum() / 1_000_000.0 / count;
+        return String.format("%s, %d published, %d dropped, peak depth %d, lag avg %.2f ms / max %d ms",
+                async ? "async" : "sync", published.sum(), dropped.sum(), maxDepth.get(), avgLagMillis, getMaxLagMillis());
+    }
+
+    void publish(boolean droppable, Runnable action) {
+        published.increment();
+        if (!async) {
+            synchronized (this) {
+                unflushed = true;
+                apply(action);
+                flushIfDue();
+            }
+            applied.increment();
+            return;
+        }
+        int waiting = depth.incrementAndGet();
+        if (droppable && waiting > capacity) {
+            depth.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        maxDepth.accumulateAndGet(waiting, Math::max);
+        queue.offer(new Event(action, System.nanoTime()));
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            Event event = queue.poll();
+            if (event == null) {
+                if (stopped) {
+                    return;
+                }
+                sleeping = true;
+                if (queue.isEmpty()) { // re-check after announcing, so a publish in between is not missed
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+                synchronized (this) {
+                    flushIfDue();
+                }
+                continue;
+            }
+            depth.decrementAndGet();
+            long lag = System.nanoTime() - event.publishedNanos();
+            totalLagNanos.add(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            synchronized (this) { // uncontended; publishes the consumer's writes to flush()
+                unflushed = true;
+                apply(event.action());
+                flushIfDue();
+            }
+            applied.increment();
+        }
+    }
+
+    // Called under 'this': periodic flush so a long run keeps an up-to-date report on disk.
+    private void flushIfDue() {
+        if (flushIntervalNanos > 0 && unflushed && System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            apply(reports::flush);
+            lastFlushNanos = System.nanoTime();
+            unflushed = false;
+        }
+    }
+
+    private boolean flush(long timeoutMillis) {
+        CountDownLatch done = new CountDownLatch(1);
+        publish(false, () -> {
+            try {
+                reports.flush();
+                lastFlushNanos = System.nanoTime();
+                unflushed = false;
+            } finally {
+                done.countDown();
+            }
+        });
+        try {
+            if (!done.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.error("Report queue did not drain within {} ms ({} event(s) waiting)", timeoutMillis, depth.get());
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void flushOnShutdown() {
+        if (!stopped && flush(TimeUnit.SECONDS.toMillis(10))) {
+            logger.warn("JVM stopping before the suite finished; report flushed with {} event(s) applied", applied.sum());
+        }
+    }
+
+    private static void apply(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.warn("Report event failed: {}", e.toString());
+        }
+    }
+}
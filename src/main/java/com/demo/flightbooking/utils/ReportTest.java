@@ -0,0 +1,69 @@
+package com.demo.flightbooking.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+
+/**
+ * A test's node in the Extent report, written through a {@link ReportQueue}.
+ * <p>
+ * Methods mirror the {@link ExtentTest} calls the suite uses and return immediately; the consumer thread
+ * applies them in order. INFO steps may be dropped when the queue is backed up, status changes never are.
+ */
+public final class ReportTest {
+
+    private final ReportQueue queue;
+    // Set and read only by the queue's consumer, which creates the node before applying any of its events.
+    private ExtentTest target;
+
+    ReportTest(ReportQueue queue) {
+        this.queue = queue;
+    }
+
+    void bind(ExtentTest target) {
+        this.target = target;
+    }
+
+    public ReportTest info(String details) {
+        queue.publish(true, () -> target.info(details));
+        return this;
+    }
+
+    public ReportTest pass(String details) {
+        queue.publish(false, () -> target.pass(details));
+        return this;
+    }
+
+    public ReportTest fail(String details) {
+        queue.publish(false, () -> target.fail(details));
+        return this;
+    }
+
+    public ReportTest fail(Throwable t) {
+        queue.publish(false, () -> target.fail(t));
+        return this;
+    }
+
+    public ReportTest log(Status status, String details) {
+        queue.publish(status == Status.INFO, () -> target.log(status, details));
+        return this;
+    }
+
+    public ReportTest log(Status status, Throwable t) {
+        queue.publish(false, () -> target.log(status, t));
+        return this;
+    }
+
+    /**
+     * Adds a table; the first row is the header.
+     */
+    public ReportTest table(String[][] cells) {
+        queue.publish(false, () -> target.info(MarkupHelper.createTable(cells)));
+        return this;
+    }
+
+    public ReportTest addScreenCaptureFromPath(String path) {
+        queue.publish(false, () -> target.addScreenCaptureFromPath(path));
+        return this;
+    }
+}
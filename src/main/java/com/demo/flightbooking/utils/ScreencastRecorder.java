@@ -0,0 +1,313 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Keeps the last {@code screencast.seconds} of a Chromium session's screen in memory and writes it out only when
+ * a test fails.
+ * <p>
+ * Frames come from the CDP screencast (JPEG, scaled by the browser to {@code screencast.maxWidth}) and are held
+ * in a ring buffer capped at {@code screencast.maxMemoryMB}; the oldest frames are dropped first. A passing test
+ * just clears the buffer. On failure the buffer is written as an animated GIF, the only animated format the JDK
+ * can encode. Encoding stops at {@code screencast.encodeTimeoutSeconds}; the last frame (the failure itself) is
+ * always written.
+ * <p>
+ * CDP commands are sent by name, so the recorder does not depend on one Chrome version's generated classes.
+ * Firefox has no screencast and is skipped.
+ */
+public final class ScreencastRecorder {
+
+    private static final Logger logger = LogManager.getLogger(ScreencastRecorder.class);
+    private static final String SCREENCAST_DIR = "reports/screencasts/";
+    private static final Event<Map<String, Object>> SCREENCAST_FRAME =
+            new Event<>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE));
+
+    private static final Map<WebDriver, ScreencastRecorder> sessions = new ConcurrentHashMap<>();
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final AtomicInteger saved = new AtomicInteger();
+    private static final AtomicLong totalEncodeMillis = new AtomicLong();
+    private static final LongAccumulator maxEncodeMillis = new LongAccumulator(Math::max, 0);
+    private static final LongAccumulator peakBufferBytes = new LongAccumulator(Math::max, 0);
+
+    private record Frame(byte[] jpeg, long timestampMillis) {
+    }
+
+    /**
+     * The outcome of writing a buffer.
+     *
+     * @param file         The GIF, or null if there was nothing to write.
+     * @param frames       Frames written.
+     * @param buffered     Frames that were in the buffer.
+     * @param encodeMillis Time spent encoding and writing.
+     */
+    public record Recording(Path file, int frames, int buffered, long encodeMillis) {
+    }
+
+    private final long windowMillis;
+    private final long maxBytes;
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private long bufferedBytes;
+    private DevTools devTools;
+
+    /**
+     * @param seconds  How much history to keep.
+     * @param maxBytes Upper bound on the JPEG bytes held.
+     */
+    public ScreencastRecorder(int seconds, long maxBytes) {
+        this.windowMillis = TimeUnit.SECONDS.toMillis(seconds);
+        this.maxBytes = maxBytes;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("screencast.enabled"));
+    }
+
+    /**
+     * Starts a screencast for a new session. Does nothing when disabled or for browsers without CDP.
+     */
+    public static void start(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            // Grid sessions are plain RemoteWebDrivers; augmenting adds the DevTools connection.
+            WebDriver cdpDriver = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+            if (!(cdpDriver instanceof HasDevTools hasDevTools) || hasDevTools.maybeGetDevTools().isEmpty()) {
+                logger.debug("Session has no DevTools connection; screencast skipped");
+                return;
+            }
+            ScreencastRecorder recorder = fromConfig();
+            recorder.attach(hasDevTools.getDevTools());
+            sessions.put(driver, recorder);
+        } catch (RuntimeException e) {
+            logger.warn("Screencast unavailable for this session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The recorder for a session, or null if it is not being recorded.
+     */
+    public static ScreencastRecorder forSession(WebDriver driver) {
+        return sessions.get(driver);
+    }
+
+    /**
+     * Stops the screencast for a session. Call when the session is quit.
+     */
+    public static void stop(WebDriver driver) {
+        ScreencastRecorder recorder = sessions.remove(driver);
+        if (recorder != null) {
+            recorder.detach();
+        }
+    }
+
+    /**
+     * One-line summary: recordings saved, peak buffer size and encode times.
+     */
+    public static String stats() {
+        int count = saved.get();
+        return String.format("%d saved, peak buffer %.1f MB, encode avg %d ms / max %d ms", count,
+                peakBufferBytes.get() / 1e6, count == 0 ? 0 : totalEncodeMillis.get() / count, maxEncodeMillis.get());
+    }
+
+    private static ScreencastRecorder fromConfig() {
+        int seconds = ConfigReader.getPropertyAsInt("screencast.seconds");
+        int maxMegabytes = ConfigReader.getPropertyAsInt("screencast.maxMemoryMB");
+        return new ScreencastRecorder(seconds > 0 ? seconds : 30, (maxMegabytes > 0 ? maxMegabytes : 20) * 1_000_000L);
+    }
+
+    private void attach(DevTools devTools) {
+        int maxWidth = ConfigReader.getPropertyAsInt("screencast.maxWidth");
+        int quality = ConfigReader.getPropertyAsInt("screencast.quality");
+        this.devTools = devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(SCREENCAST_FRAME, frame -> {
+            Object metadata = frame.get("metadata");
+            Object timestamp = metadata instanceof Map<?, ?> m ? m.get("timestamp") : null;
+            addFrame(Base64.getDecoder().decode((String) frame.get("data")),
+                    timestamp instanceof Number seconds ? Math.round(seconds.doubleValue() * 1000) : System.currentTimeMillis());
+            // The browser sends the next frame only after this one is acknowledged.
+            devTools.send(new Command<Void>("Page.screencastFrameAck", Map.of("sessionId", frame.get("sessionId")))
+                    .doesNotSendResponse());
+        });
+        devTools.send(new Command<Void>("Page.startScreencast", Map.of(
+                "format", "jpeg",
+                "quality", quality > 0 ? quality : 50,
+                "maxWidth", maxWidth > 0 ? maxWidth : 800,
+                "maxHeight", maxWidth > 0 ? maxWidth : 800)));
+    }
+
+    private void detach() {
+        try {
+            devTools.send(new Command<Void>("Page.stopScreencast", Map.of()));
+        } catch (RuntimeException e) {
+            logger.debug("Stopping screencast failed: {}", e.getMessage());
+        }
+        clear();
+    }
+
+    /**
+     * Adds a frame and drops the ones that fall outside the time window or the memory cap.
+     */
+    public synchronized void addFrame(byte[] jpeg, long timestampMillis) {
+        frames.addLast(new Frame(jpeg, timestampMillis));
+        bufferedBytes += jpeg.length;
+        while (frames.size() > 1
+                && (bufferedBytes > maxBytes || timestampMillis - frames.peekFirst().timestampMillis() > windowMillis)) {
+            bufferedBytes -= frames.removeFirst().jpeg().length;
+        }
+        peakBufferBytes.accumulate(bufferedBytes);
+    }
+
+    /** Discards the buffer, e.g. after a passing test. */
+    public synchronized void clear() {
+        frames.clear();
+        bufferedBytes = 0;
+    }
+
+    public synchronized int getFrameCount() {
+        return frames.size();
+    }
+
+    public synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Writes the buffer to {@code reports/screencasts/<test>_<time>.gif} within the configured encode budget and
+     * clears it.
+     */
+    public Recording save(String testName) {
+        int timeoutSeconds = ConfigReader.getPropertyAsInt("screencast.encodeTimeoutSeconds");
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        Path file = Path.of(SCREENCAST_DIR, testName + "_" + timestamp + "_" + sequence.incrementAndGet() + ".gif");
+        return writeGif(file, Duration.ofSeconds(timeoutSeconds > 0 ? timeoutSeconds : 15));
+    }
+
+    /**
+     * Writes the buffer as an animated GIF and clears it. Frames left when {@code budget} runs out are skipped,
+     * except the last one.
+     */
+    public Recording writeGif(Path file, Duration budget) {
+        List<Frame> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(frames);
+            clear();
+        }
+        if (snapshot.isEmpty()) {
+            return new Recording(null, 0, 0, 0);
+        }
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        int written = 0;
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream stream = Files.newOutputStream(file);
+                 ImageOutputStream out = ImageIO.createImageOutputStream(stream)) {
+                writer.setOutput(out);
+                writer.prepareWriteSequence(null);
+                for (int i = 0; i < snapshot.size(); i++) {
+                    boolean last = i == snapshot.size() - 1;
+                    if (!last && System.nanoTime() > deadline) {
+                        i = snapshot.size() - 2; // out of time: jump to the final frame
+                        continue;
+                    }
+                    BufferedImage image = ImageIO.read(new ByteArrayInputStream(snapshot.get(i).jpeg()));
+                    if (image == null) {
+                        continue;
+                    }
+                    long delayMillis = last ? 2_000 : snapshot.get(i + 1).timestampMillis() - snapshot.get(i).timestampMillis();
+                    writer.writeToSequence(new IIOImage(image, null, frameMetadata(writer, image, delayMillis, written == 0)), null);
+                    written++;
+                }
+                writer.endWriteSequence();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write screencast {}", file, e);
+            return new Recording(null, 0, snapshot.size(), 0);
+        } finally {
+            writer.dispose();
+        }
+        long encodeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        saved.incrementAndGet();
+        totalEncodeMillis.addAndGet(encodeMillis);
+        maxEncodeMillis.accumulate(encodeMillis);
+        if (written < snapshot.size()) {
+            logger.warn("Screencast {} truncated to {} of {} frames after {} ms", file, written, snapshot.size(), encodeMillis);
+        }
+        return new Recording(file, written, snapshot.size(), encodeMillis);
+    }
+
+    // Per-frame delay, plus the NETSCAPE loop extension on the first frame so viewers replay it.
+    private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, long delayMillis, boolean first)
+            throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("transparentColorIndex", "0");
+        // GIF delays are in hundredths of a second; most viewers treat anything under 2 as "as fast as possible".
+        control.setAttribute("delayTime", String.valueOf(Math.max(2, Math.min(65_535, delayMillis / 10))));
+
+        if (first) {
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[]{1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+}
@@ -1,39 +1,236 @@
 package com.demo.flightbooking.utils;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.File;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Saves screenshots for the report without holding up the test.
+ * <p>
+ * The caller only waits for the browser to return the PNG bytes. Downscaling to {@code screenshot.maxWidth},
+ * re-encoding ({@code screenshot.format}, JPEG by default) and the NIO write run on a small background pool,
+ * and the relative path is returned straight away. Identical frames (same PNG bytes, e.g. the same error page
+ * on several data rows) are written once and share a path. File names carry milliseconds and a sequence
+ * number, so parallel tests never collide. Call {@link #awaitPending} before the report is published.
+ */
 public class ScreenshotUtils {
 
+    private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
     private static final String SCREENSHOT_DIR = "reports/screenshots/";
+    private static final int MAX_WIDTH = positive(ConfigReader.getPropertyAsInt("screenshot.maxWidth"), 1280);
+    private static final String FORMAT = format(ConfigReader.getProperty("screenshot.format"));
+    private static final float QUALITY = quality(ConfigReader.getProperty("screenshot.quality"));
 
+    private static final ExecutorService encoders = Executors.newFixedThreadPool(
+            positive(ConfigReader.getPropertyAsInt("screenshot.encoderThreads"), 2), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-encoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** A distinct frame: the file it is written to and the write in progress. */
+    private record Frame(String fileName, CompletableFuture<Path> write) {
+    }
+
+    // PNG hash -> the frame's file, so duplicates reuse it.
+    private static final Map<String, Frame> frames = new ConcurrentHashMap<>();
+    private static final List<CompletableFuture<Path>> pending = new ArrayList<>();
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final AtomicInteger deduped = new AtomicInteger();
+    private static final AtomicLong bytesIn = new AtomicLong();
+    private static final AtomicLong bytesOut = new AtomicLong();
+
+    /**
+     * Captures the browser's screen and queues it for saving.
+     *
+     * @return The path relative to the reports folder, e.g. {@code screenshots/testBooking_20250101_120000_123_7.jpg}.
+     */
     public static String captureScreenshot(WebDriver driver, String testName) {
-        // Create folder if it doesn’t exist
-        File dir = new File(SCREENSHOT_DIR);
-        if (!dir.exists()) {
-            dir.mkdirs();
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return save(png, testName);
+    }
+
+    /**
+     * Queues PNG bytes for downscaling, encoding and writing, and returns the path they will be written to.
+     */
+    public static String save(byte[] png, String testName) {
+        bytesIn.addAndGet(png.length);
+        boolean[] isNew = new boolean[1];
+        Frame frame = frames.computeIfAbsent(sha256(png), hash -> {
+            isNew[0] = true;
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+            String fileName = testName + "_" + timestamp + "_" + sequence.incrementAndGet() + "." + FORMAT;
+            Path target = Path.of(SCREENSHOT_DIR, fileName);
+            CompletableFuture<Path> write = CompletableFuture.supplyAsync(() -> encodeAndWrite(png, target), encoders);
+            synchronized (pending) {
+                pending.add(write);
+            }
+            return new Frame(fileName, write);
+        });
+        if (!isNew[0]) {
+            // Same frame as an earlier test: point at its file (already written or being written).
+            deduped.incrementAndGet();
+        }
+        return "screenshots/" + frame.fileName();
+    }
+
+    /**
+     * Waits for queued screenshots to be written.
+     *
+     * @return false if some were still pending after {@code timeoutSeconds}.
+     */
+    public static boolean awaitPending(long timeoutSeconds) {
+        CompletableFuture<?>[] writes;
+        synchronized (pending) {
+            writes = pending.toArray(CompletableFuture[]::new);
+            pending.clear();
+        }
+        try {
+            CompletableFuture.allOf(writes).get(timeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("{} screenshot(s) still being written after {} s", writes.length, timeoutSeconds);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.warn("A screenshot could not be written: {}", e.getMessage());
+            return false;
         }
+    }
 
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = testName + "_" + timestamp + ".png";
-        String relativePath = "screenshots/" + fileName;
-        String fullPath = SCREENSHOT_DIR + fileName;
+    /**
+     * One-line summary: frames written, duplicates skipped, and size before and after encoding.
+     */
+    public static String stats() {
+        return String.format("%d written, %d duplicate(s) skipped, %.1f MB captured -> %.1f MB on disk",
+                frames.size(), deduped.get(), bytesIn.get() / 1e6, bytesOut.get() / 1e6);
+    }
 
-        File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
+    private static Path encodeAndWrite(byte[] png, Path target) {
         try {
-            FileUtils.copyFile(srcFile, new File(fullPath));
+            byte[] encoded = encode(png);
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(target,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            bytesOut.addAndGet(encoded.length);
+            return target;
         } catch (IOException e) {
-            e.printStackTrace();
+            logger.error("Failed to write screenshot {}", target, e);
+            throw new UncheckedIOException(e);
         }
+    }
 
-        // Only return the relative path
-        return relativePath.replace("\\", "/"); // important for Windows
+    private static byte[] encode(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png; // not an image ImageIO understands; keep the original bytes
+        }
+        int width = Math.min(source.getWidth(), MAX_WIDTH);
+        int height = (int) Math.round(source.getHeight() * (width / (double) source.getWidth()));
+        if ("png".equals(FORMAT) && width == source.getWidth()) {
+            return png;
+        }
+        // JPEG has no alpha channel, so always draw onto an RGB image.
+        BufferedImage scaled = new BufferedImage(width, Math.max(1, height), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, scaled.getHeight(), null);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(FORMAT)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int positive(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    // Checked when the config is read, so a typo fails the first screenshot with a clear message rather than
+    // a NoSuchElementException from the encoder thread.
+    // Runs in the static initializer, so a bad value is logged rather than thrown: an exception here would make
+    // the class unusable for the rest of the run, including the awaitPending call before the report is flushed.
+    private static String format(String value) {
+        String format = value == null || value.isBlank() ? "jpg" : value.trim().toLowerCase(Locale.ROOT);
+        format = "jpeg".equals(format) ? "jpg" : format;
+        if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            logger.error("screenshot.format '{}' has no ImageIO writer, using jpg instead; supported: {}", value,
+                    Arrays.stream(ImageIO.getWriterFormatNames()).map(name -> name.toLowerCase(Locale.ROOT))
+                            .distinct().sorted().toList());
+            return "jpg";
+        }
+        return format;
+    }
+
+    private static float quality(String value) {
+        try {
+            return value == null || value.isBlank() ? 0.8f : Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            return 0.8f;
+        }
     }
 }
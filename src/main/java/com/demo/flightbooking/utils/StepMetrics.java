@@ -0,0 +1,200 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.EngineType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-step, per-browser latency of page-object actions and {@link WebDriverUtils} waits.
+ * <p>
+ * Each (step, browser) pair gets one {@link LatencyHistogram}, so recording is lock-free and memory stays fixed
+ * however many calls a soak run makes. At suite end the histograms are written to {@code reports/metrics/} as
+ * JSON and as a Prometheus text-format file, and summarised as a p50/p95/p99 table in the report.
+ * Turned off with {@code metrics.steps.enabled=false}.
+ */
+public final class StepMetrics {
+
+    private static final Logger logger = LogManager.getLogger(StepMetrics.class);
+    private static final boolean ENABLED =
+            !"false".equalsIgnoreCase(String.valueOf(ConfigReader.getProperty("metrics.steps.enabled")).trim());
+    // Prometheus "le" bounds in seconds; finer detail is in the JSON percentiles.
+    private static final double[] EXPORT_BOUNDS =
+            {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+    private record Key(String step, String browser) {
+    }
+
+    private static final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * One row of the summary.
+     */
+    public record Summary(String step, String browser, long count, double meanMillis, double p50Millis,
+                          double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private StepMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records one call of {@code step} on the current thread's browser.
+     */
+    public static void record(String step, long nanos) {
+        if (ENABLED) {
+            record(step, currentBrowser(), nanos);
+        }
+    }
+
+    public static void record(String step, String browser, long nanos) {
+        histograms.computeIfAbsent(new Key(step, browser), k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Runs {@code action} and records how long it took, also when it throws.
+     */
+    public static void time(String step, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(step, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> T time(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(step, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * p50/p95/p99 per step and browser, sorted by step.
+     */
+    public static List<Summary> summary() {
+        List<Summary> rows = new ArrayList<>();
+        histograms.forEach((key, histogram) -> rows.add(new Summary(key.step(), key.browser(), histogram.getCount(),
+                histogram.getCount() == 0 ? 0 : histogram.getTotalMicros() / 1000.0 / histogram.getCount(),
+                histogram.percentileMicros(50) / 1000.0, histogram.percentileMicros(95) / 1000.0,
+                histogram.percentileMicros(99) / 1000.0, histogram.getMaxMicros() / 1000.0)));
+        rows.sort(Comparator.comparing(Summary::step).thenComparing(Summary::browser));
+        return rows;
+    }
+
+    /**
+     * The summary as table cells for the report, header row first.
+     */
+    public static String[][] summaryTable() {
+        List<Summary> rows = summary();
+        String[][] table = new String[rows.size() + 1][];
+        table[0] = new String[]{"Step", "Browser", "Calls", "p50 ms", "p95 ms", "p99 ms", "Max ms"};
+        for (int i = 0; i < rows.size(); i++) {
+            Summary row = rows.get(i);
+            table[i + 1] = new String[]{row.step(), row.browser(), String.valueOf(row.count()), millis(row.p50Millis()),
+                    millis(row.p95Millis()), millis(row.p99Millis()), millis(row.maxMillis())};
+        }
+        return table;
+    }
+
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"generated\": \"").append(Instant.now()).append("\",\n  \"steps\": [");
+        List<Summary> rows = summary();
+        for (int i = 0; i < rows.size(); i++) {
+            Summary row = rows.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append(String.format(Locale.ROOT,
+                    "    {\"step\": \"%s\", \"browser\": \"%s\", \"count\": %d, \"meanMs\": %.3f, \"p50Ms\": %.3f,"
+                            + " \"p95Ms\": %.3f, \"p99Ms\": %.3f, \"maxMs\": %.3f}",
+                    escape(row.step()), escape(row.browser()), row.count(), row.meanMillis(), row.p50Millis(),
+                    row.p95Millis(), row.p99Millis(), row.maxMillis()));
+        }
+        return json.append(rows.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    /**
+     * The histograms in Prometheus text exposition format, e.g. for a node_exporter textfile collector.
+     */
+    public static String toPrometheus() {
+        String name = "flightbooking_step_duration_seconds";
+        StringBuilder text = new StringBuilder()
+                .append("# HELP ").append(name).append(" Time spent in page-object actions and waits.\n")
+                .append("# TYPE ").append(name).append(" histogram\n");
+        histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::step).thenComparing(Key::browser)))
+                .forEach(entry -> {
+                    String labels = "step=\"" + escape(entry.getKey().step()) + "\",browser=\"" + escape(entry.getKey().browser()) + "\"";
+                    LatencyHistogram histogram = entry.getValue();
+                    for (double bound : EXPORT_BOUNDS) {
+                        text.append(name).append("_bucket{").append(labels).append(",le=\"").append(bound).append("\"} ")
+                                .append(histogram.countAtOrBelow(Math.round(bound * 1_000_000))).append('\n');
+                    }
+                    text.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(histogram.getCount()).append('\n')
+                            .append(name).append("_sum{").append(labels).append("} ")
+                            .append(String.format(Locale.ROOT, "%.6f", histogram.getTotalMicros() / 1e6)).append('\n')
+                            .append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+                });
+        return text.toString();
+    }
+
+    /**
+     * Writes {@code <dir>/<name>-steps.json} and {@code <dir>/<name>-steps.prom}.
+     *
+     * @return The files written, or an empty list if nothing was recorded.
+     */
+    public static List<Path> export(Path dir, String name) {
+        if (histograms.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Files.createDirectories(dir);
+            Path json = Files.writeString(dir.resolve(name + "-steps.json"), toJson(), StandardCharsets.UTF_8);
+            Path prometheus = Files.writeString(dir.resolve(name + "-steps.prom"), toPrometheus(), StandardCharsets.UTF_8);
+            return List.of(json, prometheus);
+        } catch (IOException e) {
+            logger.error("Failed to write step metrics to {}", dir, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far.
+     */
+    public static void reset() {
+        histograms.clear();
+    }
+
+    private static String currentBrowser() {
+        TestContext context = TestContext.current();
+        if (context.getEngine() == EngineType.HTTP) {
+            return "http";
+        }
+        String browser = context.getBrowserName();
+        return browser == null ? "unknown" : browser;
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
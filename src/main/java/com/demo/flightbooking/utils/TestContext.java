@@ -0,0 +1,91 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.EngineType;
+import com.demo.flightbooking.http.HttpSession;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Everything one test invocation owns: its browser choice, WebDriver session (or HTTP session) and Extent node.
+ * <p>
+ * This replaces the separate per-thread fields that used to live in {@link DriverManager} and
+ * {@link ExtentManager}. The context is bound to whichever thread runs the test (a pooled platform
+ * thread or a virtual thread) and is looked up once per thread instead of once per field.
+ */
+public final class TestContext {
+
+    private static final ThreadLocal<TestContext> current = new ThreadLocal<>();
+
+    private EngineType engine = EngineType.BROWSER;
+    private String browserName;
+    private WebDriver driver;
+    private DriverPool.PooledDriver lease;
+    private HttpSession httpSession;
+    private ReportTest extentTest;
+
+    /**
+     * Returns the context bound to the calling thread, creating an empty one if there is none.
+     */
+    public static TestContext current() {
+        TestContext context = current.get();
+        if (context == null) {
+            context = new TestContext();
+            current.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Unbinds the calling thread's context. Call once the test invocation is completely done.
+     */
+    public static void clear() {
+        current.remove();
+    }
+
+    public EngineType getEngine() {
+        return engine;
+    }
+
+    public void setEngine(EngineType engine) {
+        this.engine = engine;
+    }
+
+    public String getBrowserName() {
+        return browserName;
+    }
+
+    public void setBrowserName(String browserName) {
+        this.browserName = browserName;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public void setDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    DriverPool.PooledDriver getLease() {
+        return lease;
+    }
+
+    void setLease(DriverPool.PooledDriver lease) {
+        this.lease = lease;
+    }
+
+    public HttpSession getHttpSession() {
+        return httpSession;
+    }
+
+    public void setHttpSession(HttpSession httpSession) {
+        this.httpSession = httpSession;
+    }
+
+    public ReportTest getExtentTest() {
+        return extentTest;
+    }
+
+    public void setExtentTest(ReportTest extentTest) {
+        this.extentTest = extentTest;
+    }
+}
@@ -0,0 +1,130 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * Per-test logging: the {@code testId} routing key and a failure-only DEBUG buffer.
+ * <p>
+ * {@link #begin} puts the test's id in the log4j {@code ThreadContext}, which {@code log4j2.xml} uses to route the
+ * test's INFO lines to {@code logs/tests/<testId>.log}. When {@code log.failureDebug.enabled=true}, the framework's
+ * DEBUG output is also kept in a bounded in-memory buffer per test thread ({@code log.failureDebug.maxEvents}).
+ * {@link #end} writes that buffer to {@code logs/tests/<testId>-debug.log} only if the test failed; a passing test
+ * just drops it, so verbose logging costs no disk I/O unless it is needed.
+ */
+public final class TestLogs {
+
+    public static final String TEST_ID = "testId";
+    private static final Logger logger = LogManager.getLogger(TestLogs.class);
+    private static final String LOG_DIR = "logs/tests/";
+    private static final String FRAMEWORK_PACKAGE = "com.demo.flightbooking";
+    private static final ThreadLocal<ArrayDeque<LogEvent>> buffers = new ThreadLocal<>();
+    private static volatile int capacity;
+
+    private TestLogs() {
+    }
+
+    /**
+     * Turns on the DEBUG buffer for the framework's loggers if {@code log.failureDebug.enabled} is set. Idempotent.
+     */
+    public static synchronized void install() {
+        if (capacity > 0 || !Boolean.parseBoolean(ConfigReader.getProperty("log.failureDebug.enabled"))) {
+            return;
+        }
+        int maxEvents = ConfigReader.getPropertyAsInt("log.failureDebug.maxEvents");
+        capacity = maxEvents > 0 ? maxEvents : 5_000;
+
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Configuration config = context.getConfiguration();
+        BufferAppender appender = new BufferAppender();
+        appender.start();
+        config.addAppender(appender);
+        // The framework's loggers go to DEBUG for the buffer only; the appenders in log4j2.xml keep their INFO threshold.
+        LoggerConfig framework = new LoggerConfig(FRAMEWORK_PACKAGE, Level.DEBUG, true);
+        framework.addAppender(appender, Level.DEBUG, null);
+        config.addLogger(FRAMEWORK_PACKAGE, framework);
+        context.updateLoggers();
+        logger.info("Per-test DEBUG buffer on ({} events); written to {} for failed tests only", capacity, LOG_DIR);
+    }
+
+    /**
+     * Marks the start of a test on this thread.
+     *
+     * @param testId e.g. {@code BookingTest.testBooking-chrome-1f3a9c}; characters unsafe in file names are replaced.
+     */
+    public static void begin(String testId) {
+        ThreadContext.put(TEST_ID, testId.replaceAll("[^A-Za-z0-9._-]", "_"));
+        if (capacity > 0) {
+            buffers.set(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Marks the end of the test on this thread.
+     *
+     * @return The DEBUG log written for a failed test, or null.
+     */
+    public static Path end(boolean failed) {
+        String testId = ThreadContext.get(TEST_ID);
+        ArrayDeque<LogEvent> events = buffers.get();
+        buffers.remove();
+        ThreadContext.remove(TEST_ID);
+        if (!failed || events == null || events.isEmpty() || testId == null) {
+            return null;
+        }
+        Path file = Path.of(LOG_DIR, testId + "-debug.log");
+        PatternLayout layout = PatternLayout.newBuilder()
+                .withPattern("%d{HH:mm:ss.SSS} [%t] %-5p %c{1} - %m%n")
+                .build();
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (LogEvent event : events) {
+                    out.write(layout.toSerializable(event));
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            logger.error("Failed to write DEBUG log for {}", testId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the last events of the current test in memory; events outside a test are ignored.
+     */
+    private static final class BufferAppender extends AbstractAppender {
+
+        BufferAppender() {
+            super("TestDebugBuffer", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            ArrayDeque<LogEvent> events = buffers.get();
+            if (events == null) {
+                return;
+            }
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event.toImmutable());
+        }
+    }
+}
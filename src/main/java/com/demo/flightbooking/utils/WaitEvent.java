@@ -0,0 +1,69 @@
+package com.demo.flightbooking.utils;
+
+import com.demo.flightbooking.enums.EngineType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apache.logging.log4j.ThreadContext;
+
+/**
+ * JFR event for one {@link WebDriverUtils} wait. The WebDriver commands the wait polls with are recorded
+ * separately, as {@link DriverCommandEvent}s nested inside it.
+ */
+@Name("com.demo.flightbooking.Wait")
+@Label("WebDriver Wait")
+@Category({"Flight Booking", "WebDriver"})
+@Description("An explicit wait for an element, URL or title")
+@StackTrace(false)
+public class WaitEvent extends Event {
+
+    @Label("Kind")
+    @Description("visible, visibleAll, clickable, url or title")
+    String kind;
+
+    @Label("Strategy")
+    @Description("events or polling")
+    String strategy;
+
+    @Label("Target")
+    @Description("The locator, URL fragment or title fragment waited for")
+    String target;
+
+    @Label("Browser")
+    String browser;
+
+    @Label("Test")
+    String testName;
+
+    @Label("Timed Out")
+    boolean timedOut;
+
+    /**
+     * Starts timing a wait for {@code target}.
+     */
+    public static WaitEvent start(Object target) {
+        WaitEvent event = new WaitEvent();
+        event.target = String.valueOf(target);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if JFR is recording it.
+     */
+    public void finish(String kind, String strategy, boolean timedOut) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.strategy = strategy;
+            this.timedOut = timedOut;
+            TestContext context = TestContext.current();
+            this.browser = context.getEngine() == EngineType.HTTP ? "http" : context.getBrowserName();
+            this.testName = ThreadContext.get(TestLogs.TEST_ID);
+            commit();
+        }
+    }
+}
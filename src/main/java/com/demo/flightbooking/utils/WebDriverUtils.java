@@ -17,6 +17,8 @@ public class WebDriverUtils {
 
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final Duration timeout;
+    private final boolean eventDriven;
     private final Logger logger;
 
     /**
@@ -27,7 +29,9 @@ public class WebDriverUtils {
      */
     public WebDriverUtils(WebDriver driver, int timeoutSeconds) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.wait = new WebDriverWait(driver, timeout);
+        this.eventDriven = EventWaits.isEnabled(); // see EventWaits; falls back to WebDriverWait per call
         this.logger = LogManager.getLogger(WebDriverUtils.class); // Logger for this utility class
     }
 
@@ -40,11 +44,19 @@ public class WebDriverUtils {
      */
     public WebElement findElement(By locator) {
         logger.debug("Attempting to find element by: {}", locator);
+        long start = System.nanoTime();
+        WaitEvent event = WaitEvent.start(locator);
+        String strategy = eventDriven ? "events" : "polling";
         try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            logger.info("Found element: {}", locator);
+            WebElement element = eventDriven ? EventWaits.waitForElement(driver, locator, timeout, false) : null;
+            if (element == null) {
+                strategy = "polling";
+                element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            }
+            logger.debug("Found element: {} in {} ms [{}]", locator, recordWait(event, "visible", strategy, start), strategy);
             return element;
         } catch (TimeoutException e) {
+            recordWait(event, "visible", strategy, start, true);
             logger.error("Element not found or not visible within timeout: {}", locator, e);
             throw new NoSuchElementException("Element not found or not visible: " + locator, e);
         }
@@ -59,11 +71,15 @@ public class WebDriverUtils {
      */
     public List<WebElement> findElements(By locator) {
         logger.debug("Attempting to find elements by: {}", locator);
+        long start = System.nanoTime();
+        WaitEvent event = WaitEvent.start(locator);
         try {
             List<WebElement> elements = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
-            logger.info("Found {} elements for locator: {}", elements.size(), locator);
+            recordWait(event, "visibleAll", "polling", start);
+            logger.debug("Found {} elements for locator: {}", elements.size(), locator);
             return elements;
         } catch (TimeoutException e) {
+            recordWait(event, "visibleAll", "polling", start, true);
             logger.warn("No elements found or not visible within timeout for: {}", locator);
             return List.of(); // Return an empty list instead of throwing an exception if no elements are found
         }
@@ -75,12 +91,21 @@ public class WebDriverUtils {
      * @param locator The By locator of the element to click.
      */
     public void click(By locator) {
-        logger.info("Clicking element: {}", locator);
+        logger.debug("Clicking element: {}", locator);
+        long start = System.nanoTime();
+        WaitEvent event = WaitEvent.start(locator);
+        String strategy = eventDriven ? "events" : "polling";
         try {
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = eventDriven ? EventWaits.waitForElement(driver, locator, timeout, true) : null;
+            if (element == null) {
+                strategy = "polling";
+                element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            }
+            long waited = recordWait(event, "clickable", strategy, start);
             element.click();
-            logger.info("Successfully clicked element: {}", locator);
+            logger.info("Successfully clicked element: {} (waited {} ms [{}])", locator, waited, strategy);
         } catch (TimeoutException e) {
+            recordWait(event, "clickable", strategy, start, true);
             logger.error("Element not clickable within timeout: {}", locator, e);
             throw new ElementClickInterceptedException("Element not clickable: " + locator, e);
         } catch (WebDriverException e) {
@@ -97,7 +122,7 @@ public class WebDriverUtils {
      * @param text The text to send.
      */
     public void sendKeys(By locator, String text) {
-        logger.info("Sending keys '{}' to element: {}", text, locator);
+        logger.debug("Sending keys '{}' to element: {}", text, locator);
         try {
             WebElement element = findElement(locator); // Uses findElement to ensure visibility
             element.clear();
@@ -116,7 +141,7 @@ public class WebDriverUtils {
      * @param text The visible text of the option to select.
      */
     public void selectByVisibleText(By locator, String text) {
-        logger.info("Selecting '{}' from dropdown: {}", text, locator);
+        logger.debug("Selecting '{}' from dropdown: {}", text, locator);
         try {
             WebElement selectElement = findElement(locator); // Uses findElement to ensure visibility
             Select select = new Select(selectElement);
@@ -141,7 +166,7 @@ public class WebDriverUtils {
         logger.debug("Getting text from element: {}", locator);
         WebElement element = findElement(locator); // Uses findElement to ensure visibility
         String text = element.getText();
-        logger.info("Retrieved text '{}' from element: {}", text, locator);
+        logger.debug("Retrieved text '{}' from element: {}", text, locator);
         return text;
     }
 
@@ -177,10 +202,20 @@ public class WebDriverUtils {
      * @return true if the URL contains the string, false otherwise.
      */
     public boolean waitUntilUrlContains(String urlChunk) {
-        logger.info("Waiting for URL to contain: {}", urlChunk);
+        logger.debug("Waiting for URL to contain: {}", urlChunk);
+        long start = System.nanoTime();
+        WaitEvent event = WaitEvent.start(urlChunk);
         try {
-            return wait.until(ExpectedConditions.urlContains(urlChunk));
+            if (eventDriven) {
+                boolean reached = EventWaits.waitForUrl(driver, urlChunk, timeout);
+                logger.info("URL wait for '{}' took {} ms [events]", urlChunk, recordWait(event, "url", "events", start, !reached));
+                return reached;
+            }
+            boolean reached = wait.until(ExpectedConditions.urlContains(urlChunk));
+            logger.info("URL wait for '{}' took {} ms [polling]", urlChunk, recordWait(event, "url", "polling", start));
+            return reached;
         } catch (TimeoutException e) {
+            recordWait(event, "url", "polling", start, true);
             logger.error("URL did not contain '{}' within timeout. Current URL: {}", urlChunk, driver.getCurrentUrl());
             return false;
         }
@@ -193,15 +228,35 @@ public class WebDriverUtils {
      * @return true if the title contains the string, false otherwise.
      */
     public boolean waitUntilTitleContains(String titleChunk) {
-        logger.info("Waiting for title to contain: {}", titleChunk);
+        logger.debug("Waiting for title to contain: {}", titleChunk);
+        long start = System.nanoTime();
+        WaitEvent event = WaitEvent.start(titleChunk);
         try {
-            return wait.until(ExpectedConditions.titleContains(titleChunk));
+            boolean reached = wait.until(ExpectedConditions.titleContains(titleChunk));
+            recordWait(event, "title", "polling", start);
+            return reached;
         } catch (TimeoutException e) {
+            recordWait(event, "title", "polling", start, true);
             logger.error("Page title did not contain '{}' within timeout. Current title: {}", titleChunk, driver.getTitle());
             return false;
         }
     }
 
+    // Feeds the per-strategy summary, the per-step histograms (e.g. "wait.clickable [events]") and the JFR wait event.
+    // Timed-out waits are recorded too: they are the slowest calls, and the ones the histograms most need.
+    private static long recordWait(WaitEvent event, String kind, String strategy, long startNanos) {
+        return recordWait(event, kind, strategy, startNanos, false);
+    }
+
+    private static long recordWait(WaitEvent event, String kind, String strategy, long startNanos, boolean timedOut) {
+        event.finish(kind, strategy, timedOut);
+        long nanos = System.nanoTime() - startNanos;
+        long millis = nanos / 1_000_000;
+        EventWaits.record(strategy, millis);
+        StepMetrics.record("wait." + kind + " [" + strategy + "]", nanos);
+        return millis;
+    }
+
     // You can add more utility methods here, e.g.,
     // public void scrollIntoView(By locator) { ... }
     // public void handleAlert() { ... }
@@ -0,0 +1,79 @@
+package com.demo.flightbooking.listeners;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.GridCapacityMonitor;
+
+/**
+ * Sizes each {@code <test>}'s thread pool from the Grid hub's slots instead of the hard-coded
+ * thread-count, and keeps the capacity monitor polling while the suite runs.
+ * <p>
+ * TestNG cannot resize a pool once a test has started, so the pool is sized to all the slots the hub
+ * has for that browser (capped by {@code grid.parallelism.max}), not to what happens to be free at that
+ * moment: a Grid that is briefly busy must not pin the whole run to one thread. The monitor then throttles
+ * session creation up and down to what is actually free.
+ * Does nothing unless {@code grid.adaptive.enabled=true}.
+ */
+public class GridCapacityListener implements IAlterSuiteListener, ISuiteListener {
+
+	private static final Logger logger = LogManager.getLogger(GridCapacityListener.class);
+
+	@Override
+	public void alter(List<XmlSuite> suites) {
+		if (!GridCapacityMonitor.isEnabled()) {
+			return;
+		}
+
+		Map<BrowserType, GridCapacityMonitor.Capacity> capacity = GridCapacityMonitor.shared().poll();
+		if (capacity.isEmpty()) {
+			logger.warn("Grid reported no usable slots. Keeping thread-count from the suite XML.");
+			return;
+		}
+
+		int maxThreads = Math.max(1, ConfigReader.getPropertyAsInt("grid.parallelism.max"));
+		for (XmlSuite suite : suites) {
+			for (XmlTest test : suite.getTests()) {
+				String browser = test.getParameter("browser");
+				if (browser == null) {
+					continue;
+				}
+				GridCapacityMonitor.Capacity slots = capacity.get(BrowserType.valueOf(browser.toUpperCase()));
+				if (slots == null || slots.total() == 0) {
+					logger.warn("Grid has no {} slots; '{}' keeps thread-count {}", browser, test.getName(), test.getThreadCount());
+					continue;
+				}
+				int threads = Math.min(slots.total(), maxThreads);
+				test.setThreadCount(threads);
+				logger.info("Sized '{}' to {} thread(s) ({} of {} {} slots free)", test.getName(), threads,
+						slots.free(), slots.total(), browser);
+			}
+		}
+	}
+
+	@Override
+	public void onStart(ISuite suite) {
+		if (GridCapacityMonitor.isEnabled()) {
+			int pollSeconds = ConfigReader.getPropertyAsInt("grid.status.pollSeconds");
+			GridCapacityMonitor.shared().start(Duration.ofSeconds(pollSeconds > 0 ? pollSeconds : 5));
+		}
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		if (GridCapacityMonitor.isEnabled()) {
+			GridCapacityMonitor.shared().stop();
+		}
+	}
+}
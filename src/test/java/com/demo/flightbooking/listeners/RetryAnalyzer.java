@@ -25,4 +25,9 @@ public class RetryAnalyzer implements IRetryAnalyzer {
         }
         return false; // Return false to stop retrying
     }
+
+    // Retries used so far for this method (and data row)
+    public int getRetryCount() {
+        return retryCount;
+    }
 }
\ No newline at end of file
@@ -8,9 +8,9 @@ import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.annotations.ITestAnnotation;
 
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.demo.flightbooking.utils.ExtentManager;
+import com.demo.flightbooking.utils.ReportTest;
 
 /**
  * A comprehensive TestNG listener that handles applying the RetryAnalyzer.
@@ -26,7 +26,7 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestStart(ITestResult result) {
-		ExtentTest test = ExtentManager.getTest();
+		ReportTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.INFO, "Test Started: " + result.getMethod().getMethodName());
 		}
@@ -34,7 +34,7 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
-		ExtentTest test = ExtentManager.getTest();
+		ReportTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
 		}
@@ -42,7 +42,7 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestFailure(ITestResult result) {
-		ExtentTest test = ExtentManager.getTest();
+		ReportTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.FAIL, "Test Failed: " + result.getMethod().getMethodName());
 			test.log(Status.FAIL, result.getThrowable());
@@ -51,7 +51,7 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestSkipped(ITestResult result) {
-		ExtentTest test = ExtentManager.getTest();
+		ReportTest test = ExtentManager.getTest();
 		if (test != null) {
 			if (result.wasRetried()) {
 				test.log(Status.WARNING, "Test Retried: " + result.getMethod().getMethodName());
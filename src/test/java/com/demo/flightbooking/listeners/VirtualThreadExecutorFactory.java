@@ -0,0 +1,29 @@
+package com.demo.flightbooking.listeners;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * Builds TestNG's worker pools on virtual threads instead of platform threads.
+ * <p>
+ * The pool keeps TestNG's sizing (so thread-count still caps how many tests run at once),
+ * but every worker is a virtual thread. Tests spend nearly all their time blocked on HTTP calls
+ * to the driver, so a thread-count in the hundreds costs a handful of carrier threads.
+ * Worker names keep the "TestNG" prefix that TestNG uses to recognise its own threads.
+ * <p>
+ * {@link VirtualThreadListener} installs it when {@code execution.virtualThreads=true}.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+	@Override
+	public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+			BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+		return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue,
+				Thread.ofVirtual().name("TestNG-virtual-", 0).factory());
+	}
+}
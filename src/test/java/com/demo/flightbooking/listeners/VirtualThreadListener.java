@@ -0,0 +1,112 @@
+package com.demo.flightbooking.listeners;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutorServiceFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SuiteRunner;
+import org.testng.internal.IConfiguration;
+import org.testng.xml.XmlSuite;
+
+import com.demo.flightbooking.utils.ConfigReader;
+
+/**
+ * Switches TestNG to virtual-thread workers when {@code execution.virtualThreads=true}.
+ * <p>
+ * The suite's test runners ask its TestNG configuration for an executor factory when they start
+ * their workers, which is after {@link #onStart(ISuite)}. Neither Surefire's TestNG provider nor the
+ * {@link ISuite} API exposes that configuration (Surefire drops TestNG's {@code -threadpoolfactoryclass}),
+ * so it is read from the suite runner and given a {@link VirtualThreadExecutorFactory} for the length of the
+ * suite. This works the same under Surefire, an IDE or a programmatic run. The first parallel test method
+ * then confirms the thread it runs on, or logs a warning if the factory could not be installed.
+ */
+public class VirtualThreadListener implements ISuiteListener, IInvokedMethodListener {
+
+	private static final Logger logger = LogManager.getLogger(VirtualThreadListener.class);
+	private final AtomicBoolean checked = new AtomicBoolean();
+	private final BooleanSupplier requested;
+	private IConfiguration configuration;
+	private IExecutorServiceFactory previous;
+
+	public VirtualThreadListener() {
+		this(() -> Boolean.parseBoolean(ConfigReader.getProperty("execution.virtualThreads")));
+	}
+
+	/**
+	 * For a run that decides for itself, e.g. a nested suite started by a test.
+	 */
+	public VirtualThreadListener(boolean enabled) {
+		this(() -> enabled);
+	}
+
+	private VirtualThreadListener(BooleanSupplier requested) {
+		this.requested = requested;
+	}
+
+	@Override
+	public void onStart(ISuite suite) {
+		if (!requested.getAsBoolean()) {
+			return;
+		}
+		configuration = configurationOf(suite);
+		if (configuration == null) {
+			logger.warn("execution.virtualThreads=true, but the TestNG configuration of suite '{}' is not reachable;"
+					+ " tests will use platform threads.", suite.getName());
+			return;
+		}
+		previous = configuration.getExecutorServiceFactory();
+		configuration.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+		logger.info("Virtual-thread execution enabled for suite '{}' (parallel={}).", suite.getName(),
+				suite.getXmlSuite().getParallel());
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		if (configuration != null) {
+			configuration.setExecutorServiceFactory(previous);
+			configuration = null;
+		}
+	}
+
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		if (!method.isTestMethod() || !requested.getAsBoolean()) {
+			return;
+		}
+		XmlSuite suite = testResult.getTestContext().getSuite().getXmlSuite();
+		// Non-parallel suites run their methods on the main thread whatever the factory.
+		if (suite.getParallel() == XmlSuite.ParallelMode.NONE || !checked.compareAndSet(false, true)) {
+			return;
+		}
+		if (Thread.currentThread().isVirtual()) {
+			logger.info("Test methods are running on virtual threads.");
+		} else {
+			logger.warn("execution.virtualThreads=true but tests run on platform threads ({}).",
+					Thread.currentThread().getName());
+		}
+	}
+
+	// The suite runner keeps the run-wide configuration in a private field. Reflection over all of SuiteRunner's
+	// fields would load the optional Guice classes, so the one field is looked up directly.
+	private static IConfiguration configurationOf(ISuite suite) {
+		if (!(suite instanceof SuiteRunner)) {
+			return null;
+		}
+		try {
+			return (IConfiguration) MethodHandles.privateLookupIn(SuiteRunner.class, MethodHandles.lookup())
+					.findVarHandle(SuiteRunner.class, "configuration", IConfiguration.class)
+					.get(suite);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			logger.debug("Cannot read the configuration of {}: {}", suite.getName(), e.toString());
+			return null;
+		}
+	}
+}
@@ -1,13 +1,32 @@
 package com.demo.flightbooking.tests.base;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.demo.flightbooking.enums.AppPage;
+import com.demo.flightbooking.enums.EngineType;
+import com.demo.flightbooking.factory.DriverServiceFactory;
+import com.demo.flightbooking.http.HttpSession;
+import com.demo.flightbooking.http.StartPage;
+import com.demo.flightbooking.http.StateSeeder;
+import com.demo.flightbooking.listeners.RetryAnalyzer;
+import com.demo.flightbooking.model.Passenger;
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.DataShard;
 import com.demo.flightbooking.utils.DriverManager;
+import com.demo.flightbooking.utils.EventWaits;
 import com.demo.flightbooking.utils.ExtentManager;
+import com.demo.flightbooking.utils.FailureArtifacts;
+import com.demo.flightbooking.utils.FlightRecording;
+import com.demo.flightbooking.utils.ReportQueue;
+import com.demo.flightbooking.utils.ReportTest;
+import com.demo.flightbooking.utils.ResultsStream;
+import com.demo.flightbooking.utils.ScreencastRecorder;
 import com.demo.flightbooking.utils.ScreenshotUtils;
+import com.demo.flightbooking.utils.StepMetrics;
+import com.demo.flightbooking.utils.TestContext;
+import com.demo.flightbooking.utils.TestLogs;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -17,7 +36,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,14 +47,16 @@ import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
 public class BaseTest {
 
   protected static final Logger logger = LogManager.getLogger(BaseTest.class);
-  private static ExtentReports extentReports;
-  protected static final List<String> failureSummaries =
-      Collections.synchronizedList(new ArrayList<>());
+  // Test threads publish report events here; one background thread applies them to ExtentReports.
+  private static ReportQueue reportQueue;
+  // One JSON line per finished test, appended as the suite runs.
+  private static ResultsStream resultsStream;
 
   @BeforeSuite(alwaysRun = true)
   public void setUpSuite() {
@@ -44,11 +65,13 @@ public class BaseTest {
       logsDir.mkdirs();
     }
     logger.info("Logs directory ensured.");
+    TestLogs.install();
+    FlightRecording.start();
 
-    extentReports = new ExtentReports();
+    ExtentReports extentReports = new ExtentReports();
     
     // Read the 'test.suite' property passed from the Jenkinsfile/Maven command.
-    String suiteName = System.getProperty("test.suite", "default");
+    String suiteName = reportName();
 
     // This reporter creates a single self-contained offline file with a dynamic name.
     ExtentSparkReporter sparkReporter =
@@ -59,10 +82,21 @@ public class BaseTest {
     extentReports.attachReporter(sparkReporter);
     logger.info("Report will be generated at: reports/{}-report.html", suiteName);
 
+    DataShard shard = DataShard.current();
+    if (shard.isSharded()) {
+      // Machine-readable copy for ShardReportMerger, which combines the shards into one report.
+      extentReports.attachReporter(new JsonFormatter("reports/" + suiteName + ".json"));
+      extentReports.setSystemInfo("Shard", shard.toString());
+      logger.info("Running data {} (-Dshard.index/-Dshard.count)", shard);
+    }
+
     extentReports.setSystemInfo("Tester", ConfigReader.getProperty("tester.name"));
     extentReports.setSystemInfo("OS", System.getProperty("os.name"));
     extentReports.setSystemInfo("Java Version", System.getProperty("java.version"));
     extentReports.setSystemInfo("Browser", ConfigReader.getProperty("browser"));
+    reportQueue = ReportQueue.fromConfig(extentReports);
+    resultsStream = new ResultsStream(Paths.get("reports", suiteName + "-results.jsonl"), reportQueue);
+    logger.info("Test results will be streamed to: {}", resultsStream.getFile());
   }
   
 //  @Parameters("browser")
@@ -76,13 +110,34 @@ public class BaseTest {
   /**
    * This method now runs before each @Test method and receives the browser parameter.
    * This ensures the browser is set correctly for the specific thread running the test.
+   * Suites that set {@code engine=http} get an {@link HttpSession} instead of a browser.
+   * Tests annotated with {@link StartPage} are opened directly on that page.
    *
-   * @param browser The browser name passed from the <parameter> tag in testng.xml.
-   * @param method  The test method that is about to be run.
+   * @param browser    The browser name passed from the <parameter> tag in testng.xml.
+   * @param engine     "browser" (default) or "http", from the <parameter> tag in testng.xml.
+   * @param method     The test method that is about to be run.
+   * @param testParams The test method's data provider arguments.
    */
-  @Parameters("browser")
+  @Parameters({"browser", "engine"})
   @BeforeMethod(alwaysRun = true)
-  public void setUp(String browser, Method method) {
+  public void setUp(
+      @Optional("chrome") String browser,
+      @Optional("browser") String engine,
+      Method method,
+      Object[] testParams) {
+    EngineType engineType = EngineType.valueOf(engine.toUpperCase());
+    TestLogs.begin(
+        testId(method, engineType == EngineType.HTTP ? "http" : browser.toLowerCase(), testParams));
+    TestContext.current().setEngine(engineType);
+
+    if (engineType == EngineType.HTTP) {
+      TestContext.current().setHttpSession(new HttpSession());
+      ReportTest test = reportQueue.createTest(method.getName() + " - HTTP");
+      ExtentManager.setTest(test);
+      logger.info("HTTP session initialized for test: {}", method.getName());
+      return;
+    }
+
     // --- THIS IS THE FIX ---
     // The very first step is to set the browser for the current thread.
     DriverManager.setBrowser(browser);
@@ -95,15 +150,41 @@ public class BaseTest {
     String browserName = DriverManager.getBrowser().toUpperCase();
     
     // Append the browser name to the test name in the report for clarity.
-    ExtentTest test = extentReports.createTest(method.getName() + " - " + browserName);
+    ReportTest test = reportQueue.createTest(method.getName() + " - " + browserName);
     ExtentManager.setTest(test);
     logger.info("ExtentTest created for test: {} on {}", method.getName(), browserName);
+
+    StartPage startPage = method.getAnnotation(StartPage.class);
+    if (startPage != null) {
+      seedStartPage(startPage.value(), testParams, test);
+    }
+  }
+
+  private void seedStartPage(AppPage page, Object[] testParams, ReportTest test) {
+    Passenger passenger =
+        Arrays.stream(testParams)
+            .filter(Passenger.class::isInstance)
+            .map(Passenger.class::cast)
+            .findFirst()
+            .orElseThrow(
+                () -> new IllegalStateException("@StartPage needs a Passenger parameter for the route"));
+
+    StateSeeder.SeedResult result =
+        StateSeeder.seed(
+            DriverManager.getDriver(),
+            DriverManager.getBrowser(),
+            page,
+            passenger.origin(),
+            passenger.destination());
+    logger.info("{}", result);
+    test.info(result.toString());
   }
 
   @AfterMethod(alwaysRun = true)
   public void tearDown(ITestResult result) {
-    ExtentTest test = ExtentManager.getTest();
-    WebDriver driver = DriverManager.getDriver();
+    ReportTest test = ExtentManager.getTest();
+    boolean httpEngine = TestContext.current().getEngine() == EngineType.HTTP;
+    List<String> artifacts = new ArrayList<>();
 
     if (test != null) {
       if (result.getStatus() == ITestResult.FAILURE) {
@@ -112,32 +193,218 @@ public class BaseTest {
                 + result.getMethod().getMethodName()
                 + " FAILED: "
                 + result.getThrowable().getMessage().split("\n")[0];
-        failureSummaries.add(failureMsg);
-
-        String screenshotPath =
-            ScreenshotUtils.captureScreenshot(driver, result.getMethod().getMethodName());
-        test.addScreenCaptureFromPath("./screenshots/" + new File(screenshotPath).getName());
-        test.fail(result.getThrowable());
-        logger.error(
-            "Test failed: {} | Screenshot: {}", result.getMethod().getMethodName(), screenshotPath);
+        reportQueue.addFailure(failureMsg);
+
+        if (httpEngine) {
+          // No browser to screenshot; the last URL says how far the flow got.
+          test.info("Last page: " + TestContext.current().getHttpSession().getCurrentUrl());
+          test.fail(result.getThrowable());
+          logger.error("Test failed: {} | Last page: {}", result.getMethod().getMethodName(),
+              TestContext.current().getHttpSession().getCurrentUrl());
+        } else {
+          WebDriver driver = DriverManager.getDriver();
+          String testName = result.getMethod().getMethodName();
+          String screenshotPath;
+          if (FailureArtifacts.isEnabled()) {
+            // Screenshot, DOM, console and network in parallel, bounded so a hung browser can't stall teardown.
+            FailureArtifacts.Bundle bundle =
+                FailureArtifacts.capture(
+                    driver, testName, result.getThrowable(), result.getStartMillis());
+            screenshotPath =
+                bundle.screenshot() == null
+                    ? null
+                    : ScreenshotUtils.save(bundle.screenshot(), testName);
+            if (bundle.file() != null) {
+              String bundleLink = "./failures/" + bundle.file().getFileName();
+              artifacts.add(bundleLink);
+              test.fail(
+                  "Failure bundle (screenshot, page source, console, network): <a href='"
+                      + bundleLink
+                      + "'>"
+                      + bundle.file().getFileName()
+                      + "</a>");
+            }
+          } else {
+            screenshotPath = ScreenshotUtils.captureScreenshot(driver, testName);
+          }
+          ScreencastRecorder screencast = ScreencastRecorder.forSession(driver);
+          if (screencast != null) {
+            ScreencastRecorder.Recording recording = screencast.save(testName);
+            if (recording.file() != null) {
+              String screencastLink = "./screencasts/" + recording.file().getFileName();
+              artifacts.add(screencastLink);
+              test.fail(
+                  String.format(
+                      "Screencast of the last %d frame(s), encoded in %d ms: <a href='%s'>%s</a>",
+                      recording.frames(),
+                      recording.encodeMillis(),
+                      screencastLink,
+                      recording.file().getFileName()));
+            }
+          }
+          if (screenshotPath != null) {
+            artifacts.add(0, "./screenshots/" + new File(screenshotPath).getName());
+            test.addScreenCaptureFromPath(artifacts.get(0));
+          }
+          test.fail(result.getThrowable());
+          logger.error(
+              "Test failed: {} | Screenshot: {} | Artifacts: {}", testName, screenshotPath, artifacts);
+        }
       } else {
         test.log(Status.PASS, "Test passed");
       }
     }
+    Path debugLog = TestLogs.end(result.getStatus() == ITestResult.FAILURE);
+    if (debugLog != null) {
+      artifacts.add(debugLog.toString().replace('\\', '/'));
+      logger.info("DEBUG log for failed test: {}", debugLog);
+    }
+    recordResult(result, httpEngine, artifacts);
 
-    DriverManager.quitDriver();
-    logger.info("WebDriver quit after test method: {}", result.getMethod().getMethodName());
+    if (!httpEngine) {
+      WebDriver session = TestContext.current().getDriver();
+      ScreencastRecorder screencast = session == null ? null : ScreencastRecorder.forSession(session);
+      if (screencast != null) {
+        screencast.clear(); // a passing test's frames are not kept
+      }
+      // A failed test may leave the browser in an unknown state, so its session is never reused.
+      // A failure that is going to be retried reaches here as SKIP with wasRetried() set.
+      DriverManager.releaseDriver(result.getStatus() == ITestResult.SUCCESS && !result.wasRetried());
+      logger.info("WebDriver released after test method: {}", result.getMethod().getMethodName());
+    }
     ExtentManager.unload();
+    TestContext.clear();
+  }
+
+  private void recordResult(ITestResult result, boolean httpEngine, List<String> artifacts) {
+    if (resultsStream == null) {
+      return;
+    }
+    String status =
+        switch (result.getStatus()) {
+          case ITestResult.SUCCESS -> "PASS";
+          case ITestResult.FAILURE -> "FAIL";
+          default -> "SKIP";
+        };
+    if (result.wasRetried()) {
+      status = "RETRIED";
+    }
+    String dataRow = dataRow(result.getParameters());
+    int retries =
+        result.getMethod().getRetryAnalyzer(result) instanceof RetryAnalyzer analyzer
+            ? analyzer.getRetryCount()
+            : 0;
+    long end = result.getEndMillis() > 0 ? result.getEndMillis() : System.currentTimeMillis();
+    String error =
+        result.getThrowable() == null ? null : result.getThrowable().toString().split("\n")[0];
+    resultsStream.append(
+        new ResultsStream.Line(
+            result.getMethod().getMethodName(),
+            result.getTestClass().getName(),
+            httpEngine ? "HTTP" : String.valueOf(DriverManager.getBrowser()).toUpperCase(),
+            dataRow,
+            status,
+            result.getStartMillis(),
+            end - result.getStartMillis(),
+            retries,
+            artifacts,
+            error));
+  }
+
+  /** The data row's key (hex of {@link DataShard#rowKey}) if the test takes a Passenger, else null. */
+  private static String dataRow(Object[] params) {
+    return Arrays.stream(params)
+        .filter(Passenger.class::isInstance)
+        .map(p -> Long.toHexString(DataShard.rowKey((Passenger) p)))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /** The per-test log key, e.g. "BookingTest.testBooking-chrome-1f3a9c": test, browser and data row. */
+  private static String testId(Method method, String browser, Object[] params) {
+    String id = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "-" + browser;
+    String dataRow = dataRow(params);
+    return dataRow == null ? id : id + "-" + dataRow;
   }
 
   @AfterSuite(alwaysRun = true)
   public void tearDownSuite() {
-    if (extentReports != null) {
-      extentReports.flush();
+    DriverManager.getPoolStats().forEach((browser, stats) -> {
+      logger.info("Driver pool [{}]: {}", browser, stats);
+      if (reportQueue != null) {
+        reportQueue.systemInfo("Driver Pool (" + browser + ")", stats.toString());
+      }
+    });
+    DriverManager.shutdownPool();
+    DriverServiceFactory.stopAll();
+
+    EventWaits.latencySummary()
+        .forEach(
+            (strategy, summary) -> {
+              logger.info("Wait latency [{}]: {}", strategy, summary);
+              if (reportQueue != null) {
+                reportQueue.systemInfo("Wait Latency (" + strategy + ")", summary);
+              }
+            });
+
+    if (StateSeeder.getSeededTestCount() > 0) {
+      String seeding =
+          String.format(
+              "%d test(s) seeded, ~%.1f s saved",
+              StateSeeder.getSeededTestCount(), StateSeeder.getTotalSavedMillis() / 1000.0);
+      logger.info("State seeding: {}", seeding);
+      if (reportQueue != null) {
+        reportQueue.systemInfo("State Seeding", seeding);
+      }
+    }
+
+    if (ScreencastRecorder.isEnabled()) {
+      logger.info("Screencast: {}", ScreencastRecorder.stats());
+      if (reportQueue != null) {
+        reportQueue.systemInfo("Screencast", ScreencastRecorder.stats());
+      }
+    }
+
+    if (StepMetrics.isEnabled()) {
+      List<Path> metricFiles = StepMetrics.export(Paths.get("reports", "metrics"), reportName());
+      if (!metricFiles.isEmpty()) {
+        logger.info("Step latency written to {}", metricFiles);
+        if (reportQueue != null) {
+          reportQueue.createTest("Step Latency").table(StepMetrics.summaryTable());
+        }
+      }
+    }
+
+    Path flightRecording = FlightRecording.stop(Paths.get("reports", reportName() + ".jfr"));
+    if (flightRecording != null && reportQueue != null) {
+      reportQueue.systemInfo("Flight Recording", flightRecording.toString());
+    }
+
+    // Screenshots are encoded in the background; they must be on disk before the report is. A failure here must
+    // not cost the report itself, so it is logged and the report is flushed regardless.
+    String screenshotStats;
+    try {
+      ScreenshotUtils.awaitPending(60);
+      screenshotStats = ScreenshotUtils.stats();
+    } catch (RuntimeException | LinkageError e) {
+      logger.error("❌ Waiting for screenshots failed; the report may reference missing images", e);
+      screenshotStats = "unavailable (" + e + ")";
+    }
+    logger.info("Screenshots: {}", screenshotStats);
+
+    List<String> failureSummaries = List.of();
+    if (reportQueue != null) {
+      reportQueue.systemInfo("Screenshots", screenshotStats);
+      logger.info("Report queue: {}", reportQueue.stats());
+      reportQueue.systemInfo("Report Queue", reportQueue.stats());
+      failureSummaries = reportQueue.close();
       logger.info("✅ ExtentReports flushed to file.");
     }
+    if (resultsStream != null) {
+      resultsStream.close();
+    }
 
-    String suiteName = System.getProperty("test.suite", "default");
+    String suiteName = reportName();
     String reportFileName = suiteName + "-report.html";
     String summaryFileName = suiteName + "-failure-summary.txt";
 
@@ -163,4 +430,9 @@ public class BaseTest {
       logger.error("❌ Failed to copy report to index.html", e);
     }
   }
-}
\ No newline at end of file
+
+  /** The report file prefix: the 'test.suite' property plus the data shard, e.g. "regression-shard2-of-4". */
+  private static String reportName() {
+    return System.getProperty("test.suite", "default") + DataShard.current().suffix();
+  }
+}
@@ -4,7 +4,8 @@ import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
-import com.aventstack.extentreports.ExtentTest;
+import com.demo.flightbooking.enums.AppPage;
+import com.demo.flightbooking.http.StartPage;
 import com.demo.flightbooking.model.Passenger;
 import com.demo.flightbooking.pages.FlightSelectionPage;
 import com.demo.flightbooking.pages.HomePage;
@@ -15,6 +16,7 @@ import com.demo.flightbooking.utils.CsvDataProvider;
 import com.demo.flightbooking.utils.DriverManager;
 import com.demo.flightbooking.utils.ExtentManager;
 import com.demo.flightbooking.utils.JsonDataProvider;
+import com.demo.flightbooking.utils.ReportTest;
 import com.demo.flightbooking.utils.WebDriverUtils;
 
 /**
@@ -37,9 +39,9 @@ public class BookingTest2 extends BaseTest {
         )
     public void testEndToEndBookingFromJson(Passenger passenger) {
         WebDriver driver = DriverManager.getDriver();
-        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
         driver.get(ConfigReader.getApplicationUrl());
-        ExtentTest test = ExtentManager.getTest();
+        ReportTest test = ExtentManager.getTest();
 
         if (test != null) {
             // --- CHANGE: Using record accessors passenger.firstName() instead of passenger.getFirstName() ---
@@ -88,9 +90,9 @@ public class BookingTest2 extends BaseTest {
           groups = {"regression", "passenger_booking"})
     public void testEndToEndBookingFromCsv(Passenger passenger) {
         WebDriver driver = DriverManager.getDriver();
-        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
         driver.get(ConfigReader.getApplicationUrl());
-        ExtentTest test = ExtentManager.getTest();
+        ReportTest test = ExtentManager.getTest();
 
         if (test != null) {
             // --- CHANGE: Using record accessors passenger.firstName() instead of passenger.getFirstName() ---
@@ -125,4 +127,27 @@ public class BookingTest2 extends BaseTest {
         }
         logger.info("Flight booking (CSV) completed for passenger: {} {}", passenger.firstName(), passenger.lastName());
     }
+
+    /**
+     * Covers only the purchase form: the search and flight choice are seeded over HTTP
+     * and the browser starts on purchase.php.
+     *
+     * @param passenger Passenger record containing personal, payment, and flight details from JSON.
+     */
+    @StartPage(AppPage.PURCHASE)
+    @Test(dataProvider = "passengerData", dataProviderClass = JsonDataProvider.class,
+          groups = {"regression", "passenger_booking"})
+    public void testPurchaseFromSeededState(Passenger passenger) {
+        WebDriver driver = DriverManager.getDriver();
+        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.getTestTimeout());
+        Assert.assertTrue(driver.getCurrentUrl().contains("/purchase.php"), "Test did not start on the purchase page!");
+
+        PurchasePage purchasePage = new PurchasePage(driver);
+        purchasePage.fillPurchaseForm(passenger);
+        purchasePage.clickPurchaseFlightButton();
+
+        boolean urlContainsConfirmation = webDriverUtils.waitUntilUrlContains("/confirmation.php");
+        Assert.assertTrue(urlContainsConfirmation, "Did not navigate to confirmation page after purchase.");
+        logger.info("Seeded purchase completed for passenger: {} {}", passenger.firstName(), passenger.lastName());
+    }
 }
\ No newline at end of file
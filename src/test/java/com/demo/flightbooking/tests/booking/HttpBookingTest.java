@@ -0,0 +1,77 @@
+package com.demo.flightbooking.tests.booking;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.http.HttpFlightSelectionPage;
+import com.demo.flightbooking.http.HttpHomePage;
+import com.demo.flightbooking.http.HttpPurchasePage;
+import com.demo.flightbooking.http.HttpSession;
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.tests.base.BaseTest;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.CsvDataProvider;
+import com.demo.flightbooking.utils.ExtentManager;
+import com.demo.flightbooking.utils.JsonDataProvider;
+import com.demo.flightbooking.utils.ReportTest;
+import com.demo.flightbooking.utils.SyntheticDataProvider;
+import com.demo.flightbooking.utils.TestContext;
+
+/**
+ * The end-to-end booking flow driven over plain HTTP instead of a browser.
+ * Runs the same passenger rows as {@link BookingTest} (both sources are streamed, so the files can be large),
+ * plus generated rows for soak runs (group {@code soak}, run from testng-soak.xml with {@code -Dtestdata.synthetic.rows=...}).
+ * Use it in suites with {@code engine=http} (see testng-http.xml) for data-volume coverage,
+ * and keep browser suites for UI behaviour.
+ */
+public class HttpBookingTest extends BaseTest {
+
+    @Test(dataProvider = "passengerJsonStream", dataProviderClass = JsonDataProvider.class,
+          groups = {"http", "passenger_booking"})
+    public void testHttpBookingFromJson(Passenger passenger) {
+        book(passenger, "JSON");
+    }
+
+    @Test(dataProvider = "passengerCsvStream", dataProviderClass = CsvDataProvider.class,
+          groups = {"http", "passenger_booking"})
+    public void testHttpBookingFromCsv(Passenger passenger) {
+        book(passenger, "CSV");
+    }
+
+    @Test(dataProvider = "syntheticPassengers", dataProviderClass = SyntheticDataProvider.class,
+          groups = {"http", "soak"})
+    public void testHttpBookingSynthetic(Passenger passenger) {
+        book(passenger, "synthetic");
+    }
+
+    private void book(Passenger passenger, String source) {
+        HttpSession session = TestContext.current().getHttpSession();
+        Assert.assertNotNull(session, "No HTTP session; run this class in a suite with engine=http");
+        session.open(ConfigReader.getApplicationUrl());
+        ReportTest test = ExtentManager.getTest();
+
+        if (test != null) {
+            test.info("Attempting HTTP booking for passenger (" + source + "): " + passenger.firstName() + " "
+                      + passenger.lastName() + " from " + passenger.origin() + " to " + passenger.destination());
+        }
+        logger.info("Starting HTTP booking ({}) for passenger: {} {} from {} to {}", source,
+                    passenger.firstName(), passenger.lastName(), passenger.origin(), passenger.destination());
+
+        new HttpHomePage(session).findFlights(passenger.origin(), passenger.destination());
+        Assert.assertTrue(session.getCurrentUrl().contains("/reserve.php"), "Did not navigate to reserve page!");
+
+        new HttpFlightSelectionPage(session).clickChooseFlightButton();
+        Assert.assertTrue(session.getCurrentUrl().contains("/purchase.php"), "Did not navigate to purchase page!");
+
+        HttpPurchasePage purchasePage = new HttpPurchasePage(session);
+        purchasePage.fillPurchaseForm(passenger);
+        purchasePage.clickPurchaseFlightButton();
+        Assert.assertTrue(session.getCurrentUrl().contains("/confirmation.php"),
+                "Did not navigate to confirmation page after purchase.");
+
+        if (test != null) {
+            test.pass("HTTP booking (" + source + ") successful for: " + passenger.firstName() + " " + passenger.lastName());
+        }
+        logger.info("HTTP booking ({}) completed for passenger: {} {}", source, passenger.firstName(), passenger.lastName());
+    }
+}
@@ -0,0 +1,94 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.ConfigSnapshot;
+
+/**
+ * Checks configuration layering and reload. Changes system properties, so it restores them and reloads after.
+ */
+@Test(singleThreaded = true)
+public class ConfigSnapshotTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testSystemPropertiesOverrideTheFile() {
+        ConfigSnapshot defaults = ConfigSnapshot.load("config/config.properties");
+        String previous = System.setProperty("test.timeout", String.valueOf(defaults.getTestTimeout() + 5));
+        try {
+            ConfigSnapshot overridden = ConfigSnapshot.load("config/config.properties");
+            Assert.assertEquals(overridden.getTestTimeout(), defaults.getTestTimeout() + 5);
+            Assert.assertEquals(overridden.changedKeys(defaults), List.of("test.timeout"));
+        } finally {
+            restore("test.timeout", previous);
+        }
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testEnvironmentSelectsItsUrl() {
+        String previous = System.setProperty("env", "staging");
+        try {
+            ConfigSnapshot staging = ConfigSnapshot.load("config/config.properties");
+            Assert.assertEquals(staging.getApplicationUrl(), staging.get("staging.url"));
+
+            System.setProperty("env", "nowhere");
+            ConfigSnapshot invalid = ConfigSnapshot.load("config/config.properties");
+            Assert.assertNotNull(invalid.get("browser"), "an invalid env must not stop the rest of the config loading");
+            Assert.assertThrows(IllegalArgumentException.class, invalid::getApplicationUrl);
+        } finally {
+            restore("env", previous);
+        }
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testReloadSwapsTheSnapshot() {
+        ConfigSnapshot before = ConfigReader.snapshot();
+        String previous = System.setProperty("test.timeout", "7");
+        try {
+            Assert.assertTrue(ConfigReader.reload());
+            Assert.assertNotSame(ConfigReader.snapshot(), before);
+            Assert.assertEquals(ConfigReader.getTestTimeout(), 7);
+            Assert.assertEquals(ConfigReader.getPropertyAsInt("test.timeout"), 7);
+            Assert.assertNotEquals(before.getTestTimeout(), 7, "an old snapshot never changes");
+        } finally {
+            restore("test.timeout", previous);
+            ConfigReader.reload();
+        }
+        Assert.assertEquals(ConfigReader.getTestTimeout(), before.getTestTimeout());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testReloadReadsTheWatchedDirectory() throws IOException {
+        ConfigSnapshot classpath = ConfigSnapshot.load("config/config.properties");
+        Path dir = Files.createTempDirectory("config-watch");
+        Path file = dir.resolve("config.properties");
+        try {
+            ConfigSnapshot fallback = ConfigSnapshot.load("config/config.properties", dir);
+            Assert.assertEquals(fallback.get("application.url"), classpath.get("application.url"),
+                    "no file there: the classpath copy is used");
+
+            Files.writeString(file, "watch.marker=edited\n");
+            ConfigSnapshot edited = ConfigSnapshot.load("config/config.properties", dir);
+            Assert.assertEquals(edited.get("watch.marker"), "edited");
+            Assert.assertEquals(edited.getFiles().get(0), file.toAbsolutePath());
+            Assert.assertNull(edited.get("application.url"), "the watched file replaces the classpath copy");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void restore(String key, String previous) {
+        if (previous == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, previous);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.DataShard;
+import com.demo.flightbooking.utils.ShardReportMerger;
+import com.demo.flightbooking.utils.SyntheticPassengerGenerator;
+
+/**
+ * Checks data-row sharding and the merge of per-shard reports. No browser is needed.
+ */
+public class DataShardTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testShardsAreDisjointAndCoverEveryRow() {
+        List<Passenger> rows = rows(2_000);
+        int total = 0;
+        Set<Passenger> seen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            List<Passenger> slice = new ArrayList<>();
+            new DataShard(i, 4).filter(rows.iterator()).forEachRemaining(slice::add);
+            Assert.assertTrue(slice.size() > 350 && slice.size() < 650, "unbalanced shard " + i + ": " + slice.size());
+            seen.addAll(slice);
+            total += slice.size();
+        }
+        Assert.assertEquals(total, rows.size());
+        Assert.assertEquals(seen.size(), rows.size());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRowsOnlyMoveToNewShardsWhenCountGrows() {
+        for (Passenger row : rows(2_000)) {
+            long key = DataShard.rowKey(row);
+            int before = DataShard.jumpHash(key, 4);
+            int after = DataShard.jumpHash(key, 5);
+            Assert.assertTrue(after == before || after == 4, "row moved between existing shards");
+        }
+        Assert.assertTrue(new DataShard(0, 1).accepts(rows(1).get(0)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new DataShard(3, 3));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testShardReportsAreMerged() throws IOException {
+        Path dir = Files.createTempDirectory("shards");
+        for (int shard = 1; shard <= 2; shard++) {
+            ExtentReports report = new ExtentReports();
+            report.attachReporter(new JsonFormatter(dir.resolve("regression-shard" + shard + "-of-2.json").toString()));
+            report.createTest("booking " + shard).pass("ok");
+            report.createTest("failing " + shard).fail("boom");
+            report.flush();
+            Files.writeString(dir.resolve("regression-shard" + shard + "-of-2-failure-summary.txt"),
+                    "===== FAILED TEST SUMMARY =====\nfailing " + shard + " | boom\n");
+        }
+
+        ShardReportMerger.Result result = ShardReportMerger.merge(dir, "regression");
+
+        Assert.assertEquals(result.archives().size(), 2);
+        Assert.assertEquals(result.failures(), 2);
+        String html = Files.readString(dir.resolve("regression-report.html"));
+        Assert.assertTrue(html.contains("booking 1") && html.contains("booking 2"), "merged report misses a shard");
+        Assert.assertTrue(Files.exists(dir.resolve("index.html")));
+        Assert.assertEquals(Files.readAllLines(dir.resolve("regression-failure-summary.txt")).size(), 3);
+    }
+
+    private static List<Passenger> rows(int count) {
+        List<Passenger> rows = new ArrayList<>();
+        new SyntheticPassengerGenerator(99, count, 2025).forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.DomSnapshot;
+
+/**
+ * Checks queries against a parsed DOM snapshot. No browser is needed.
+ */
+public class DomSnapshotTest {
+
+    private static final DomSnapshot SNAPSHOT = DomSnapshot.parse("""
+            <html><head><title>BlazeDemo</title></head><body>
+              <form action="reserve.php" method="post">
+                <select name="fromPort"><option value="Paris">Paris</option><option value="Boston" selected>Boston</option></select>
+                <select name="toPort"><option value="Rome">Rome</option><option value="London">London</option></select>
+                <input type="text" id="inputName" name="inputName" value="Emily">
+                <input type="submit" class="btn btn-primary" value="Find Flights">
+              </form>
+              <h1>Welcome to the Simple Travel Agency!</h1>
+            </body></html>""", "https://blazedemo.com/");
+
+    @Test(groups = {"regression", "framework"})
+    public void testSeleniumLocatorsResolveAgainstTheSnapshot() {
+        Assert.assertEquals(SNAPSHOT.findFirst(By.name("fromPort")).orElseThrow().select("option").eachText(),
+                List.of("Paris", "Boston"));
+        Assert.assertEquals(SNAPSHOT.findFirst(By.id("inputName")).orElseThrow().val(), "Emily");
+        Assert.assertEquals(SNAPSHOT.find(By.cssSelector("input[type='submit']")).size(), 1);
+        Assert.assertEquals(SNAPSHOT.text(By.xpath("//h1")).orElseThrow(), "Welcome to the Simple Travel Agency!");
+        Assert.assertEquals(SNAPSHOT.find(By.className("btn")).size(), 1);
+        Assert.assertTrue(SNAPSHOT.find(By.id("missing")).isEmpty());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testTextLookups() {
+        Assert.assertEquals(SNAPSHOT.texts("select[name=toPort] option"), List.of("Rome", "London"));
+        Assert.assertEquals(SNAPSHOT.select("option[selected]").text(), "Boston");
+        Assert.assertTrue(SNAPSHOT.containsText("Simple Travel Agency"));
+        Assert.assertFalse(SNAPSHOT.containsText("Purchase"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testUnsupportedLocatorIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> SNAPSHOT.find(By.linkText("Home")));
+    }
+}
@@ -0,0 +1,158 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.utils.DriverPool;
+
+/**
+ * Checks leasing, reuse and eviction in the driver pool with fake sessions. No browser is needed.
+ */
+public class DriverPoolTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testReleasedSessionIsReusedOnTheNextLease() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 5, Duration.ofSeconds(1));
+
+        DriverPool.PooledDriver first = pool.lease(BrowserType.CHROME);
+        pool.release(first, true);
+        DriverPool.PooledDriver second = pool.lease(BrowserType.CHROME);
+
+        Assert.assertSame(second.driver(), first.driver());
+        DriverPool.Stats stats = pool.stats().get(BrowserType.CHROME);
+        Assert.assertEquals(stats.misses(), 1);
+        Assert.assertEquals(stats.hits(), 1);
+        Assert.assertEquals(sessions.created.size(), 1);
+        Assert.assertTrue(sessions.quit.isEmpty());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSessionIsEvictedAfterMaxUses() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 2, Duration.ofSeconds(1));
+
+        DriverPool.PooledDriver lease = pool.lease(BrowserType.CHROME);
+        pool.release(lease, true);
+        lease = pool.lease(BrowserType.CHROME);
+        pool.release(lease, true); // second use: worn out
+
+        Assert.assertEquals(sessions.quit, List.of(lease.driver()));
+        Assert.assertNotSame(pool.lease(BrowserType.CHROME).driver(), lease.driver());
+        Assert.assertEquals(pool.stats().get(BrowserType.CHROME).evictions(), 1);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSessionReleasedAfterAnErrorIsEvicted() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 5, Duration.ofSeconds(1));
+
+        DriverPool.PooledDriver lease = pool.lease(BrowserType.FIREFOX);
+        pool.release(lease, false);
+
+        Assert.assertEquals(sessions.quit, List.of(lease.driver()));
+        Assert.assertEquals(pool.stats().get(BrowserType.FIREFOX).idle(), 0);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSessionIsEvictedWhenResetFails() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 5, Duration.ofSeconds(1));
+
+        DriverPool.PooledDriver lease = pool.lease(BrowserType.CHROME);
+        sessions.failReset = true;
+        pool.release(lease, true);
+
+        Assert.assertEquals(sessions.quit, List.of(lease.driver()));
+        Assert.assertEquals(pool.stats().get(BrowserType.CHROME).idle(), 0);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testUnhealthyIdleSessionIsReplaced() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 5, Duration.ofSeconds(1));
+
+        DriverPool.PooledDriver lease = pool.lease(BrowserType.EDGE);
+        pool.release(lease, true);
+        sessions.crashAll(); // the browser crashed while the session sat idle
+        DriverPool.PooledDriver next = pool.lease(BrowserType.EDGE);
+
+        Assert.assertNotSame(next.driver(), lease.driver());
+        Assert.assertEquals(sessions.quit, List.of(lease.driver()));
+        DriverPool.Stats stats = pool.stats().get(BrowserType.EDGE);
+        Assert.assertEquals(stats.hits(), 0);
+        Assert.assertEquals(stats.misses(), 2);
+        Assert.assertEquals(stats.evictions(), 1);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testLeaseTimesOutWhenEverySessionIsLeased() {
+        Sessions sessions = new Sessions();
+        DriverPool pool = sessions.pool(1, 5, Duration.ofMillis(200));
+
+        pool.lease(BrowserType.CHROME);
+        long start = System.nanoTime();
+        RuntimeException e = Assert.expectThrows(RuntimeException.class, () -> pool.lease(BrowserType.CHROME));
+
+        Assert.assertTrue(e.getMessage().contains("waiting for a pooled CHROME session"), e.getMessage());
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 >= 150, "waited for the lease timeout");
+        Assert.assertEquals(sessions.created.size(), 1, "no session beyond maxSize is created");
+    }
+
+    // Fake sessions that answer the pool's health check and reset; crashAll() and failReset make them misbehave.
+    private static final class Sessions {
+        private final List<WebDriver> created = new ArrayList<>();
+        private final List<WebDriver> quit = new ArrayList<>();
+        private volatile int crashedBelow;
+        private volatile boolean failReset;
+
+        void crashAll() {
+            crashedBelow = created.size();
+        }
+
+        DriverPool pool(int maxSize, int maxUses, Duration leaseTimeout) {
+            return new DriverPool(type -> create(), quit::add, maxSize, maxUses, leaseTimeout);
+        }
+
+        private WebDriver create() {
+            int id = created.size();
+            WebDriver[] self = new WebDriver[1];
+            self[0] = (WebDriver) Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class, JavascriptExecutor.class, WebDriver.Options.class,
+                            WebDriver.TargetLocator.class},
+                    (proxy, method, args) -> {
+                        if (id < crashedBelow && method.getDeclaringClass() != Object.class) {
+                            throw new NoSuchSessionException("invalid session id");
+                        }
+                        return switch (method.getName()) {
+                            case "executeScript" -> {
+                                if (failReset) {
+                                    throw new WebDriverException("javascript error: page crashed");
+                                }
+                                yield null;
+                            }
+                            case "manage", "switchTo", "window" -> self[0];
+                            case "getWindowHandle" -> "w1";
+                            case "getWindowHandles" -> Set.of("w1");
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            case "toString" -> "FakeSession" + id;
+                            default -> null;
+                        };
+                    });
+            created.add(self[0]);
+            return self[0];
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.EventWaits;
+
+/**
+ * Checks how the event-driven waits treat script errors, against a fake session. No browser is needed.
+ */
+public class EventWaitsTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testInvalidSelectorFailsFast() {
+        AtomicInteger calls = new AtomicInteger();
+        WebDriver driver = scriptDriver(calls, () -> {
+            throw new JavascriptException("javascript error: Failed to execute 'querySelector' on 'Document':"
+                    + " 'input[' is not a valid selector.");
+        });
+
+        long start = System.nanoTime();
+        Assert.assertThrows(JavascriptException.class,
+                () -> EventWaits.waitForElement(driver, By.cssSelector("input["), Duration.ofSeconds(10), false));
+
+        Assert.assertEquals(calls.get(), 1, "the script is not re-sent");
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 2_000, "did not wait for the timeout");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testNavigationIsRetriedWithAPause() {
+        AtomicInteger calls = new AtomicInteger();
+        WebElement found = (WebElement) Proxy.newProxyInstance(EventWaitsTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+        WebDriver driver = scriptDriver(calls, () -> {
+            if (calls.get() < 3) {
+                throw new JavascriptException("javascript error: document unloaded while waiting for result");
+            }
+            return found;
+        });
+
+        long start = System.nanoTime();
+        WebElement element = EventWaits.waitForElement(driver, By.id("inputName"), Duration.ofSeconds(10), false);
+
+        Assert.assertSame(element, found);
+        Assert.assertEquals(calls.get(), 3);
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 >= 150, "paused between retries");
+    }
+
+    interface Script {
+        Object run();
+    }
+
+    // A session whose every executeAsyncScript call is answered by 'script'.
+    private static WebDriver scriptDriver(AtomicInteger calls, Script script) {
+        return (WebDriver) Proxy.newProxyInstance(EventWaitsTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "executeAsyncScript" -> {
+                        calls.incrementAndGet();
+                        yield script.run();
+                    }
+                    case "getCurrentUrl" -> "https://blazedemo.com/purchase.php";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
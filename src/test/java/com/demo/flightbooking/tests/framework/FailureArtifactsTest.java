@@ -0,0 +1,119 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.FailureArtifacts;
+
+/**
+ * Checks the failure bundle against a stub driver whose page source never comes back. No browser is needed.
+ */
+public class FailureArtifactsTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Test(groups = {"regression", "framework"})
+    public void testBundleIsWrittenWithinTheTimeLimitWhenTheBrowserHangs() throws Exception {
+        WebDriver driver = hangingDriver();
+
+        long start = System.nanoTime();
+        FailureArtifacts.Bundle bundle = FailureArtifacts.capture(driver, "failureArtifactsTest",
+                new AssertionError("Expected purchase confirmation"), 0, Duration.ofSeconds(1));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        try {
+            Assert.assertTrue(elapsedMillis < 3_000, "capture took " + elapsedMillis + " ms");
+            Assert.assertEquals(bundle.screenshot(), PNG);
+            Assert.assertEquals(bundle.missing(), List.of("page.html (timed out)"));
+
+            Map<String, String> entries = unzip(bundle);
+            Assert.assertEquals(entries.keySet(), Set.of(
+                    "summary.txt", "screenshot.png", "url.txt", "network.tsv", "console.log", "error.txt"));
+            Assert.assertTrue(entries.get("summary.txt").contains("missing: page.html (timed out)"));
+            Assert.assertEquals(entries.get("url.txt"), "https://blazedemo.com/purchase.php\nBlazeDemo Purchase\n");
+            Assert.assertEquals(entries.get("network.tsv").split("\n")[2],
+                    "120\t2350\t2300\t5120\tfetch\thttps://blazedemo.com/api/price");
+            Assert.assertTrue(entries.get("error.txt").startsWith("java.lang.AssertionError: Expected purchase confirmation"));
+            Assert.assertTrue(entries.get("console.log").startsWith("Not recorded"));
+        } finally {
+            FailureArtifacts.forget(driver);
+            Files.deleteIfExists(bundle.file());
+        }
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRepeatedCapturesOfAHungSessionDoNotAddThreads() throws Exception {
+        Set<Thread> pageSourceThreads = ConcurrentHashMap.newKeySet();
+        WebDriver driver = hangingDriver(pageSourceThreads);
+
+        List<FailureArtifacts.Bundle> bundles = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                bundles.add(FailureArtifacts.capture(driver, "failureArtifactsTest", null, 0, Duration.ofMillis(300)));
+            }
+
+            Assert.assertTrue(pageSourceThreads.size() <= 4,
+                    "one session holds at most its own capture threads, found " + pageSourceThreads.size());
+            Assert.assertEquals(bundles.get(5).missing().size(), 4, "with every thread stuck, all parts time out");
+        } finally {
+            FailureArtifacts.forget(driver);
+            for (FailureArtifacts.Bundle bundle : bundles) {
+                Files.deleteIfExists(bundle.file());
+            }
+        }
+    }
+
+    private static Map<String, String> unzip(FailureArtifacts.Bundle bundle) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(bundle.file()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    // Answers every call at once except getPageSource, which hangs like a browser stuck on a modal.
+    private static WebDriver hangingDriver() {
+        return hangingDriver(ConcurrentHashMap.newKeySet());
+    }
+
+    private static WebDriver hangingDriver(Set<Thread> pageSourceThreads) {
+        return (WebDriver) Proxy.newProxyInstance(FailureArtifactsTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, TakesScreenshot.class, JavascriptExecutor.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getScreenshotAs" -> args[0] == OutputType.BYTES ? PNG : null;
+                    case "getPageSource" -> {
+                        pageSourceThreads.add(Thread.currentThread());
+                        Thread.sleep(10_000);
+                        yield "<html></html>";
+                    }
+                    case "getCurrentUrl" -> "https://blazedemo.com/purchase.php";
+                    case "getTitle" -> "BlazeDemo Purchase";
+                    case "executeScript" -> List.of(
+                            List.of(0L, 640.5, 210.2, 3072L, "navigation", "https://blazedemo.com/purchase.php"),
+                            List.of(120L, 2350.0, 2300.0, 5120L, "fetch", "https://blazedemo.com/api/price"));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.pages.FlightTable;
+
+/**
+ * Checks the queries on the bulk-read flight results table. No browser is needed.
+ */
+public class FlightTableTest {
+
+    private static final FlightTable TABLE = new FlightTable(List.of(
+            List.of("43", "Virgin America", "1:43 AM", "9:45 PM", "$472.56"),
+            List.of("234", "United Airlines", "7:43 AM", "8:00 PM", "$432.98"),
+            List.of("9696", new String("Virgin America"), "5:27 AM", "8:22 PM", "$200.98"),
+            List.of("12", "Lufthansa", "9:43 AM", "5:45 PM", "$765.32")), List.of());
+
+    @Test(groups = {"regression", "framework"})
+    public void testCheapestFlight() {
+        Assert.assertEquals(TABLE.cheapestRow().getAsInt(), 2);
+        Assert.assertEquals(TABLE.lowestPrice().getAsDouble(), 200.98);
+        Assert.assertEquals(TABLE.get(2).flightNumber(), "9696");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testFilterByAirlineAndCriteria() {
+        Assert.assertEquals(TABLE.rowsForAirline("Virgin America"), new int[]{0, 2});
+        Assert.assertSame(TABLE.airline(0), TABLE.airline(2), "Airline names should be interned");
+        Assert.assertEquals(TABLE.firstRowMatching(f -> f.price() > 500).getAsInt(), 3);
+        Assert.assertTrue(TABLE.firstRowMatching(f -> f.airline().equals("Delta")).isEmpty());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testEmptyTableHasNoCheapestFlight() {
+        FlightTable empty = new FlightTable(List.of(), List.of());
+        Assert.assertTrue(empty.cheapestRow().isEmpty());
+        Assert.assertTrue(empty.lowestPrice().isEmpty());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSoldOutRowIsKeptButNotBookable() {
+        WebElement button = (WebElement) Proxy.newProxyInstance(FlightTableTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+        FlightTable table = new FlightTable(List.of(
+                List.of("43", "Virgin America", "1:43 AM", "9:45 PM", "$472.56"),
+                List.of("9696", "Virgin America", "5:27 AM", "8:22 PM", "$200.98"),
+                List.of("12", "Lufthansa", "9:43 AM", "5:45 PM", "$765.32")), Arrays.asList(button, null, button));
+
+        Assert.assertEquals(table.size(), 3);
+        Assert.assertFalse(table.isBookable(1), "the sold-out row has no choose button");
+        Assert.assertTrue(table.isBookable(0));
+        Assert.assertEquals(table.cheapestRow().getAsInt(), 1, "its data is still there");
+        Assert.assertEquals(table.cheapestBookableRow().getAsInt(), 0);
+    }
+}
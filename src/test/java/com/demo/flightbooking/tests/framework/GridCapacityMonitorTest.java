@@ -0,0 +1,112 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.utils.GridCapacityMonitor;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks the Grid capacity monitor against a local stub of the hub's /status endpoint.
+ * No browser or Grid is needed. The methods share one stub, so they run one at a time.
+ */
+@Test(singleThreaded = true)
+public class GridCapacityMonitorTest {
+
+    private final AtomicReference<String> statusBody = new AtomicReference<>();
+    private HttpServer stubHub;
+    private URI statusUri;
+
+    @BeforeClass(alwaysRun = true)
+    public void startStubHub() throws IOException {
+        stubHub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubHub.createContext("/status", exchange -> {
+            byte[] body = statusBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubHub.start();
+        statusUri = URI.create("http://localhost:" + stubHub.getAddress().getPort() + "/status");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubHub() {
+        stubHub.stop(0);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testStatusIsParsedIntoFreeSlotsPerBrowser() {
+        statusBody.set(status(
+                node("UP", slot("chrome", true), slot("chrome", false)),
+                node("UP", slot("firefox", false)),
+                node("DOWN", slot("firefox", false))));
+
+        Map<BrowserType, GridCapacityMonitor.Capacity> capacity = new GridCapacityMonitor(statusUri).poll();
+
+        Assert.assertEquals(capacity.get(BrowserType.CHROME), new GridCapacityMonitor.Capacity(2, 1));
+        Assert.assertEquals(capacity.get(BrowserType.FIREFOX), new GridCapacityMonitor.Capacity(1, 1),
+                "Slots on nodes that are not UP must not be counted");
+        Assert.assertFalse(capacity.containsKey(BrowserType.EDGE));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSessionCreationWaitsUntilHubReportsAFreeSlot() throws Exception {
+        GridCapacityMonitor monitor = new GridCapacityMonitor(statusUri);
+        statusBody.set(status(node("UP", slot("chrome", false))));
+        monitor.poll();
+        monitor.acquireSlot(BrowserType.CHROME, Duration.ofSeconds(1));
+
+        // Our session now occupies the only slot.
+        statusBody.set(status(node("UP", slot("chrome", true))));
+        monitor.poll();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+                () -> monitor.acquireSlot(BrowserType.CHROME, Duration.ofSeconds(10)));
+        Thread.sleep(200);
+        Assert.assertFalse(second.isDone(), "A second session must wait while the Grid is full");
+
+        // The Grid is scaled up by one node.
+        statusBody.set(status(node("UP", slot("chrome", true)), node("UP", slot("chrome", false))));
+        monitor.poll();
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testAcquireTimesOutWhenTheGridStaysFull() {
+        GridCapacityMonitor monitor = new GridCapacityMonitor(statusUri);
+        statusBody.set(status(node("UP", slot("firefox", true))));
+        monitor.poll();
+
+        Assert.assertThrows(RuntimeException.class,
+                () -> monitor.acquireSlot(BrowserType.FIREFOX, Duration.ofMillis(100)));
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\":{\"ready\":true,\"nodes\":[" + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, String... slots) {
+        return "{\"availability\":\"" + availability + "\",\"slots\":[" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browserName, boolean busy) {
+        return "{\"session\":" + (busy ? "{\"sessionId\":\"abc\"}" : "null")
+                + ",\"stereotype\":{\"browserName\":\"" + browserName + "\"}}";
+    }
+}
@@ -0,0 +1,135 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.http.HtmlForm;
+import com.demo.flightbooking.http.HttpFlightSelectionPage;
+import com.demo.flightbooking.http.HttpHomePage;
+import com.demo.flightbooking.http.HttpPurchasePage;
+import com.demo.flightbooking.http.HttpSession;
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.BlazeDemoStub;
+
+/**
+ * Runs the HTTP booking engine against a local stub of the BlazeDemo pages.
+ * No browser or internet connection is needed. The methods share one stub, so they run one at a time.
+ */
+@Test(singleThreaded = true)
+public class HttpBookingEngineTest {
+
+    private static final Passenger PASSENGER = new Passenger("Boston", "London", "Michael", "Brown",
+            "789 Pine Street", "Gotham", "GS", "67890", "Diner's Club", "9999888877776666", "06", "2027",
+            "Michael Brown", 45, "Male");
+
+    private BlazeDemoStub stub;
+
+    @BeforeClass(alwaysRun = true)
+    public void startStub() throws IOException {
+        stub = new BlazeDemoStub();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        stub.stop();
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testBookingFlowPostsTheSameFormsAsTheBrowser() {
+        HttpSession session = new HttpSession();
+        session.open(stub.getUrl());
+
+        new HttpHomePage(session).findFlights(PASSENGER.origin(), PASSENGER.destination());
+        Assert.assertTrue(session.getCurrentUrl().contains("/reserve.php"), "Did not get to reserve page!");
+
+        HttpFlightSelectionPage flightSelectionPage = new HttpFlightSelectionPage(session);
+        Assert.assertEquals(flightSelectionPage.getLowestFlightPrice().orElseThrow(), 432.98);
+        flightSelectionPage.clickChooseFlightButton();
+        Assert.assertTrue(session.getCurrentUrl().contains("/purchase.php"), "Did not get to purchase page!");
+
+        HttpPurchasePage purchasePage = new HttpPurchasePage(session);
+        purchasePage.fillPurchaseForm(PASSENGER);
+        purchasePage.clickPurchaseFlightButton();
+        Assert.assertTrue(session.getCurrentUrl().contains("/confirmation.php"), "Did not get to confirmation page!");
+        Assert.assertEquals(purchasePage.getPageTitle(), "BlazeDemo Confirmation");
+
+        Map<String, String> purchase = stub.getPurchases().get(stub.getPurchases().size() - 1);
+        Assert.assertEquals(purchase.get("inputName"), "Michael");
+        Assert.assertEquals(purchase.get("cardType"), "dinersclub", "Select must send the option value, not its text");
+        Assert.assertEquals(purchase.get("creditCardMonth"), "06", "Pre-filled fields must be replaced");
+        Assert.assertEquals(purchase.get("rememberMe"), "on");
+        Assert.assertEquals(purchase.get("_token"), "stub-token", "Hidden fields must be posted back");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSessionsKeepTheirOwnCookies() {
+        HttpSession first = new HttpSession();
+        first.open(stub.getUrl());
+        Assert.assertEquals(first.getCookies().get(0).getName(), BlazeDemoStub.SESSION_COOKIE);
+
+        // The same form posted from a session that never got the cookie is rejected, like in a fresh browser.
+        HtmlForm search = first.getCurrentPage().form("reserve.php");
+        HttpSession second = new HttpSession();
+        Assert.assertThrows(RuntimeException.class, () -> second.submit(search));
+        Assert.assertTrue(first.submit(search).uri().getPath().endsWith("/reserve.php"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testUnknownCityFailsLikeSelectByVisibleText() {
+        HttpSession session = new HttpSession();
+        session.open(stub.getUrl());
+
+        Assert.assertThrows(RuntimeException.class, () -> new HttpHomePage(session).findFlights("Atlantis", "Rome"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRedirectsAreFollowedButALoopFails() {
+        HttpSession session = new HttpSession();
+        Assert.assertEquals(session.open(stub.getUrl() + "home.php").uri().getPath(), "/");
+
+        RuntimeException e = Assert.expectThrows(RuntimeException.class, () -> session.open(stub.getUrl() + "loop.php"));
+        Assert.assertTrue(e.getMessage().contains("after 5 redirects"), e.getMessage());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testTemporaryAndPermanentRedirectsResendThePost() {
+        for (String endpoint : new String[]{"confirm-v1.php", "confirm-v2.php"}) {
+            HttpSession session = new HttpSession();
+            session.open(stub.getUrl());
+            int before = stub.getPurchases().size();
+
+            session.submit(postForm(endpoint));
+
+            Assert.assertEquals(session.getCurrentUrl(), stub.getUrl() + "confirmation.php", endpoint);
+            Assert.assertEquals(stub.getPurchases().size(), before + 1, endpoint + " must re-send the POST");
+            Assert.assertEquals(stub.getPurchases().get(before).get("inputName"), "Ada", endpoint + " must keep the body");
+        }
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSeeOtherTurnsThePostIntoAGet() {
+        HttpSession session = new HttpSession();
+        session.open(stub.getUrl());
+
+        session.submit(postForm("checkout.php"));
+
+        List<String> requests = stub.getRequests();
+        Assert.assertEquals(requests.subList(requests.size() - 2, requests.size()), List.of("POST /checkout.php", "GET /"));
+    }
+
+    private HtmlForm postForm(String action) {
+        Element form = Jsoup.parse("<form action='" + action + "' method='post'>"
+                + "<input type='hidden' name='_token' value='stub-token'><input name='inputName' value='Ada'></form>")
+                .selectFirst("form");
+        return HtmlForm.from(form, URI.create(stub.getUrl()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.DriverCommandEvent;
+import com.demo.flightbooking.utils.DriverSessionEvent;
+import com.demo.flightbooking.utils.JfrCommandListener;
+import com.demo.flightbooking.utils.TestLogs;
+import com.demo.flightbooking.utils.WaitEvent;
+import com.demo.flightbooking.utils.WebDriverUtils;
+
+/**
+ * Checks the JFR events for WebDriver commands, sessions and waits against an in-memory driver. No browser is needed.
+ */
+@Test(singleThreaded = true)
+public class JfrEventsTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testCommandsCarryLocatorBrowserAndTest() throws Exception {
+        WebDriver fake = fakeDriver(true);
+        WebDriver driver = new EventFiringDecorator<>(new JfrCommandListener(fake)).decorate(fake);
+
+        List<RecordedEvent> events = record(() -> {
+            DriverSessionEvent.start().finish("create", fake, "LOCAL (dedicated service)");
+            TestLogs.begin("JfrEventsTest.commands-chrome");
+            try {
+                driver.get("https://blazedemo.com/purchase.php");
+                driver.findElement(By.id("inputName")).click();
+                Assert.assertThrows(NoSuchWindowException.class, driver::getTitle);
+            } finally {
+                TestLogs.end(false);
+            }
+        });
+
+        List<RecordedEvent> commands = ofType(events, "com.demo.flightbooking.DriverCommand");
+        Assert.assertEquals(commands.stream().map(e -> e.getString("command")).toList(),
+                List.of("WebDriver.get", "WebDriver.findElement", "WebElement.click", "WebDriver.getTitle"));
+        RecordedEvent click = commands.get(2);
+        Assert.assertEquals(click.getString("locator"), "By.id: inputName", "elements remember how they were found");
+        Assert.assertEquals(click.getString("browser"), "chrome");
+        Assert.assertEquals(click.getString("testName"), "JfrEventsTest.commands-chrome");
+        Assert.assertTrue(click.getDuration().toMillis() >= 20, "duration covers the call: " + click.getDuration());
+        Assert.assertNull(commands.get(0).getString("locator"));
+        Assert.assertEquals(commands.get(3).getString("error"), "NoSuchWindowException");
+
+        RecordedEvent session = ofType(events, "com.demo.flightbooking.DriverSession").get(0);
+        Assert.assertEquals(session.getString("action"), "create");
+        Assert.assertEquals(session.getString("browser"), "chrome");
+        Assert.assertEquals(session.getString("mode"), "LOCAL (dedicated service)");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testWaitsAreRecordedWithTheirOutcome() throws Exception {
+        WebDriverUtils utils = new WebDriverUtils(fakeDriver(false), 1);
+
+        List<RecordedEvent> events = record(() -> {
+            utils.findElement(By.id("inputName"));
+            Assert.assertFalse(utils.waitUntilTitleContains("Confirmation"));
+        });
+
+        List<RecordedEvent> waits = ofType(events, "com.demo.flightbooking.Wait");
+        Assert.assertEquals(waits.size(), 2);
+        Assert.assertEquals(waits.get(0).getString("kind"), "visible");
+        Assert.assertEquals(waits.get(0).getString("target"), "By.id: inputName");
+        Assert.assertFalse(waits.get(0).getBoolean("timedOut"));
+        Assert.assertEquals(waits.get(1).getString("kind"), "title");
+        Assert.assertEquals(waits.get(1).getString("strategy"), "polling");
+        Assert.assertTrue(waits.get(1).getBoolean("timedOut"));
+        Assert.assertTrue(waits.get(1).getDuration().toMillis() >= 900, "timed out after the 1 s timeout");
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = Files.createTempFile("jfr-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DriverCommandEvent.class);
+            recording.enable(DriverSessionEvent.class);
+            recording.enable(WaitEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+
+    // A Chrome session whose element clicks take 20 ms; with windowClosed, reading the title fails.
+    private static WebDriver fakeDriver(boolean windowClosed) {
+        WebElement element = (WebElement) Proxy.newProxyInstance(JfrEventsTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "click" -> {
+                        Thread.sleep(20);
+                        yield null;
+                    }
+                    case "isDisplayed" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        return (WebDriver) Proxy.newProxyInstance(JfrEventsTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, HasCapabilities.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findElement" -> element;
+                    case "getCapabilities" -> new ImmutableCapabilities("browserName", "chrome");
+                    case "getTitle" -> {
+                        if (windowClosed) {
+                            throw new NoSuchWindowException("no such window: target window already closed");
+                        }
+                        yield "BlazeDemo Purchase";
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,87 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.PassengerCsvReader;
+
+/**
+ * Checks the streaming CSV reader behind the CSV data providers. No browser is needed.
+ */
+public class PassengerCsvReaderTest {
+
+    private static final String HEADER =
+            "origin,destination,firstName,lastName,address,city,state,zipCode,cardType,cardNumber,month,year,cardName,age,gender\n";
+
+    @Test(groups = {"regression", "framework"})
+    public void testQuotedValuesAndReorderedColumns() {
+        String csv = "gender,age,origin,destination,firstName,lastName,address,city,state,zipCode,cardType,cardNumber,month,year,cardName\n"
+                + "Female,34,Paris,Rome,Emily,Johnson,\"456 Oak Avenue, Apt 2\",Metropolis,MS,54321,Diner's Club,5555666677778888,11,2026,Emily Johnson\n"
+                + "\n";
+        PassengerCsvReader reader = new PassengerCsvReader(new StringReader(csv), "inline");
+
+        Passenger passenger = reader.next();
+        Assert.assertEquals(passenger.address(), "456 Oak Avenue, Apt 2");
+        Assert.assertEquals(passenger.age(), 34);
+        Assert.assertEquals(passenger.gender(), "Female");
+        Assert.assertFalse(reader.hasNext(), "Blank trailing lines are not rows");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testMissingColumnAndBadNumberAreReported() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new PassengerCsvReader(new StringReader("origin,destination\nParis,Rome\n"), "inline"));
+
+        PassengerCsvReader reader = new PassengerCsvReader(new StringReader(HEADER
+                + "Paris,Rome,A,B,C,D,E,F,Visa,1,01,2030,A B,old,Male\n"), "inline");
+        Assert.assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testLargeInputIsReadRowByRow() {
+        int rows = 200_000;
+        long count = 0;
+        try (PassengerCsvReader reader = new PassengerCsvReader(generatedCsv(rows), "generated")) {
+            while (reader.hasNext()) {
+                reader.next();
+                count++;
+            }
+        }
+        Assert.assertEquals(count, rows);
+    }
+
+    // Produces the CSV on the fly so the test itself never holds the whole file.
+    private static Reader generatedCsv(int rows) {
+        return new Reader() {
+            private final StringBuilder buffer = new StringBuilder(HEADER);
+            private int produced;
+            private int position;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (position == buffer.length()) {
+                    if (produced == rows) {
+                        return -1;
+                    }
+                    buffer.setLength(0);
+                    position = 0;
+                    buffer.append("Boston,London,First").append(produced).append(",Last,\"1 Main St, Unit ")
+                            .append(produced).append("\",Gotham,GS,67890,Visa,4111111111111111,06,2027,First Last,40,Male\n");
+                    produced++;
+                }
+                int n = Math.min(len, buffer.length() - position);
+                buffer.getChars(position, position + n, cbuf, off);
+                position += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
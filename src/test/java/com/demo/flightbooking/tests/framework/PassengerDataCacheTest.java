@@ -0,0 +1,89 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.PassengerCsvReader;
+import com.demo.flightbooking.utils.PassengerDataCache;
+import com.demo.flightbooking.utils.PassengerFilter;
+import com.demo.flightbooking.utils.PassengerJsonReader;
+
+/**
+ * Checks the compiled test data cache against the text parsers. No browser is needed.
+ */
+public class PassengerDataCacheTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testCacheMatchesSourceFiles() {
+        List<Passenger> csv = new ArrayList<>();
+        PassengerCsvReader.open("testdata/passenger-data.csv").forEachRemaining(csv::add);
+        List<Passenger> json = new ArrayList<>();
+        PassengerJsonReader.open("testdata/passengers.json", PassengerFilter.ALL).forEachRemaining(json::add);
+
+        Assert.assertEquals(toList(PassengerDataCache.load("testdata/passenger-data.csv")), csv);
+        Assert.assertEquals(toList(PassengerDataCache.load("testdata/passengers.json")), json);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testCacheIsRebuiltWhenSourceChanges() throws IOException {
+        Path source = Files.createTempFile("passengers", ".csv");
+        String header = "origin,destination,firstName,lastName,address,city,state,zipCode,cardType,cardNumber,"
+                + "month,year,cardName,age,gender\n";
+        Files.writeString(source, header + "Paris,Rome,Ann,Lee,1 Main St,Springfield,IL,62701,Visa,4111,1,2027,Ann Lee,30,Female\n");
+
+        PassengerDataCache first = PassengerDataCache.load(source.toString());
+        Assert.assertEquals(first.size(), 1);
+        Assert.assertSame(PassengerDataCache.load(source.toString()), first, "unchanged source should reuse the cache");
+
+        Files.writeString(source, header
+                + "Paris,Rome,Ann,Lee,1 Main St,Springfield,IL,62701,Visa,4111,1,2027,Ann Lee,30,Female\n"
+                + "Boston,London,Bob,Ray,,Springfield,IL,62701,Visa,4111,2,2028,Bob Ray,41,Male\n");
+        PassengerDataCache second = PassengerDataCache.load(source.toString());
+
+        Assert.assertNotEquals(second.getFile(), first.getFile());
+        Assert.assertFalse(Files.exists(first.getFile()), "stale cache file should be removed");
+        Assert.assertEquals(second.size(), 2);
+        Assert.assertEquals(second.get(1).origin(), "Boston");
+        Assert.assertEquals(second.get(1).age(), 41);
+        Assert.assertEquals(second.get(0).city(), second.get(1).city());
+        Files.delete(source);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRowsAndStringsLargerThanTheWriteBufferRoundTrip() throws IOException {
+        Path source = Files.createTempFile("passengers", ".csv");
+        StringBuilder csv = new StringBuilder("origin,destination,firstName,lastName,address,city,state,zipCode,"
+                + "cardType,cardNumber,month,year,cardName,age,gender\n");
+        String longAddress = "x".repeat(100_000);
+        for (int i = 0; i < 3_000; i++) {
+            csv.append("Paris,Rome,Ann").append(i).append(",Lee,").append(i == 1_500 ? longAddress : "1 Main St")
+                    .append(",Springfield,IL,62701,Visa,4111,1,2027,Ann Lee,").append(i % 90).append(",Female\n");
+        }
+        Files.writeString(source, csv);
+        try {
+            PassengerDataCache cache = PassengerDataCache.load(source.toString());
+            List<Passenger> parsed = new ArrayList<>();
+            PassengerCsvReader.open(source.toString()).forEachRemaining(parsed::add);
+
+            Assert.assertEquals(cache.size(), 3_000);
+            Assert.assertEquals(toList(cache), parsed);
+            Assert.assertEquals(cache.get(1_500).address(), longAddress);
+            Files.delete(cache.getFile());
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    private static List<Passenger> toList(PassengerDataCache cache) {
+        List<Passenger> passengers = new ArrayList<>();
+        cache.forEach(passengers::add);
+        return passengers;
+    }
+}
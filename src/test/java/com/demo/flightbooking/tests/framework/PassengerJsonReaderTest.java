@@ -0,0 +1,119 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.PassengerFilter;
+import com.demo.flightbooking.utils.PassengerJsonReader;
+
+/**
+ * Checks the streaming JSON reader behind the JSON data providers. No browser is needed.
+ */
+public class PassengerJsonReaderTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testArrayAndJsonLinesGiveTheSameRows() {
+        String array = "[" + row("Paris", "Rome", "Visa", "smoke") + "," + row("Boston", "London", "Diner's Club", "") + "]";
+        String lines = row("Paris", "Rome", "Visa", "smoke") + "\n" + row("Boston", "London", "Diner's Club", "") + "\n";
+
+        List<Passenger> fromArray = readAll(array, PassengerFilter.ALL);
+        Assert.assertEquals(fromArray.size(), 2);
+        Assert.assertEquals(readAll(lines, PassengerFilter.ALL), fromArray);
+        Assert.assertEquals(fromArray.get(1).cardType(), "Diner's Club");
+        Assert.assertEquals(fromArray.get(0).age(), 34);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testFilterIsAppliedWhileParsing() {
+        String json = "[" + row("Paris", "Rome", "Visa", "smoke") + "," + row("Boston", "London", "Visa", "")
+                + "," + row("Paris", "Rome", "American Express", "smoke") + "]";
+
+        Assert.assertEquals(readAll(json, PassengerFilter.parse("route=Paris->Rome")).size(), 2);
+        Assert.assertEquals(readAll(json, PassengerFilter.parse("route=Paris->Rome;cardType=Visa")).size(), 1);
+        Assert.assertEquals(readAll(json, PassengerFilter.parse("tag=smoke|nightly")).size(), 2);
+        Assert.assertEquals(readAll(json, PassengerFilter.parse("cardType=Visa;tag=smoke")).get(0).origin(), "Paris");
+
+        PassengerJsonReader reader = reader(json, PassengerFilter.parse("cardType=Diner's Club"));
+        Assert.assertFalse(reader.hasNext());
+        Assert.assertEquals(reader.getSkippedCount(), 3);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testUnknownFilterKeyIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> PassengerFilter.parse("airline=Lufthansa"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRowMissingAFieldIsRejectedUnlessFilteredOut() {
+        String noAge = row("Paris", "Rome", "Visa", "smoke").replace("\"age\":34,", "");
+        String json = "[" + row("Boston", "London", "Visa", "") + "," + noAge + "]";
+
+        IllegalArgumentException e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> readAll(json, PassengerFilter.ALL));
+        Assert.assertTrue(e.getMessage().contains("no 'age' field"), e.getMessage());
+        Assert.assertEquals(readAll(json, PassengerFilter.parse("route=Boston->London")).size(), 1);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testLargeJsonLinesInputIsReadRowByRow() {
+        int rows = 100_000;
+        // One small stream per row, chained lazily, so the test never holds the whole input either.
+        InputStream input = new SequenceInputStream(Collections.enumeration(new LazyRowList(rows)));
+        long count = 0;
+        try (PassengerJsonReader reader = new PassengerJsonReader(input, "generated", PassengerFilter.parse("tag=even"))) {
+            while (reader.hasNext()) {
+                reader.next();
+                count++;
+            }
+        }
+        Assert.assertEquals(count, rows / 2);
+    }
+
+    private static String row(String origin, String destination, String cardType, String tag) {
+        return "{\"origin\":\"" + origin + "\",\"destination\":\"" + destination + "\",\"firstName\":\"Emily\","
+                + "\"lastName\":\"Johnson\",\"address\":\"456 Oak Avenue\",\"city\":\"Metropolis\",\"state\":\"MS\","
+                + "\"zipCode\":\"54321\",\"cardType\":\"" + cardType + "\",\"cardNumber\":\"5555666677778888\","
+                + "\"month\":\"11\",\"year\":\"2026\",\"cardName\":\"Emily Johnson\",\"age\":34,\"gender\":\"Female\","
+                + "\"meta\":{\"source\":\"test\",\"ids\":[1,2]},\"tags\":[\"" + tag + "\"]}";
+    }
+
+    private static PassengerJsonReader reader(String json, PassengerFilter filter) {
+        return new PassengerJsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "inline", filter);
+    }
+
+    private static List<Passenger> readAll(String json, PassengerFilter filter) {
+        List<Passenger> passengers = new ArrayList<>();
+        reader(json, filter).forEachRemaining(passengers::add);
+        return passengers;
+    }
+
+    // A list whose elements are only created when the enumeration reaches them.
+    private static final class LazyRowList extends AbstractList<InputStream> {
+        private final int size;
+
+        LazyRowList(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public InputStream get(int index) {
+            String line = row("Boston", "London", "Visa", index % 2 == 0 ? "even" : "odd") + "\n";
+            return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
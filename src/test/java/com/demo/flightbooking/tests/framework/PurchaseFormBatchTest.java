@@ -0,0 +1,112 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.pages.PurchasePage;
+import com.demo.flightbooking.utils.ConfigReader;
+
+/**
+ * Checks the batched purchase-form fill against a fake session. Changes {@code form.fill.typedFields}, so it
+ * restores it and reloads after. No browser is needed.
+ */
+@Test(singleThreaded = true)
+public class PurchaseFormBatchTest {
+
+    private static final Passenger PASSENGER = new Passenger("Boston", "London", "Ada", "Lovelace", "1 Main St",
+            "Boston", "MA", "02110", "Visa", "4111111111111111", "11", "2030", "Ada Lovelace", 36, "Female");
+
+    @Test(groups = {"regression", "framework"})
+    public void testMismatchedAndTypedFieldsAreTyped() {
+        FakeForm form = new FakeForm(Map.of("zipCode", "0211")); // a mask dropped the last digit
+        withTypedFields("creditCardNumber", () -> new PurchasePage(form.driver()).fillPurchaseFormBatched(PASSENGER));
+
+        Assert.assertEquals(form.scriptCalls, 1, "one script call fills the form");
+        Assert.assertFalse(form.batch.containsKey("creditCardNumber"), "typed fields are left out of the batch");
+        Assert.assertEquals(form.batch.get("inputName"), "Ada");
+        Assert.assertEquals(form.typed, List.of("creditCardNumber=4111111111111111", "zipCode=02110"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testUnknownTypedFieldFailsBeforeFilling() {
+        FakeForm form = new FakeForm(Map.of());
+        IllegalArgumentException e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> withTypedFields("zipCode, creditCardNo", () -> new PurchasePage(form.driver())
+                        .fillPurchaseFormBatched(PASSENGER)));
+
+        Assert.assertTrue(e.getMessage().contains("[creditCardNo]"), e.getMessage());
+        Assert.assertEquals(form.scriptCalls, 0);
+        Assert.assertTrue(form.typed.isEmpty());
+    }
+
+    private static void withTypedFields(String fields, Runnable action) {
+        String previous = System.setProperty("form.fill.typedFields", fields);
+        try {
+            ConfigReader.reload();
+            action.run();
+        } finally {
+            if (previous == null) {
+                System.clearProperty("form.fill.typedFields");
+            } else {
+                System.setProperty("form.fill.typedFields", previous);
+            }
+            ConfigReader.reload();
+        }
+    }
+
+    // A purchase page whose batch script reads every value back, except those in 'rewritten'.
+    private static final class FakeForm {
+        private final Map<String, String> rewritten;
+        private final List<String> typed = new ArrayList<>();
+        private Map<String, Object> batch = Map.of();
+        private int scriptCalls;
+
+        FakeForm(Map<String, String> rewritten) {
+            this.rewritten = rewritten;
+        }
+
+        @SuppressWarnings("unchecked")
+        WebDriver driver() {
+            return (WebDriver) Proxy.newProxyInstance(PurchaseFormBatchTest.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "executeScript" -> {
+                            scriptCalls++;
+                            batch = new HashMap<>((Map<String, Object>) ((Object[]) args[1])[0]);
+                            Map<String, Object> readBack = new HashMap<>(batch);
+                            readBack.putAll(rewritten);
+                            yield readBack;
+                        }
+                        case "findElement" -> field(((By) args[0]).toString().replace("By.id: ", ""));
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+
+        private WebElement field(String id) {
+            return (WebElement) Proxy.newProxyInstance(PurchaseFormBatchTest.class.getClassLoader(),
+                    new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "sendKeys" -> {
+                            typed.add(id + "=" + String.join("", (CharSequence[]) args[0]));
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.demo.flightbooking.utils.ReportQueue;
+import com.demo.flightbooking.utils.ReportTest;
+
+/**
+ * Checks the background report writer. No browser is needed.
+ */
+public class ReportQueueTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testEventsFromManyThreadsReachTheReport() throws Exception {
+        Path json = Files.createTempFile("report", ".json");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(new JsonFormatter(json.toString()));
+        ReportQueue queue = new ReportQueue(reports, true, 100_000);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            pool.submit(() -> {
+                ReportTest test = queue.createTest("test-" + n);
+                test.info("step " + n);
+                if (n % 50 == 0) {
+                    test.fail("boom " + n);
+                    queue.addFailure("test-" + n + " FAILED");
+                } else {
+                    test.pass("ok " + n);
+                }
+            });
+        }
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<String> failures = queue.close();
+
+        Assert.assertEquals(failures.size(), 4);
+        Assert.assertEquals(queue.getDepth(), 0);
+        Assert.assertEquals(queue.getDropped(), 0);
+        String report = Files.readString(json);
+        Assert.assertTrue(report.contains("test-199") && report.contains("step 199") && report.contains("boom 150"));
+        Assert.assertTrue(queue.stats().contains("605 published"), queue.stats());
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testInfoStepsAreDroppedWhenBackedUpButStatusIsKept() throws IOException {
+        Path json = Files.createTempFile("report", ".json");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(new JsonFormatter(json.toString()));
+        ReportQueue queue = new ReportQueue(reports, true, 1);
+
+        ReportTest test = queue.createTest("busy");
+        // Hold the consumer on a slow event so the queue backs up.
+        test.addScreenCaptureFromPath(json.toString());
+        for (int i = 0; i < 1_000; i++) {
+            test.info("noise " + i);
+        }
+        test.pass("still recorded");
+        queue.close();
+
+        Assert.assertTrue(queue.getDropped() > 0, queue.stats());
+        Assert.assertTrue(Files.readString(json).contains("still recorded"));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSynchronousModeAppliesOnTheCallingThread() {
+        ReportQueue queue = new ReportQueue(new ExtentReports(), false, 1);
+        queue.createTest("sync").info("applied now");
+        queue.addFailure("x");
+        Assert.assertEquals(queue.getDepth(), 0);
+        Assert.assertEquals(queue.flush(), List.of("x"));
+    }
+}
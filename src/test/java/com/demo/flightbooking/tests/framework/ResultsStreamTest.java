@@ -0,0 +1,72 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.demo.flightbooking.utils.ReportQueue;
+import com.demo.flightbooking.utils.ResultsReportBuilder;
+import com.demo.flightbooking.utils.ResultsStream;
+
+/**
+ * Checks the live results file, rebuilding a report from it, and periodic report flushes. No browser is needed.
+ */
+public class ResultsStreamTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testResultsAreAppendedAndReportCanBeRebuilt() throws Exception {
+        Path dir = Files.createTempDirectory("results");
+        Path file = dir.resolve("regression-results.jsonl");
+        Files.writeString(file, "{\"test\": \"staleRowFromLastRun\"}\n");
+        ReportQueue queue = new ReportQueue(new ExtentReports(), true, 1_000);
+        ResultsStream stream = new ResultsStream(file, queue);
+
+        stream.append(new ResultsStream.Line("testBooking", "BookingTest", "CHROME", "1a2b", "PASS",
+                1_700_000_000_000L, 4_200, 0, List.of(), null));
+        stream.append(new ResultsStream.Line("testBooking", "BookingTest", "FIREFOX", "3c4d", "FAIL",
+                1_700_000_005_000L, 9_100, 1, List.of("./screenshots/testBooking.png", "./failures/testBooking.zip",
+                        "./screencasts/testBooking.gif"), "TimeoutException: no button"));
+        queue.flush();
+
+        // Written before the suite ends, so a tailing tool (or an aborted run) already has both lines; the last run's row is gone.
+        List<ResultsStream.Line> lines = ResultsStream.read(file);
+        Assert.assertEquals(lines.size(), 2);
+        Assert.assertEquals(lines.get(1).status(), "FAIL");
+        Assert.assertEquals(lines.get(1).artifacts().get(0), "./screenshots/testBooking.png");
+        Assert.assertEquals(lines.get(0).durationMillis(), 4_200);
+
+        queue.close();
+        stream.close();
+        Path html = dir.resolve("rebuilt.html");
+        Assert.assertEquals(ResultsReportBuilder.build(file, html), 2);
+        String report = Files.readString(html);
+        Assert.assertTrue(report.contains("testBooking - FIREFOX") && report.contains("no button"));
+        Assert.assertTrue(report.contains("href='./failures/testBooking.zip'"), "bundle is linked");
+        Assert.assertTrue(report.contains("href='./screencasts/testBooking.gif'"), "screencast is linked");
+        Assert.assertTrue(report.contains("src=\"./screenshots/testBooking.png\""), "screenshot is shown");
+        Assert.assertFalse(report.contains("src=\"./failures/testBooking.zip\""), "bundle is not shown as an image");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testReportIsFlushedPeriodically() throws Exception {
+        Path json = Files.createTempDirectory("flush").resolve("report.json");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(new JsonFormatter(json.toString()));
+        ReportQueue queue = new ReportQueue(reports, true, 1_000, 1);
+
+        queue.createTest("long-running suite").pass("first test done");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!(Files.exists(json) && Files.readString(json).contains("first test done"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(Files.exists(json) && Files.readString(json).contains("first test done"),
+                "report was not flushed before the suite ended");
+        queue.close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.ScreencastRecorder;
+
+/**
+ * Checks the screencast ring buffer and GIF encoding with generated frames. No browser is needed.
+ */
+public class ScreencastRecorderTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testBufferKeepsOnlyTheLastSeconds() throws Exception {
+        ScreencastRecorder recorder = new ScreencastRecorder(5, 10_000_000);
+        byte[] frame = jpeg(0);
+        for (int second = 0; second <= 20; second++) {
+            recorder.addFrame(frame, second * 1_000L);
+        }
+        // Frames at 15..20 s are within 5 s of the newest one.
+        Assert.assertEquals(recorder.getFrameCount(), 6);
+        Assert.assertEquals(recorder.getBufferedBytes(), 6L * frame.length);
+
+        recorder.clear();
+        Assert.assertEquals(recorder.getFrameCount(), 0);
+        Assert.assertEquals(recorder.getBufferedBytes(), 0);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testBufferStaysUnderTheMemoryCap() throws Exception {
+        byte[] frame = jpeg(0);
+        ScreencastRecorder recorder = new ScreencastRecorder(60, frame.length * 3L);
+        for (int i = 0; i < 10; i++) {
+            recorder.addFrame(frame, i * 100L);
+        }
+        Assert.assertEquals(recorder.getFrameCount(), 3);
+        Assert.assertTrue(recorder.getBufferedBytes() <= frame.length * 3L);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testBufferIsWrittenAsAnimatedGifAndCleared() throws Exception {
+        ScreencastRecorder recorder = new ScreencastRecorder(30, 10_000_000);
+        for (int i = 0; i < 5; i++) {
+            recorder.addFrame(jpeg(i), i * 200L);
+        }
+        Path file = Files.createTempDirectory("screencast").resolve("testBooking.gif");
+
+        ScreencastRecorder.Recording recording = recorder.writeGif(file, Duration.ofSeconds(30));
+
+        Assert.assertEquals(recording.frames(), 5);
+        Assert.assertEquals(recording.buffered(), 5);
+        Assert.assertEquals(gifFrameCount(file), 5);
+        Assert.assertEquals(recorder.getFrameCount(), 0, "the buffer is released once written");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testEncodeBudgetStillWritesTheFinalFrame() throws Exception {
+        ScreencastRecorder recorder = new ScreencastRecorder(30, 10_000_000);
+        for (int i = 0; i < 5; i++) {
+            recorder.addFrame(jpeg(i), i * 200L);
+        }
+        Path file = Files.createTempDirectory("screencast").resolve("testBooking.gif");
+
+        ScreencastRecorder.Recording recording = recorder.writeGif(file, Duration.ZERO);
+
+        Assert.assertEquals(recording.frames(), 1);
+        Assert.assertEquals(recording.buffered(), 5);
+        Assert.assertEquals(gifFrameCount(file), 1);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testEmptyBufferWritesNothing() {
+        ScreencastRecorder.Recording recording = new ScreencastRecorder(30, 10_000_000)
+                .writeGif(Path.of("target", "never-written.gif"), Duration.ofSeconds(1));
+        Assert.assertNull(recording.file());
+        Assert.assertFalse(Files.exists(Path.of("target", "never-written.gif")));
+    }
+
+    private static byte[] jpeg(int step) throws Exception {
+        BufferedImage image = new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 320, 200);
+        g.setColor(Color.BLUE);
+        g.fillRect(20 + step * 40, 80, 40, 40); // a "cursor" that moves between frames
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static int gifFrameCount(Path file) throws Exception {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            reader.setInput(in);
+            return reader.getNumImages(true);
+        } finally {
+            reader.dispose();
+        }
+    }
+}
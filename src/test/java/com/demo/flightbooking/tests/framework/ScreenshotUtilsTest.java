@@ -0,0 +1,77 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.ScreenshotUtils;
+
+/**
+ * Checks background encoding, downscaling and de-duplication of screenshots. No browser is needed.
+ */
+@Test(singleThreaded = true)
+public class ScreenshotUtilsTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testScreenshotIsDownscaledAndCompressed() throws Exception {
+        byte[] png = frame(2000, 1000, 1);
+
+        String path = ScreenshotUtils.save(png, "screenshotUtilsTest");
+        Assert.assertTrue(path.startsWith("screenshots/screenshotUtilsTest_"), path);
+        Assert.assertTrue(path.endsWith(".jpg"), path);
+        Assert.assertTrue(ScreenshotUtils.awaitPending(30));
+
+        Path file = Path.of("reports", path);
+        try {
+            Assert.assertTrue(Files.exists(file), file.toString());
+            BufferedImage written = ImageIO.read(file.toFile());
+            Assert.assertEquals(written.getWidth(), 1280);
+            Assert.assertEquals(written.getHeight(), 640);
+            Assert.assertTrue(Files.size(file) < png.length, Files.size(file) + " bytes, PNG was " + png.length);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testIdenticalFramesShareOneFile() throws Exception {
+        byte[] errorPage = frame(800, 600, 2);
+
+        String first = ScreenshotUtils.save(errorPage, "screenshotUtilsTestA");
+        String second = ScreenshotUtils.save(errorPage.clone(), "screenshotUtilsTestB");
+        String other = ScreenshotUtils.save(frame(800, 600, 3), "screenshotUtilsTestC");
+        Assert.assertTrue(ScreenshotUtils.awaitPending(30));
+
+        try {
+            Assert.assertEquals(second, first, "same pixels should reuse the first file");
+            Assert.assertNotEquals(other, first);
+            Assert.assertTrue(Files.exists(Path.of("reports", other)));
+            Assert.assertTrue(ScreenshotUtils.stats().contains("duplicate(s) skipped"), ScreenshotUtils.stats());
+        } finally {
+            Files.deleteIfExists(Path.of("reports", first));
+            Files.deleteIfExists(Path.of("reports", other));
+        }
+    }
+
+    // A busy, page-like image: PNG compresses it poorly, like a real screenshot with text and photos.
+    private static byte[] frame(int width, int height, long seed) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int shade = (x * 255 / width) ^ random.nextInt(32);
+                image.setRGB(x, y, (shade << 16) | ((y * 255 / height) << 8) | 0x80);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
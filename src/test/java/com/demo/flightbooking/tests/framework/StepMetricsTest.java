@@ -0,0 +1,134 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.LatencyHistogram;
+import com.demo.flightbooking.utils.StepMetrics;
+import com.demo.flightbooking.utils.TestContext;
+import com.demo.flightbooking.utils.WebDriverUtils;
+
+/**
+ * Checks the latency histograms and their JSON / Prometheus exports. No browser is needed.
+ */
+@Test(singleThreaded = true)
+public class StepMetricsTest {
+
+    @BeforeMethod(alwaysRun = true)
+    public void reset() {
+        StepMetrics.reset();
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 10_000; millis++) {
+            histogram.recordMicros(millis * 1_000);
+        }
+        Assert.assertEquals(histogram.getCount(), 10_000);
+        Assert.assertEquals(histogram.getMaxMicros(), 10_000_000);
+        assertWithin(histogram.percentileMicros(50), 5_000_000);
+        assertWithin(histogram.percentileMicros(95), 9_500_000);
+        assertWithin(histogram.percentileMicros(99), 9_900_000);
+        Assert.assertEquals(histogram.percentileMicros(100), 10_000_000);
+        Assert.assertEquals(new LatencyHistogram().percentileMicros(99), 0);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.recordMicros(i % 5_000);
+                }
+            });
+        }
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(histogram.getCount(), 800_000);
+        Assert.assertEquals(histogram.countAtOrBelow(Long.MAX_VALUE), 800_000);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testStepsAreSummarisedPerBrowser() {
+        StepMetrics.record("HomePage.findFlights", "chrome", 120_000_000);
+        StepMetrics.record("HomePage.findFlights", "chrome", 80_000_000);
+        StepMetrics.record("HomePage.findFlights", "firefox", 300_000_000);
+        Assert.assertThrows(IllegalStateException.class, () -> StepMetrics.time("PurchasePage.fillPurchaseForm", () -> {
+            throw new IllegalStateException("form not rendered");
+        }));
+
+        List<StepMetrics.Summary> rows = StepMetrics.summary();
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(0).browser(), "chrome");
+        Assert.assertEquals(rows.get(0).count(), 2);
+        assertWithin(Math.round(rows.get(0).p99Millis() * 1_000), 120_000);
+        Assert.assertEquals(rows.get(2).step(), "PurchasePage.fillPurchaseForm", "failed calls are timed too");
+
+        String[][] table = StepMetrics.summaryTable();
+        Assert.assertEquals(table.length, 4);
+        Assert.assertEquals(table[0][3], "p50 ms");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testExportsJsonAndPrometheusText() throws Exception {
+        StepMetrics.record("wait.clickable [events]", "edge", 40_000_000);
+        StepMetrics.record("wait.clickable [events]", "edge", 2_000_000_000L);
+
+        String prometheus = StepMetrics.toPrometheus();
+        String labels = "{step=\"wait.clickable [events]\",browser=\"edge\"";
+        Assert.assertTrue(prometheus.contains("# TYPE flightbooking_step_duration_seconds histogram"));
+        Assert.assertTrue(prometheus.contains("flightbooking_step_duration_seconds_bucket" + labels + ",le=\"0.05\"} 1"), prometheus);
+        Assert.assertTrue(prometheus.contains("flightbooking_step_duration_seconds_bucket" + labels + ",le=\"2.5\"} 2"), prometheus);
+        Assert.assertTrue(prometheus.contains("flightbooking_step_duration_seconds_bucket" + labels + ",le=\"+Inf\"} 2"));
+        Assert.assertTrue(prometheus.contains("flightbooking_step_duration_seconds_count" + labels + "} 2"));
+        Assert.assertTrue(prometheus.contains("flightbooking_step_duration_seconds_sum" + labels + "} 2.040000"));
+
+        Path dir = Files.createTempDirectory("metrics");
+        List<Path> files = StepMetrics.export(dir, "regression");
+        Assert.assertEquals(files, List.of(dir.resolve("regression-steps.json"), dir.resolve("regression-steps.prom")));
+        String json = Files.readString(files.get(0));
+        Assert.assertTrue(json.contains("\"step\": \"wait.clickable [events]\", \"browser\": \"edge\", \"count\": 2"), json);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testTimedOutWaitsAreRecorded() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(StepMetricsTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> method.getName().equals("getTitle") ? "BlazeDemo Purchase" : null);
+
+        // Its own browser label keeps the row apart from waits timed by other framework tests running in parallel.
+        TestContext.current().setBrowserName("timeout-check");
+        try {
+            Assert.assertFalse(new WebDriverUtils(driver, 1).waitUntilTitleContains("Confirmation"));
+        } finally {
+            TestContext.clear();
+        }
+
+        List<StepMetrics.Summary> rows = StepMetrics.summary().stream()
+                .filter(row -> row.browser().equals("timeout-check"))
+                .toList();
+        Assert.assertEquals(rows.size(), 1);
+        Assert.assertEquals(rows.get(0).step(), "wait.title [polling]");
+        Assert.assertEquals(rows.get(0).count(), 1);
+        Assert.assertTrue(rows.get(0).maxMillis() >= 900, "the full timeout is recorded: " + rows.get(0).maxMillis());
+    }
+
+    // Histogram values are bucket edges: never below the true value and at most 6.25% above it.
+    private static void assertWithin(long actual, long expected) {
+        Assert.assertTrue(actual >= expected * 0.99 && actual <= expected * 1.0625,
+                actual + " is not within bucket precision of " + expected);
+    }
+}
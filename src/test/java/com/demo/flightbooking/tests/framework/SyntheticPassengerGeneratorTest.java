@@ -0,0 +1,63 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.SyntheticPassengerGenerator;
+
+/**
+ * Checks that generated passengers are valid and reproducible. No browser is needed.
+ */
+public class SyntheticPassengerGeneratorTest {
+
+    @Test(groups = {"regression", "framework"})
+    public void testSameSeedGivesSameStream() {
+        List<Passenger> first = generate(42, 500);
+        Assert.assertEquals(generate(42, 500), first);
+        Assert.assertNotEquals(generate(43, 500), first);
+        // Any row can be rebuilt on its own for a replay.
+        Assert.assertEquals(new SyntheticPassengerGenerator(42, 0, 2025).passenger(317), first.get(317));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testRowsAreValid() {
+        SyntheticPassengerGenerator generator = new SyntheticPassengerGenerator(7, 100_000, 2025);
+        long rows = 0;
+        while (generator.hasNext()) {
+            Passenger p = generator.next();
+            rows++;
+            String card = p.cardNumber();
+            Assert.assertTrue(SyntheticPassengerGenerator.isLuhnValid(card), "Luhn check failed: " + card);
+            switch (p.cardType()) {
+                case "Visa" -> Assert.assertTrue(card.length() == 16 && card.startsWith("4"), card);
+                case "American Express" -> Assert.assertTrue(card.length() == 15 && card.matches("3[47].*"), card);
+                case "Diner's Club" -> Assert.assertTrue(card.length() == 14 && card.matches("3[68].*"), card);
+                default -> Assert.fail("Unexpected card type " + p.cardType());
+            }
+            int year = Integer.parseInt(p.year());
+            int month = Integer.parseInt(p.month());
+            Assert.assertTrue(year > 2025 && year <= 2030 && month >= 1 && month <= 12, p.month() + "/" + p.year());
+            Assert.assertTrue(p.age() >= 18 && p.age() <= 80);
+            Assert.assertEquals(p.cardName(), p.firstName() + " " + p.lastName());
+            Assert.assertTrue(p.zipCode().matches("\\d{5}"), p.zipCode());
+        }
+        Assert.assertEquals(rows, 100_000);
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testLuhnCheck() {
+        Assert.assertTrue(SyntheticPassengerGenerator.isLuhnValid("4111111111111111"));
+        Assert.assertTrue(SyntheticPassengerGenerator.isLuhnValid("378282246310005"));
+        Assert.assertFalse(SyntheticPassengerGenerator.isLuhnValid("4111111111111112"));
+    }
+
+    private static List<Passenger> generate(long seed, int rows) {
+        List<Passenger> passengers = new ArrayList<>();
+        new SyntheticPassengerGenerator(seed, rows, 2025).forEachRemaining(passengers::add);
+        return passengers;
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.utils.TestLogs;
+
+/**
+ * Checks per-test log routing and the failure-only DEBUG buffer. No browser is needed.
+ */
+@Test(singleThreaded = true)
+public class TestLogsTest {
+
+    private static final Logger logger = LogManager.getLogger(TestLogsTest.class);
+
+    @Test(groups = {"regression", "framework"})
+    public void testDebugLinesAreWrittenOnlyForAFailedTest() throws Exception {
+        TestLogs.install();
+
+        TestLogs.begin("TestLogsTest.failing-chrome-1f3a9c");
+        logger.debug("Typed card number into #creditCardNumber");
+        logger.info("Clicking on 'Purchase Flight' button");
+        Path debugLog = TestLogs.end(true);
+        try {
+            Assert.assertEquals(debugLog, Path.of("logs", "tests", "TestLogsTest.failing-chrome-1f3a9c-debug.log"));
+            String text = Files.readString(debugLog);
+            Assert.assertTrue(text.contains("DEBUG TestLogsTest - Typed card number into #creditCardNumber"), text);
+            Assert.assertTrue(text.contains("INFO  TestLogsTest - Clicking on 'Purchase Flight' button"), text);
+        } finally {
+            Files.deleteIfExists(debugLog);
+        }
+
+        TestLogs.begin("TestLogsTest.passing-chrome-2b4d");
+        logger.debug("Typed card number into #creditCardNumber");
+        Assert.assertNull(TestLogs.end(false));
+        Assert.assertFalse(Files.exists(Path.of("logs", "tests", "TestLogsTest.passing-chrome-2b4d-debug.log")));
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testInfoLinesAreRoutedToTheTestsOwnFile() throws Exception {
+        TestLogs.begin("TestLogsTest.routed-firefox/row 7");
+        logger.info("Performing flight search from Boston to London.");
+        TestLogs.end(false);
+
+        // Written by the async logging thread; the id's unsafe characters are replaced.
+        Path file = Path.of("logs", "tests", "TestLogsTest.routed-firefox_row_7.log");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!(Files.exists(file) && Files.readString(file).contains("Boston to London"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(Files.exists(file), file + " was not written");
+        Assert.assertTrue(Files.readString(file).contains("Performing flight search from Boston to London."));
+    }
+}
@@ -0,0 +1,109 @@
+package com.demo.flightbooking.tests.framework;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.demo.flightbooking.listeners.VirtualThreadListener;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.TestContext;
+
+/**
+ * Checks virtual-thread execution. A small nested suite, launched like Surefire launches TestNG (no executor
+ * factory set on it), must get virtual workers from {@link VirtualThreadListener} alone and give every
+ * invocation its own {@link TestContext}. No browser is needed.
+ * <p>
+ * When the enclosing run itself has {@code execution.virtualThreads=true} and a parallel suite (e.g.
+ * {@code mvn test -P regression -Dexecution.virtualThreads=true -Dgroups=framework}),
+ * {@link #testSuiteRunsOnVirtualThreadsWhenEnabled} also checks the thread it was given by Surefire's run.
+ */
+public class VirtualThreadExecutionTest {
+
+    private static final Map<String, Observed> observed = new ConcurrentHashMap<>();
+    private static volatile CountDownLatch bothStarted;
+
+    private record Observed(boolean virtual, TestContext context, String browserSeenAtEnd) {
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testEachVirtualThreadGetsItsOwnContext() {
+        observed.clear();
+        bothStarted = new CountDownLatch(2);
+        XmlSuite suite = new XmlSuite();
+        suite.setName("virtual-thread-check");
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(2);
+        XmlTest test = new XmlTest(suite);
+        test.setName("context-probe");
+        test.setXmlClasses(List.of(new XmlClass(ContextProbe.class)));
+
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.addListener(new VirtualThreadListener(true));
+        testng.setVerbose(0);
+        try {
+            testng.run();
+        } finally {
+            bothStarted = null;
+        }
+
+        Assert.assertEquals(testng.getStatus(), 0, "probe methods passed");
+        Assert.assertEquals(observed.keySet(), Set.of("chrome", "firefox"));
+        Observed chrome = observed.get("chrome");
+        Observed firefox = observed.get("firefox");
+        Assert.assertTrue(chrome.virtual() && firefox.virtual(), "both ran on virtual threads");
+        Assert.assertNotSame(chrome.context(), firefox.context());
+        Assert.assertEquals(chrome.browserSeenAtEnd(), "chrome");
+        Assert.assertEquals(firefox.browserSeenAtEnd(), "firefox");
+    }
+
+    @Test(groups = {"regression", "framework"})
+    public void testSuiteRunsOnVirtualThreadsWhenEnabled(ITestContext context) {
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("execution.virtualThreads"))
+                || !context.getCurrentXmlTest().getParallel().isParallel()) {
+            throw new SkipException("Needs execution.virtualThreads=true and a parallel suite");
+        }
+        Assert.assertTrue(Thread.currentThread().isVirtual(), "running on " + Thread.currentThread());
+    }
+
+    /**
+     * Two tests that run at the same time; each sets its browser, waits for the other to start, and reads it back.
+     */
+    public static class ContextProbe {
+
+        @Test
+        public void chrome() throws InterruptedException {
+            probe("chrome");
+        }
+
+        @Test
+        public void firefox() throws InterruptedException {
+            probe("firefox");
+        }
+
+        private static void probe(String browser) throws InterruptedException {
+            if (bothStarted == null) {
+                throw new SkipException("Only meaningful inside VirtualThreadExecutionTest's nested suite");
+            }
+            TestContext context = TestContext.current();
+            context.setBrowserName(browser);
+            bothStarted.countDown();
+            Assert.assertTrue(bothStarted.await(10, TimeUnit.SECONDS), "the other test did not run concurrently");
+            observed.put(browser, new Observed(Thread.currentThread().isVirtual(), TestContext.current(),
+                    TestContext.current().getBrowserName()));
+            TestContext.clear();
+        }
+    }
+}
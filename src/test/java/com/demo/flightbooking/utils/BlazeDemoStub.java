@@ -0,0 +1,171 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local stand-in for the BlazeDemo pages the booking flow touches: home, reserve.php,
+ * purchase.php and confirmation.php, with the same form and field names, plus redirects (302, 303, 307, 308)
+ * and a redirect loop.
+ * Like the real site it hands out a session cookie and a hidden token on the home page and
+ * rejects posts that come back without them. Used by the framework tests, which must not need the internet.
+ */
+public class BlazeDemoStub {
+
+    public static final String SESSION_COOKIE = "blazedemo_session";
+    private static final String TOKEN = "stub-token";
+
+    private final HttpServer server;
+    private final List<Map<String, String>> purchases = new CopyOnWriteArrayList<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    public BlazeDemoStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** Base URL ending in a slash, like application.url. */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /** The form fields of every purchase posted to confirmation.php so far. */
+    public List<Map<String, String>> getPurchases() {
+        return purchases;
+    }
+
+    /** Every request so far as "METHOD /path", oldest first. */
+    public List<String> getRequests() {
+        return requests;
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(exchange.getRequestMethod() + " " + path);
+        Map<String, String> form = "POST".equals(exchange.getRequestMethod()) ? readForm(exchange) : Map.of();
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        boolean hasSession = cookie != null && cookie.contains(SESSION_COOKIE + "=abc123");
+
+        switch (path) {
+            case "/", "/index.php" -> {
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=abc123; Path=/; HttpOnly");
+                respond(exchange, 200, page("BlazeDemo", """
+                        <form name="findFlights" action="reserve.php" method="post">
+                          <input type="hidden" name="_token" value="%s">
+                          <select name="fromPort"><option value="Paris">Paris</option><option value="Boston">Boston</option></select>
+                          <select name="toPort"><option value="Rome">Rome</option><option value="London">London</option></select>
+                          <input type="submit" class="btn btn-primary" value="Find Flights">
+                        </form>""".formatted(TOKEN)));
+            }
+            case "/reserve.php" -> {
+                if (!hasSession || !TOKEN.equals(form.get("_token"))) {
+                    respond(exchange, 419, page("Page Expired", ""));
+                    return;
+                }
+                StringBuilder rows = new StringBuilder();
+                String[][] flights = {{"43", "Virgin America", "472.56"}, {"234", "United Airlines", "432.98"}};
+                for (String[] flight : flights) {
+                    rows.append("""
+                            <tr><td><form method="post" action="purchase.php">
+                              <input type="hidden" name="_token" value="%s">
+                              <input type="hidden" name="flight" value="%s">
+                              <input type="hidden" name="price" value="%s">
+                              <input type="hidden" name="airline" value="%s">
+                              <input type="hidden" name="fromPort" value="%s">
+                              <input type="hidden" name="toPort" value="%s">
+                              <input type="submit" class="btn btn-small" value="Choose This Flight">
+                            </form></td><td>%s</td><td>%s</td><td>1:43 AM</td><td>9:45 PM</td><td>$%s</td></tr>
+                            """.formatted(TOKEN, flight[0], flight[2], flight[1], form.get("fromPort"), form.get("toPort"),
+                            flight[0], flight[1], flight[2]));
+                }
+                respond(exchange, 200, page("BlazeDemo - reserve", "<table class=\"table\"><thead><tr><th>Choose</th>"
+                        + "<th>Flight #</th><th>Airline</th><th>Departs</th><th>Arrives</th><th>Price</th></tr></thead><tbody>"
+                        + rows + "</tbody></table>"));
+            }
+            case "/purchase.php" -> {
+                if (!hasSession || form.get("flight") == null) {
+                    respond(exchange, 419, page("Page Expired", ""));
+                    return;
+                }
+                respond(exchange, 200, page("BlazeDemo Purchase", """
+                        <form action="confirmation.php" method="post">
+                          <input type="hidden" name="_token" value="%s">
+                          <input type="text" id="inputName" name="inputName">
+                          <input type="text" id="address" name="address">
+                          <input type="text" id="city" name="city">
+                          <input type="text" id="state" name="state">
+                          <input type="text" id="zipCode" name="zipCode">
+                          <select id="cardType" name="cardType"><option value="visa">Visa</option>
+                            <option value="amex">American Express</option><option value="dinersclub">Diner's Club</option></select>
+                          <input type="text" id="creditCardNumber" name="creditCardNumber">
+                          <input type="text" id="creditCardMonth" name="creditCardMonth" value="11">
+                          <input type="text" id="creditCardYear" name="creditCardYear" value="2017">
+                          <input type="text" id="nameOnCard" name="nameOnCard">
+                          <input type="checkbox" id="rememberMe" name="rememberMe"> Remember me
+                          <input type="submit" class="btn btn-primary" value="Purchase Flight">
+                        </form>""".formatted(TOKEN)));
+            }
+            case "/confirmation.php" -> {
+                if (!hasSession || !TOKEN.equals(form.get("_token"))) {
+                    respond(exchange, 419, page("Page Expired", ""));
+                    return;
+                }
+                purchases.add(form);
+                respond(exchange, 200, page("BlazeDemo Confirmation", "<h1>Thank you for your purchase today!</h1>"));
+            }
+            case "/home.php" -> redirect(exchange, 302, "/"); // an old link, like the real site's
+            case "/loop.php" -> redirect(exchange, 302, "loop.php");
+            case "/checkout.php" -> redirect(exchange, 303, "/"); // post/redirect/get
+            case "/confirm-v1.php" -> redirect(exchange, 307, "confirmation.php");
+            case "/confirm-v2.php" -> redirect(exchange, 308, "confirmation.php");
+            default -> respond(exchange, 404, page("Not Found", ""));
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        return Arrays.stream(body.split("&"))
+                .filter(pair -> !pair.isEmpty())
+                .map(pair -> pair.split("=", 2))
+                .collect(Collectors.toMap(
+                        kv -> URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                        kv -> kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "",
+                        (a, b) -> b, LinkedHashMap::new));
+    }
+
+    private static String page(String title, String body) {
+        return "<!DOCTYPE html><html><head><title>" + title + "</title></head><body>" + body + "</body></html>";
+    }
+
+    private static void redirect(HttpExchange exchange, int status, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -3,15 +3,16 @@ package com.demo.flightbooking.utils;
 import com.demo.flightbooking.model.Passenger;
 import org.testng.annotations.DataProvider;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
- * Data provider that reads passenger test data from a CSV file.
- * This version uses Java Streams for final data transformation.
+ * Data providers that read passenger test data from a CSV file.
+ * Rows are parsed by {@link PassengerCsvReader} (opencsv, columns mapped by header name), or read from the
+ * compiled {@link PassengerDataCache} when caching is enabled. Rows are limited to the current {@link DataShard}.
  */
 public class CsvDataProvider {
 
@@ -19,57 +20,33 @@ public class CsvDataProvider {
 
     @DataProvider(name = "passengerCsvData")
     public Object[][] provideCsvData() throws Exception {
-        List<Passenger> passengerList = new ArrayList<>();
-
-        // This part remains the same: reading the file and creating a list of Passenger records
-        InputStream is = getClass().getClassLoader().getResourceAsStream(CSV_FILE);
-        if (is == null) {
-            throw new RuntimeException("CSV file not found on classpath: " + CSV_FILE);
+        DataShard shard = DataShard.current();
+        if (PassengerDataCache.isEnabled()) {
+            PassengerDataCache cache = PassengerDataCache.load(CSV_FILE);
+            return IntStream.range(0, cache.size())
+                .mapToObj(cache::get)
+                .filter(shard::accepts)
+                .map(passenger -> new Object[]{passenger})
+                .toArray(Object[][]::new);
         }
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-            String line;
-            boolean skipHeader = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (skipHeader) {
-                    skipHeader = false;
-                    continue;
-                }
-
-                String[] fields = line.split(",", -1);
-                if (fields.length < 15) {
-                    throw new IllegalArgumentException("CSV row has insufficient columns: " + line + " (expected at least 15, found " + fields.length + ")");
-                }
-
-                Passenger passenger = new Passenger(
-                    fields[0].trim(),  // origin
-                    fields[1].trim(),  // destination
-                    fields[2].trim(),  // firstName
-                    fields[3].trim(),  // lastName
-                    fields[4].trim(),  // address
-                    fields[5].trim(),  // city
-                    fields[6].trim(),  // state
-                    fields[7].trim(),  // zipCode
-                    fields[8].trim(),  // cardType
-                    fields[9].trim(),  // cardNumber
-                    fields[10].trim(), // month
-                    fields[11].trim(), // year
-                    fields[12].trim(), // cardName
-                    Integer.parseInt(fields[13].trim()), // age
-                    fields[14].trim()  // gender
-                );
-
-                passengerList.add(passenger);
-            }
+        try (PassengerCsvReader reader = PassengerCsvReader.open(CSV_FILE)) {
+            // Small, bundled file: materialize it so TestNG knows the row count up front.
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .filter(shard::accepts)                     // Only this agent's slice when -Dshard.count is set.
+                .map(passenger -> new Object[]{passenger})  // For each passenger, an Object array containing just that passenger.
+                .toArray(Object[][]::new);                 // Collect all the Object arrays into the 2D array TestNG expects.
         }
+    }
 
-        // --- CHANGE: From a 'for' loop to a Java Stream ---
-        // The old 'for' loop that converted the List into Object[][] has been replaced.
-        // This new approach is more declarative and concise.
-
-        return passengerList.stream()                // 1. Create a stream of Passenger objects.
-            .map(passenger -> new Object[]{passenger})  // 2. For each passenger, transform it into a new Object array containing just that passenger.
-            .toArray(Object[][]::new);                 // 3. Collect all the Object arrays into a final 2D Object array that TestNG can use.
+    /**
+     * Streams passengers lazily, one row per test invocation, so memory stays flat however big the file is.
+     * Reads {@code testdata.csv.file} (a file system path or classpath resource), defaulting to the bundled file.
+     */
+    @DataProvider(name = "passengerCsvStream")
+    public Iterator<Object[]> streamCsvData() {
+        String location = ConfigReader.getProperty("testdata.csv.file");
+        Iterator<Passenger> reader = DataShard.current().filter(
+            PassengerCsvReader.open(location == null || location.isBlank() ? CSV_FILE : location.trim()));
+        return PassengerRows.asDataProviderRows(reader);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * The slice of data rows this JVM runs when a suite is split across agents.
+ * <p>
+ * Set with {@code -Dshard.index=<0..count-1> -Dshard.count=<n>} next to {@code -Dtest.suite}; without them
+ * there is one shard and every row runs. A row's shard is chosen by jump consistent hashing of its content,
+ * so it depends only on the row itself: adding or removing rows never moves the others, and raising the
+ * shard count moves only the minimum number of rows. Duplicate rows land on the same shard.
+ */
+public final class DataShard {
+
+    private static final RecordComponent[] COMPONENTS = Passenger.class.getRecordComponents();
+
+    private final int index;
+    private final int count;
+
+    public DataShard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count
+                    + "; use -Dshard.index=0..count-1 and -Dshard.count>=1");
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * The shard given by the {@code shard.index} and {@code shard.count} system properties.
+     */
+    public static DataShard current() {
+        return new DataShard(Integer.parseInt(System.getProperty("shard.index", "0").trim()),
+                Integer.parseInt(System.getProperty("shard.count", "1").trim()));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Report file suffix for this shard, e.g. {@code -shard2-of-4}, or "" when not sharded.
+     */
+    public String suffix() {
+        return isSharded() ? "-shard" + (index + 1) + "-of-" + count : "";
+    }
+
+    public boolean accepts(Passenger passenger) {
+        return !isSharded() || jumpHash(rowKey(passenger), count) == index;
+    }
+
+    /**
+     * Wraps {@code rows}, skipping those that belong to other shards.
+     */
+    public Iterator<Passenger> filter(Iterator<Passenger> rows) {
+        if (!isSharded()) {
+            return rows;
+        }
+        return new Iterator<>() {
+            private Passenger next = advance();
+
+            private Passenger advance() {
+                while (rows.hasNext()) {
+                    Passenger candidate = rows.next();
+                    if (accepts(candidate)) {
+                        return candidate;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Passenger next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Passenger current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * A stable 64-bit FNV-1a hash of every field of the row (independent of JVM, platform and run).
+     */
+    public static long rowKey(Passenger passenger) {
+        long hash = 0xcbf29ce484222325L;
+        for (RecordComponent component : COMPONENTS) {
+            Object value;
+            try {
+                value = component.getAccessor().invoke(passenger);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+            for (byte b : String.valueOf(value).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1f) * 0x100000001b3L; // field separator, so "ab","c" differs from "a","bc"
+        }
+        return hash;
+    }
+
+    /**
+     * Lamping and Veach's jump consistent hash: maps {@code key} to a bucket in {@code [0, buckets)}.
+     */
+    public static int jumpHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    @Override
+    public String toString() {
+        return isSharded() ? "shard " + (index + 1) + " of " + count : "unsharded";
+    }
+}
@@ -1,16 +1,19 @@
 package com.demo.flightbooking.utils;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.DataProvider;
 
 import com.demo.flightbooking.model.Passenger;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 
+/**
+ * Data providers that read passenger test data from JSON with Jackson's streaming parser
+ * (see {@link PassengerJsonReader}), or from its compiled {@link PassengerDataCache} when caching is enabled.
+ * Rows are limited to the current {@link DataShard}.
+ */
 public class JsonDataProvider {
 
     // Correct the path to reflect the 'testdata' folder within resources (NO HYPHEN)
@@ -18,24 +21,34 @@ public class JsonDataProvider {
 
     @DataProvider(name = "passengerData")
     public static Object[][] getPassengerData() throws Exception {
-        Gson gson = new Gson();
-        Type type = new TypeToken<Passenger[]>() {}.getType();
-
-        // Use getResourceAsStream for classpath resources
-        try (InputStream is = JsonDataProvider.class.getClassLoader().getResourceAsStream(JSON_FILE);
-             InputStreamReader reader = new InputStreamReader(is)) {
-            
-            if (is == null) {
-                throw new RuntimeException("JSON file not found on classpath: " + JSON_FILE);
-            }
-
-            Passenger[] passengers = gson.fromJson(reader, type);
-
-            Object[][] data = new Object[passengers.length][1];
-            for (int i = 0; i < passengers.length; i++) {
-                data[i][0] = passengers[i];
-            }
-            return data;
+        DataShard shard = DataShard.current();
+        if (PassengerDataCache.isEnabled()) {
+            PassengerDataCache cache = PassengerDataCache.load(JSON_FILE);
+            return IntStream.range(0, cache.size())
+                    .mapToObj(cache::get)
+                    .filter(shard::accepts)
+                    .map(passenger -> new Object[]{passenger})
+                    .toArray(Object[][]::new);
         }
+        // Small, bundled file: materialize it so TestNG knows the row count up front.
+        List<Object[]> data = new ArrayList<>();
+        try (PassengerJsonReader reader = PassengerJsonReader.open(JSON_FILE, PassengerFilter.ALL)) {
+            shard.filter(reader).forEachRemaining(passenger -> data.add(new Object[]{passenger}));
+        }
+        return data.toArray(Object[][]::new);
+    }
+
+    /**
+     * Streams passengers lazily from {@code testdata.json.file} (a JSON array or JSON Lines; file system path or
+     * classpath resource, defaulting to the bundled file). Rows not matching {@code testdata.json.filter}
+     * are skipped while parsing.
+     */
+    @DataProvider(name = "passengerJsonStream")
+    public static Iterator<Object[]> streamPassengerData() {
+        String location = ConfigReader.getProperty("testdata.json.file");
+        PassengerFilter filter = PassengerFilter.parse(ConfigReader.getProperty("testdata.json.filter"));
+        Iterator<Passenger> reader = DataShard.current().filter(PassengerJsonReader.open(
+                location == null || location.isBlank() ? JSON_FILE : location.trim(), filter));
+        return PassengerRows.asDataProviderRows(reader);
     }
-}
\ No newline at end of file
+}
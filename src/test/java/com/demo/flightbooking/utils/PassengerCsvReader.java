@@ -0,0 +1,131 @@
+package com.demo.flightbooking.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.demo.flightbooking.model.Passenger;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+/**
+ * Reads Passenger rows from a CSV file one at a time with opencsv.
+ * <p>
+ * Columns are matched to the record's components by header name, so the order of columns does not
+ * matter and quoted values may contain commas. Only the current row is held in memory.
+ * The reader closes itself after the last row; call {@link #close()} if you stop early.
+ */
+public class PassengerCsvReader implements Iterator<Passenger>, Closeable {
+
+    private static final RecordComponent[] COMPONENTS = Passenger.class.getRecordComponents();
+
+    private final String source;
+    private final CSVReader reader;
+    private final int[] columnIndexes = new int[COMPONENTS.length];
+    private String[] next;
+    private long line = 1;
+
+    public PassengerCsvReader(Reader input, String source) {
+        this.source = source;
+        this.reader = new CSVReader(input);
+        String[] header = readRow();
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty: " + source);
+        }
+        List<String> columns = Arrays.stream(header).map(String::trim).toList();
+        for (int i = 0; i < COMPONENTS.length; i++) {
+            columnIndexes[i] = columns.indexOf(COMPONENTS[i].getName());
+            if (columnIndexes[i] < 0) {
+                throw new IllegalArgumentException("CSV " + source + " has no '" + COMPONENTS[i].getName() + "' column");
+            }
+        }
+        next = readRow();
+    }
+
+    /**
+     * Opens a CSV file from the file system if {@code location} exists there, otherwise from the classpath.
+     */
+    public static PassengerCsvReader open(String location) {
+        try {
+            Path path = Path.of(location);
+            if (Files.isRegularFile(path)) {
+                return new PassengerCsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), location);
+            }
+            InputStream is = PassengerCsvReader.class.getClassLoader().getResourceAsStream(location);
+            if (is == null) {
+                throw new RuntimeException("CSV file not found on file system or classpath: " + location);
+            }
+            return new PassengerCsvReader(new InputStreamReader(is, StandardCharsets.UTF_8), location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open CSV file: " + location, e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Passenger next() {
+        if (next == null) {
+            throw new NoSuchElementException("No more rows in " + source);
+        }
+        String[] row = next;
+        long rowLine = line;
+        next = readRow();
+        return toPassenger(row, rowLine);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Passenger toPassenger(String[] row, long rowLine) {
+        Object[] args = new Object[COMPONENTS.length];
+        for (int i = 0; i < COMPONENTS.length; i++) {
+            int column = columnIndexes[i];
+            String value = column < row.length ? row[column].trim() : "";
+            try {
+                args[i] = COMPONENTS[i].getType() == int.class ? Integer.parseInt(value) : value;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(source + " line " + rowLine + ": '" + COMPONENTS[i].getName()
+                        + "' is not a number: " + value, e);
+            }
+        }
+        return PassengerRows.create(args, source + " line " + rowLine);
+    }
+
+    // Skips blank lines; closes the reader at the end of the file.
+    private String[] readRow() {
+        try {
+            String[] row;
+            do {
+                row = reader.readNext();
+                line = reader.getLinesRead();
+            } while (row != null && row.length == 1 && row[0].isBlank());
+            if (row == null) {
+                reader.close();
+            }
+            return row;
+        } catch (IOException | CsvValidationException e) {
+            throw new RuntimeException("Could not read " + source + " near line " + line, e);
+        }
+    }
+}
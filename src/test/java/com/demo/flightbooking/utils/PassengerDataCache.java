@@ -0,0 +1,338 @@
+package com.demo.flightbooking.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * A compiled, binary copy of a passenger data file (CSV or JSON), loaded with {@link FileChannel#map}.
+ * <p>
+ * The first time a source is used its rows are parsed once and streamed to
+ * {@code <testdata.cache.dir>/<name>-<sha256 of the source>.bin}. Later loads, from any fork or suite,
+ * map that file and build each {@link Passenger} only when asked for. Editing the source changes the hash,
+ * so the cache is rebuilt on the next load and the old file is removed.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int magic, int version, int rowCount, int columnCount, int dictionarySize, long dictionaryOffset
+ *   per row, columnCount ints: a dictionary id (-1 = null) for String fields, the value for int fields
+ *   per dictionary entry: int byteLength, UTF-8 bytes
+ * </pre>
+ * Repeated values (cities, card types, genders) are stored once in the dictionary. Rows have a fixed
+ * width, so row {@code i} is read at a computed offset without scanning. Rows are written as they are parsed
+ * and the header last, so compiling holds only the dictionary in memory, and the rows are mapped in
+ * segments of under 2 GB each.
+ */
+public final class PassengerDataCache implements Iterable<Passenger> {
+
+    private static final Logger logger = LogManager.getLogger(PassengerDataCache.class);
+    private static final int MAGIC = 0x50444331; // "PDC1"
+    private static final int VERSION = 2;
+    private static final int NULL_ID = -1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final RecordComponent[] COMPONENTS = Passenger.class.getRecordComponents();
+    private static final int ROW_BYTES = COMPONENTS.length * Integer.BYTES;
+    private static final int ROWS_PER_SEGMENT = Integer.MAX_VALUE / ROW_BYTES;
+    private static final Map<Path, PassengerDataCache> LOADED = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final MappedByteBuffer[] segments;
+    private final String[] dictionary;
+    private final int rows;
+
+    private PassengerDataCache(Path file, MappedByteBuffer[] segments, String[] dictionary, int rows) {
+        this.file = file;
+        this.segments = segments;
+        this.dictionary = dictionary;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the cache for {@code location} (file system path or classpath resource, {@code .csv} or {@code .json}),
+     * compiling it first if there is no cache file for the source's current content.
+     */
+    public static PassengerDataCache load(String location) {
+        String name = Path.of(location).getFileName().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+        String hash = HexFormat.of().formatHex(sha256(location), 0, 8);
+        Path file = cacheDir().resolve(name + "-" + hash + ".bin");
+        return LOADED.computeIfAbsent(file, f -> {
+            if (!Files.isRegularFile(f)) {
+                compile(location, f);
+                removeStale(name, f);
+            }
+            return map(f);
+        });
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Builds the passenger in row {@code row} from the mapped rows.
+     */
+    public Passenger get(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rows + " in " + file);
+        }
+        MappedByteBuffer segment = segments[row / ROWS_PER_SEGMENT];
+        int offset = (row % ROWS_PER_SEGMENT) * ROW_BYTES;
+        Object[] args = new Object[COMPONENTS.length];
+        for (int c = 0; c < COMPONENTS.length; c++) {
+            int value = segment.getInt(offset + c * Integer.BYTES);
+            if (COMPONENTS[c].getType() == int.class) {
+                args[c] = value;
+            } else {
+                args[c] = value == NULL_ID ? null : dictionary[value];
+            }
+        }
+        return PassengerRows.create(args, file + " row " + row);
+    }
+
+    @Override
+    public Iterator<Passenger> iterator() {
+        return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < rows;
+            }
+
+            @Override
+            public Passenger next() {
+                if (row >= rows) {
+                    throw new NoSuchElementException();
+                }
+                return get(row++);
+            }
+        };
+    }
+
+    /**
+     * Returns true unless {@code testdata.cache.enabled=false}.
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(String.valueOf(ConfigReader.getProperty("testdata.cache.enabled")).trim());
+    }
+
+    private static void compile(String location, Path target) {
+        long start = System.nanoTime();
+        Iterator<Passenger> passengers = location.toLowerCase().endsWith(".csv")
+                ? PassengerCsvReader.open(location)
+                : PassengerJsonReader.open(location, PassengerFilter.ALL);
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int rows = 0;
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            // Write then rename, so a parallel fork never maps a half-written file.
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+                out.position(HEADER_BYTES); // written last, once the counts are known
+                while (passengers.hasNext()) {
+                    Passenger passenger = passengers.next();
+                    if (out.remaining() < ROW_BYTES) {
+                        flush(channel, out);
+                    }
+                    for (int c = 0; c < COMPONENTS.length; c++) {
+                        Object value = componentValue(passenger, c);
+                        if (COMPONENTS[c].getType() == int.class) {
+                            out.putInt((Integer) value);
+                        } else if (value == null) {
+                            out.putInt(NULL_ID);
+                        } else {
+                            out.putInt(ids.computeIfAbsent((String) value, v -> {
+                                dictionary.add(v);
+                                return dictionary.size() - 1;
+                            }));
+                        }
+                    }
+                    rows++;
+                }
+
+                long dictionaryOffset = HEADER_BYTES + (long) rows * ROW_BYTES;
+                for (String value : dictionary) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    if (out.remaining() < Integer.BYTES) {
+                        flush(channel, out);
+                    }
+                    out.putInt(utf8.length);
+                    for (int written = 0; written < utf8.length; ) {
+                        if (!out.hasRemaining()) {
+                            flush(channel, out);
+                        }
+                        int length = Math.min(out.remaining(), utf8.length - written);
+                        out.put(utf8, written, length);
+                        written += length;
+                    }
+                }
+                flush(channel, out);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(COMPONENTS.length)
+                        .putInt(dictionary.size()).putLong(dictionaryOffset)
+                        .flip();
+                for (long position = 0; header.hasRemaining(); ) {
+                    position += channel.write(header, position);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Could not write test data cache " + target, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        logger.info("Compiled {} ({} rows, {} distinct strings) to {} in {} ms", location, rows,
+                dictionary.size(), target, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static PassengerDataCache map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.size() < HEADER_BYTES
+                    ? null : channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header == null || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || header.getInt(12) != COMPONENTS.length) {
+                throw new IllegalStateException("Not a passenger data cache for this Passenger record: " + file);
+            }
+            int rows = header.getInt(8);
+            int dictionarySize = header.getInt(16);
+            long dictionaryOffset = header.getLong(20);
+
+            String[] dictionary = new String[dictionarySize];
+            channel.position(dictionaryOffset);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary[i] = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            }
+
+            // The mappings stay valid after the channel is closed.
+            MappedByteBuffer[] segments = new MappedByteBuffer[(rows + ROWS_PER_SEGMENT - 1) / ROWS_PER_SEGMENT];
+            for (int s = 0; s < segments.length; s++) {
+                long firstRow = (long) s * ROWS_PER_SEGMENT;
+                long segmentRows = Math.min(ROWS_PER_SEGMENT, rows - firstRow);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + firstRow * ROW_BYTES, segmentRows * ROW_BYTES);
+            }
+            return new PassengerDataCache(file, segments, dictionary, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map test data cache " + file, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.debug("Could not remove {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private static void removeStale(String name, Path current) {
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(current.getParent(), name + "-*.bin")) {
+            for (Path path : old) {
+                if (!path.equals(current)) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        logger.debug("Could not remove stale cache {}: {}", path, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not list cache directory: {}", e.getMessage());
+        }
+    }
+
+    private static Path cacheDir() {
+        String dir = ConfigReader.getProperty("testdata.cache.dir");
+        return Path.of(dir == null || dir.isBlank() ? "target/testdata-cache" : dir.trim());
+    }
+
+    private static InputStream openSource(String location) throws IOException {
+        Path path = Path.of(location);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+        InputStream is = PassengerDataCache.class.getClassLoader().getResourceAsStream(location);
+        if (is == null) {
+            throw new RuntimeException("Test data file not found on file system or classpath: " + location);
+        }
+        return is;
+    }
+
+    // Streams the source through the digest instead of reading it into memory.
+    private static byte[] sha256(String location) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(ByteBuffer.allocate(4).putInt(VERSION).array()); // a format change invalidates old files
+        try (InputStream in = new DigestInputStream(openSource(location), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test data file: " + location, e);
+        }
+        return digest.digest();
+    }
+
+    private static Object componentValue(Passenger passenger, int component) {
+        try {
+            return COMPONENTS[component].getAccessor().invoke(passenger);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.flightbooking.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Which passenger rows a data provider should yield, checked while a row is still being parsed.
+ * <p>
+ * Written as {@code key=value|value;key=value}, for example
+ * {@code route=Paris->Rome|Boston->London;cardType=Visa;tag=smoke}. A row must match every key
+ * given, and any one of the values for that key. {@code tag} matches the row's optional {@code tags} array,
+ * which is not part of the Passenger record. An empty spec matches every row.
+ */
+public final class PassengerFilter {
+
+    public static final PassengerFilter ALL = new PassengerFilter(Set.of(), Set.of(), Set.of());
+
+    private final Set<String> routes;
+    private final Set<String> cardTypes;
+    private final Set<String> tags;
+
+    private PassengerFilter(Set<String> routes, Set<String> cardTypes, Set<String> tags) {
+        this.routes = routes;
+        this.cardTypes = cardTypes;
+        this.tags = tags;
+    }
+
+    public static PassengerFilter parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return ALL;
+        }
+        Set<String> routes = Set.of();
+        Set<String> cardTypes = Set.of();
+        Set<String> tags = Set.of();
+        for (String clause : spec.split(";")) {
+            if (clause.isBlank()) {
+                continue;
+            }
+            String[] keyValues = clause.split("=", 2);
+            if (keyValues.length != 2) {
+                throw new IllegalArgumentException("Filter clause must be key=value: " + clause);
+            }
+            Set<String> values = Arrays.stream(keyValues[1].split("\\|")).map(String::trim)
+                    .filter(v -> !v.isEmpty()).collect(Collectors.toUnmodifiableSet());
+            switch (keyValues[0].trim()) {
+                case "route" -> routes = values;
+                case "cardType" -> cardTypes = values;
+                case "tag" -> tags = values;
+                default -> throw new IllegalArgumentException("Unknown filter key '" + keyValues[0].trim()
+                        + "' (expected route, cardType or tag)");
+            }
+        }
+        return new PassengerFilter(routes, cardTypes, tags);
+    }
+
+    public boolean matchesAll() {
+        return routes.isEmpty() && cardTypes.isEmpty() && tags.isEmpty();
+    }
+
+    public boolean requiresTags() {
+        return !tags.isEmpty();
+    }
+
+    /** False as soon as the route is known and not wanted. */
+    public boolean acceptsRoute(String origin, String destination) {
+        return routes.isEmpty() || routes.contains(origin + "->" + destination);
+    }
+
+    public boolean acceptsCardType(String cardType) {
+        return cardTypes.isEmpty() || cardTypes.contains(cardType);
+    }
+
+    public boolean acceptsTags(Collection<String> rowTags) {
+        return tags.isEmpty() || rowTags.stream().anyMatch(tags::contains);
+    }
+
+    @Override
+    public String toString() {
+        return matchesAll() ? "all rows" : "route=" + routes + " cardType=" + cardTypes + " tag=" + tags;
+    }
+}
@@ -0,0 +1,229 @@
+package com.demo.flightbooking.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.model.Passenger;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads Passenger rows from JSON one at a time with Jackson's streaming parser.
+ * <p>
+ * Accepts either a top-level array of objects or JSON Lines (one object per line), so files of any size can
+ * be read with only the current row in memory. A {@link PassengerFilter} is applied while a row is parsed:
+ * once a row is known not to match, the rest of it is skipped token by token without building strings or
+ * a Passenger. Unknown fields (including nested objects) are ignored; a matching row missing one of the
+ * Passenger fields is rejected with its location, as the CSV reader rejects a missing column.
+ * The reader closes itself after the last row; call {@link #close()} if you stop early.
+ */
+public class PassengerJsonReader implements Iterator<Passenger>, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(PassengerJsonReader.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final RecordComponent[] COMPONENTS = Passenger.class.getRecordComponents();
+    private static final Map<String, Integer> COMPONENT_INDEX = componentIndex();
+    private static final int ORIGIN = COMPONENT_INDEX.get("origin");
+    private static final int DESTINATION = COMPONENT_INDEX.get("destination");
+    private static final int CARD_TYPE = COMPONENT_INDEX.get("cardType");
+
+    private final String source;
+    private final JsonParser parser;
+    private final PassengerFilter filter;
+    private boolean insideArray;
+    private Passenger next;
+    private long read;
+    private long skipped;
+
+    public PassengerJsonReader(InputStream input, String source, PassengerFilter filter) {
+        this.source = source;
+        this.filter = filter;
+        try {
+            this.parser = JSON_FACTORY.createParser(input);
+            JsonToken first = parser.nextToken();
+            insideArray = first == JsonToken.START_ARRAY;
+            if (first != null && !insideArray && first != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException(source + " must hold an array of objects or JSON Lines, found " + first);
+            }
+            // For JSON Lines the parser already sits on the first object.
+            next = advance(insideArray ? parser.nextToken() : first);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + source, e);
+        }
+    }
+
+    /**
+     * Opens a JSON file from the file system if {@code location} exists there, otherwise from the classpath.
+     */
+    public static PassengerJsonReader open(String location, PassengerFilter filter) {
+        try {
+            Path path = Path.of(location);
+            if (Files.isRegularFile(path)) {
+                return new PassengerJsonReader(Files.newInputStream(path), location, filter);
+            }
+            InputStream is = PassengerJsonReader.class.getClassLoader().getResourceAsStream(location);
+            if (is == null) {
+                throw new RuntimeException("JSON file not found on file system or classpath: " + location);
+            }
+            return new PassengerJsonReader(is, location, filter);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open JSON file: " + location, e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Passenger next() {
+        if (next == null) {
+            throw new NoSuchElementException("No more rows in " + source);
+        }
+        Passenger current = next;
+        try {
+            next = advance(parser.nextToken());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + source + " at " + parser.currentLocation(), e);
+        }
+        return current;
+    }
+
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Returns the next matching passenger starting at 'token', or null (and closes) at the end of input.
+    private Passenger advance(JsonToken token) throws IOException {
+        while (token != null && !(insideArray && token == JsonToken.END_ARRAY)) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException(source + ": expected an object at " + parser.currentLocation());
+            }
+            Passenger passenger = readObject();
+            if (passenger != null) {
+                read++;
+                return passenger;
+            }
+            skipped++;
+            token = parser.nextToken();
+        }
+        if (!filter.matchesAll()) {
+            logger.info("{}: {} passenger(s) read, {} skipped by filter ({})", source, read, skipped, filter);
+        }
+        parser.close();
+        return null;
+    }
+
+    // Reads one object, or skips the rest of it and returns null once the filter rejects it.
+    private Passenger readObject() throws IOException {
+        String[] values = new String[COMPONENTS.length];
+        boolean[] present = new boolean[COMPONENTS.length];
+        List<String> tags = filter.requiresTags() ? new ArrayList<>() : List.of();
+        boolean rejected = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (rejected) {
+                parser.skipChildren();
+                continue;
+            }
+            if ("tags".equals(field) && filter.requiresTags()) {
+                readTags(value, tags);
+                continue;
+            }
+            Integer index = COMPONENT_INDEX.get(field);
+            if (index == null || value.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            values[index] = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+            present[index] = true;
+
+            if (index == CARD_TYPE && !filter.acceptsCardType(values[CARD_TYPE])) {
+                rejected = true;
+            } else if ((index == ORIGIN || index == DESTINATION) && values[ORIGIN] != null && values[DESTINATION] != null
+                    && !filter.acceptsRoute(values[ORIGIN], values[DESTINATION])) {
+                rejected = true;
+            }
+        }
+        if (rejected || !filter.acceptsTags(tags)
+                || !filter.acceptsRoute(values[ORIGIN], values[DESTINATION])
+                || !filter.acceptsCardType(values[CARD_TYPE])) {
+            return null;
+        }
+        return toPassenger(values, present);
+    }
+
+    private void readTags(JsonToken value, List<String> tags) throws IOException {
+        if (value == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken().isScalarValue()) {
+                    tags.add(parser.getValueAsString());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (value.isScalarValue()) {
+            tags.add(parser.getValueAsString());
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    // Every field is required, as every column is for the CSV reader; an explicit null is kept for strings only.
+    private Passenger toPassenger(String[] values, boolean[] present) {
+        Object[] args = new Object[COMPONENTS.length];
+        for (int i = 0; i < COMPONENTS.length; i++) {
+            if (!present[i]) {
+                throw new IllegalArgumentException(source + " near " + parser.currentLocation() + ": row has no '"
+                        + COMPONENTS[i].getName() + "' field");
+            }
+            if (COMPONENTS[i].getType() == int.class) {
+                try {
+                    String value = values[i] == null ? null : values[i].trim();
+                    args[i] = Integer.parseInt(value); // null fails here too
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(source + " near " + parser.currentLocation() + ": '"
+                            + COMPONENTS[i].getName() + "' is not a number: " + values[i], e);
+                }
+            } else {
+                args[i] = values[i];
+            }
+        }
+        return PassengerRows.create(args, source + " near " + parser.currentLocation());
+    }
+
+    private static Map<String, Integer> componentIndex() {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < COMPONENTS.length; i++) {
+            index.put(COMPONENTS[i].getName(), i);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * What the passenger readers and data providers share: building a {@link Passenger} from values in record
+ * component order, and handing passengers to TestNG as data provider rows.
+ */
+public final class PassengerRows {
+
+    private static final RecordComponent[] COMPONENTS = Passenger.class.getRecordComponents();
+    private static final Constructor<Passenger> CONSTRUCTOR = canonicalConstructor();
+
+    private PassengerRows() {
+    }
+
+    /**
+     * Creates a passenger through the record's canonical constructor.
+     *
+     * @param values One value per record component, in declaration order.
+     * @param source Where the values came from, e.g. {@code "passengers.csv line 12"}, for the error message.
+     */
+    public static Passenger create(Object[] values, String source) {
+        try {
+            return CONSTRUCTOR.newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not create Passenger from " + source, e);
+        }
+    }
+
+    /**
+     * Wraps passengers as one-argument rows for a lazy TestNG data provider.
+     */
+    public static Iterator<Object[]> asDataProviderRows(Iterator<Passenger> passengers) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return passengers.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{passengers.next()};
+            }
+        };
+    }
+
+    private static Constructor<Passenger> canonicalConstructor() {
+        Class<?>[] types = Arrays.stream(COMPONENTS).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        try {
+            return Passenger.class.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
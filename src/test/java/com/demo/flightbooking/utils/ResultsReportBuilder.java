@@ -0,0 +1,97 @@
+package com.demo.flightbooking.utils;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+/**
+ * Rebuilds an HTML report offline from a {@link ResultsStream} file, e.g. after a run was killed before
+ * its report was written: {@code ResultsReportBuilder reports/regression-results.jsonl reports/regression-report.html}.
+ */
+public final class ResultsReportBuilder {
+
+    private static final Logger logger = LogManager.getLogger(ResultsReportBuilder.class);
+
+    private ResultsReportBuilder() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: ResultsReportBuilder <results.jsonl> [report.html]");
+        }
+        Path results = Path.of(args[0]);
+        Path html = args.length > 1 ? Path.of(args[1]) : Path.of(args[0].replaceFirst("-results\\.jsonl$", "") + "-report.html");
+        int tests = build(results, html);
+        logger.info("Rebuilt {} with {} test(s) from {}", html, tests, results);
+    }
+
+    /**
+     * Writes {@code html} from the lines in {@code results} and returns the number of tests.
+     */
+    public static int build(Path results, Path html) {
+        List<ResultsStream.Line> lines = ResultsStream.read(results);
+        ExtentReports reports = new ExtentReports();
+        ExtentSparkReporter spark = new ExtentSparkReporter(html.toString());
+        spark.config().setOfflineMode(true);
+        spark.config().setDocumentTitle("Test Report (rebuilt): " + results.getFileName());
+        reports.attachReporter(spark);
+
+        for (ResultsStream.Line line : lines) {
+            ExtentTest test = reports.createTest(line.test() + " - " + line.browser());
+            test.assignCategory(line.testClass());
+            if (line.dataRow() != null) {
+                test.info("Data row: " + line.dataRow());
+            }
+            if (line.retries() > 0) {
+                test.info("Retries: " + line.retries());
+            }
+            for (String artifact : line.artifacts()) {
+                if (isImage(artifact)) {
+                    test.addScreenCaptureFromPath(artifact);
+                } else {
+                    test.info("<a href='" + href(html, artifact) + "'>" + Path.of(artifact).getFileName() + "</a>");
+                }
+            }
+            String details = line.error() != null ? line.error() : "Test " + line.status().toLowerCase();
+            test.log(toStatus(line.status()), details);
+            test.getModel().setStartTime(new Date(line.startMillis()));
+            test.getModel().setEndTime(new Date(line.startMillis() + line.durationMillis()));
+        }
+        reports.setSystemInfo("Rebuilt from", results.toString());
+        reports.flush();
+        return lines.size();
+    }
+
+    // Bundles (.zip), screencasts (.gif) and debug logs are linked; only stills are shown as screenshots.
+    private static boolean isImage(String artifact) {
+        String name = artifact.toLowerCase(Locale.ROOT);
+        return name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg");
+    }
+
+    // "./..." paths are already relative to the reports folder; others (debug logs) to the working directory.
+    private static String href(Path html, String artifact) {
+        if (artifact.startsWith("./")) {
+            return artifact;
+        }
+        Path dir = html.toAbsolutePath().getParent();
+        return dir.relativize(Path.of(artifact).toAbsolutePath()).toString().replace('\\', '/');
+    }
+
+    private static Status toStatus(String status) {
+        return switch (status) {
+            case "PASS" -> Status.PASS;
+            case "FAIL" -> Status.FAIL;
+            case "RETRIED" -> Status.WARNING;
+            default -> Status.SKIP;
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.demo.flightbooking.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * An append-only JSON Lines file with one line per finished test, e.g. {@code reports/regression-results.jsonl}.
+ * The file is started fresh for each run; a previous run's file of the same name is deleted when the stream is created.
+ * <p>
+ * Lines are written (and flushed) on the {@link ReportQueue} thread as tests finish, so other tools can tail
+ * the file during a run and a crashed or aborted run keeps every result up to the last test. The full
+ * HTML report can be rebuilt from it with {@link ResultsReportBuilder}.
+ */
+public final class ResultsStream {
+
+    private static final Logger logger = LogManager.getLogger(ResultsStream.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * One finished test invocation.
+     *
+     * @param dataRow   Stable id of the data row (see {@link DataShard#rowKey}), or null for tests without one.
+     * @param status    PASS, FAIL, SKIP or RETRIED (a failed attempt that TestNG ran again).
+     * @param retries   Retries used so far for this method, including this attempt if it was retried.
+     * @param artifacts Paths of files saved for the test (screenshots, bundles), relative to the reports folder.
+     */
+    public record Line(String test, String testClass, String browser, String dataRow, String status,
+                       long startMillis, long durationMillis, int retries, List<String> artifacts, String error) {
+    }
+
+    private final Path file;
+    private final ReportQueue queue;
+    private BufferedWriter writer; // used only on the queue's thread, until close()
+    private boolean closed;
+
+    public ResultsStream(Path file, ReportQueue queue) {
+        this.file = file;
+        this.queue = queue;
+        try {
+            // Readers must not see the last run's rows, even if this run ends before its first result.
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not remove previous results {}: {}", file, e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void append(Line line) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize result for " + line.test(), e);
+        }
+        queue.execute(() -> write(json));
+    }
+
+    /**
+     * Closes the file. Call after the {@link ReportQueue} is closed, once no more lines can be written.
+     */
+    public void close() {
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Could not close {}: {}", file, e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Reads every line of a results file.
+     */
+    public static List<Line> read(Path file) {
+        List<Line> lines = new ArrayList<>();
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (!json.isBlank()) {
+                    lines.add(MAPPER.readValue(json, Line.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read results from " + file, e);
+        }
+        return lines;
+    }
+
+    private void write(String json) {
+        if (closed) {
+            logger.warn("Result written after {} was closed, dropped: {}", file, json);
+            return;
+        }
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            }
+            writer.write(json);
+            writer.newLine();
+            writer.flush(); // one line per test; keep the file current for readers that tail it
+        } catch (IOException e) {
+            logger.warn("Could not append to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+/**
+ * Combines the per-shard outputs of a sharded run (see {@link DataShard}) into the files an unsharded run writes.
+ * <p>
+ * Collect each agent's {@code reports/} folder into one directory, then run
+ * {@code mvn test-compile exec:java -P merge-reports -Dtest.suite=regression} (or call {@link #main} with the
+ * directory and suite name). It reads every {@code <suite>-shardN-of-M.json} Extent archive into a single
+ * {@code <suite>-report.html} (also copied to {@code index.html}) and concatenates the shards' failure
+ * summaries into {@code <suite>-failure-summary.txt}.
+ */
+public final class ShardReportMerger {
+
+    private static final Logger logger = LogManager.getLogger(ShardReportMerger.class);
+
+    /** What was merged: the shard archives read and the failure lines written. */
+    public record Result(List<Path> archives, int failures) {
+    }
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) {
+        Path dir = Path.of(args.length > 0 ? args[0] : "reports");
+        String suite = args.length > 1 ? args[1] : System.getProperty("test.suite", "default");
+        Result result = merge(dir, suite);
+        logger.info("Merged {} shard report(s) with {} failure(s) into {}", result.archives().size(),
+                result.failures(), dir.resolve(suite + "-report.html"));
+    }
+
+    public static Result merge(Path dir, String suite) {
+        List<Path> archives = list(dir, suite + "-shard*-of-*.json");
+        if (archives.isEmpty()) {
+            throw new RuntimeException("No shard reports (" + suite + "-shard*-of-*.json) found in " + dir.toAbsolutePath());
+        }
+
+        ExtentReports merged = new ExtentReports();
+        Path html = dir.resolve(suite + "-report.html");
+        ExtentSparkReporter spark = new ExtentSparkReporter(html.toString());
+        spark.config().setOfflineMode(true);
+        spark.config().setDocumentTitle("Test Report: " + suite.toUpperCase());
+        merged.attachReporter(spark);
+        try {
+            for (Path archive : archives) {
+                merged.createDomainFromJsonArchive(archive.toFile());
+                logger.info("Merged shard report {}", archive.getFileName());
+            }
+            merged.setSystemInfo("Shards merged", String.valueOf(archives.size()));
+            merged.flush();
+            Files.copy(html, dir.resolve("index.html"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not merge shard reports in " + dir, e);
+        }
+
+        return new Result(archives, mergeFailureSummaries(dir, suite));
+    }
+
+    // Writes <suite>-failure-summary.txt from the shards' summaries (if any) and returns the number of failures.
+    private static int mergeFailureSummaries(Path dir, String suite) {
+        List<String> lines = new ArrayList<>();
+        try {
+            for (Path summary : list(dir, suite + "-shard*-of-*-failure-summary.txt")) {
+                for (String line : Files.readAllLines(summary, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank() && !line.startsWith("=====")) {
+                        lines.add(line);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> out = new ArrayList<>();
+                out.add("===== FAILED TEST SUMMARY =====");
+                out.addAll(lines);
+                Files.write(dir.resolve(suite + "-failure-summary.txt"), out, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not merge failure summaries in " + dir, e);
+        }
+        return lines.size();
+    }
+
+    private static List<Path> list(Path dir, String glob) {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            stream.forEach(paths::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + dir, e);
+        }
+        paths.sort(null);
+        return paths;
+    }
+}
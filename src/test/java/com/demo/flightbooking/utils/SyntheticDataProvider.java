@@ -0,0 +1,40 @@
+package com.demo.flightbooking.utils;
+
+import java.util.Iterator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Data provider for generated passengers (see {@link SyntheticPassengerGenerator}).
+ * <p>
+ * Reads {@code testdata.synthetic.seed}, {@code testdata.synthetic.rows} and {@code testdata.synthetic.baseYear}
+ * from config; each can be overridden with a system property of the same name, e.g.
+ * {@code -Dtestdata.synthetic.seed=42 -Dtestdata.synthetic.rows=1000000}. The values used are logged so a
+ * failing run can be replayed exactly.
+ */
+public class SyntheticDataProvider {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticDataProvider.class);
+
+    @DataProvider(name = "syntheticPassengers")
+    public static Iterator<Object[]> syntheticPassengers() {
+        long seed = Long.parseLong(setting("testdata.synthetic.seed", "1"));
+        long rows = Long.parseLong(setting("testdata.synthetic.rows", "10"));
+        String baseYear = setting("testdata.synthetic.baseYear", "");
+        SyntheticPassengerGenerator generator = baseYear.isEmpty()
+                ? new SyntheticPassengerGenerator(seed, rows)
+                : new SyntheticPassengerGenerator(seed, rows, Integer.parseInt(baseYear));
+        logger.info("Generating {} synthetic passenger(s): seed={}, baseYear={}", rows, seed, generator.getBaseYear());
+        return PassengerRows.asDataProviderRows(generator);
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            value = ConfigReader.getProperty(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
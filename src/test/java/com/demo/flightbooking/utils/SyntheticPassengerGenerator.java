@@ -0,0 +1,204 @@
+package com.demo.flightbooking.utils;
+
+import java.time.Year;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Generates valid, realistic Passenger rows from a seed, for soak and volume runs.
+ * <p>
+ * Every row is a pure function of {@code (seed, index, baseYear)}: the same seed always yields the same
+ * stream, and a single failing row can be rebuilt with {@link #passenger(long)} without replaying the ones
+ * before it. Routes are BlazeDemo's own origin/destination cities, card numbers have the right prefix and
+ * length for the card type and a valid Luhn check digit, and expiry dates fall after {@code baseYear}.
+ * <p>
+ * Rows are produced lazily, so a run of millions holds only the current one. Vocabulary values are string
+ * constants shared by every row, and card numbers are built in a reused char buffer.
+ */
+public final class SyntheticPassengerGenerator implements Iterator<Passenger> {
+
+    private static final String[] ORIGINS = {
+            "Paris", "Philadelphia", "Boston", "Portland", "San Diego", "Mexico City", "São Paolo"};
+    private static final String[] DESTINATIONS = {
+            "Buenos Aires", "Rome", "London", "Berlin", "New York", "Dublin", "Cairo"};
+    private static final String[] MALE_NAMES = {
+            "James", "Robert", "Michael", "David", "William", "Daniel", "Thomas", "Carlos", "Luca", "Pierre"};
+    private static final String[] FEMALE_NAMES = {
+            "Mary", "Jennifer", "Linda", "Emily", "Sarah", "Laura", "Maria", "Sofia", "Chloe", "Anna"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Martinez", "Lopez",
+            "Wilson", "Anderson", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Walker", "Hall", "Young"};
+    private static final String[] STREETS = {
+            "Main St", "Oak Avenue", "Pine Street", "Maple Drive", "Cedar Lane", "Elm Street", "Lake Road",
+            "Hill Street", "Park Avenue", "River Road"};
+    // city, state, first two digits of the zip code
+    private static final String[][] CITIES = {
+            {"Springfield", "IL", "62"}, {"Portland", "OR", "97"}, {"Austin", "TX", "78"}, {"Denver", "CO", "80"},
+            {"Boston", "MA", "02"}, {"Seattle", "WA", "98"}, {"Columbus", "OH", "43"}, {"Phoenix", "AZ", "85"}};
+    private static final String[] MONTHS = {"01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11", "12"};
+    private static final String[] GENDERS = {"Male", "Female"};
+
+    /** A card type as shown on the purchase page, with its number prefixes and length. */
+    private record CardType(String name, String[] prefixes, int length) {
+    }
+
+    private static final CardType[] CARD_TYPES = {
+            new CardType("Visa", new String[]{"4"}, 16),
+            new CardType("American Express", new String[]{"34", "37"}, 15),
+            new CardType("Diner's Club", new String[]{"36", "38"}, 14)};
+
+    private final long seed;
+    private final long count;
+    private final int baseYear;
+    private final String[] years;
+    private final char[] digits = new char[16];
+    private final char[] zip = new char[5];
+    private long index;
+
+    /**
+     * @param seed     Seed for the stream; log it so a run can be replayed.
+     * @param count    Number of rows to produce.
+     * @param baseYear Expiry years are drawn from the five years after this one.
+     */
+    public SyntheticPassengerGenerator(long seed, long count, int baseYear) {
+        this.seed = seed;
+        this.count = count;
+        this.baseYear = baseYear;
+        this.years = new String[5];
+        for (int i = 0; i < years.length; i++) {
+            years[i] = String.valueOf(baseYear + 1 + i);
+        }
+    }
+
+    public SyntheticPassengerGenerator(long seed, long count) {
+        this(seed, count, Year.now().getValue());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < count;
+    }
+
+    @Override
+    public Passenger next() {
+        if (index >= count) {
+            throw new NoSuchElementException("All " + count + " synthetic rows were produced");
+        }
+        return passenger(index++);
+    }
+
+    /**
+     * Builds row {@code rowIndex} of this seed's stream directly.
+     */
+    public Passenger passenger(long rowIndex) {
+        // SplitMix64 stream keyed by (seed, rowIndex); each draw advances 'state'.
+        long state = mix(seed ^ mix(rowIndex + 0x9E3779B97F4A7C15L));
+        state = mix(state);
+
+        int from = pick(state, ORIGINS.length);
+        state = mix(state);
+        String origin = ORIGINS[from];
+        String destination = DESTINATIONS[pick(state, DESTINATIONS.length)];
+        state = mix(state);
+
+        boolean female = (state & 1) == 1;
+        String gender = GENDERS[female ? 1 : 0];
+        String firstName = female ? FEMALE_NAMES[pick(state >>> 1, FEMALE_NAMES.length)]
+                : MALE_NAMES[pick(state >>> 1, MALE_NAMES.length)];
+        state = mix(state);
+        String lastName = LAST_NAMES[pick(state, LAST_NAMES.length)];
+        state = mix(state);
+
+        String address = (1 + pick(state, 9999)) + " " + STREETS[pick(state >>> 20, STREETS.length)];
+        state = mix(state);
+        String[] city = CITIES[pick(state, CITIES.length)];
+        String zipCode = zipCode(city[2], pick(state >>> 20, 1000));
+        state = mix(state);
+
+        CardType card = CARD_TYPES[pick(state, CARD_TYPES.length)];
+        state = mix(state);
+        String cardNumber = cardNumber(card, state);
+        state = mix(state);
+        String month = MONTHS[pick(state, MONTHS.length)];
+        String year = years[pick(state >>> 20, years.length)];
+        state = mix(state);
+        int age = 18 + pick(state, 63);
+
+        return new Passenger(origin, destination, firstName, lastName, address, city[0], city[1], zipCode,
+                card.name(), cardNumber, month, year, firstName + " " + lastName, age, gender);
+    }
+
+    /**
+     * Returns true if {@code number} passes the Luhn checksum.
+     */
+    public static boolean isLuhnValid(CharSequence number) {
+        int sum = 0;
+        boolean doubleIt = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return number.length() > 0 && sum % 10 == 0;
+    }
+
+    private String cardNumber(CardType card, long state) {
+        String prefix = card.prefixes()[pick(state, card.prefixes().length)];
+        int length = card.length();
+        prefix.getChars(0, prefix.length(), digits, 0);
+        long bits = mix(state); // 64 bits give 19 decimal digits, more than the longest payload
+        for (int i = prefix.length(); i < length - 1; i++) {
+            digits[i] = (char) ('0' + Long.remainderUnsigned(bits, 10));
+            bits = Long.divideUnsigned(bits, 10);
+        }
+        // Check digit: Luhn sum over the payload, doubling every second digit counted from the check digit.
+        int sum = 0;
+        for (int i = length - 2, pos = 0; i >= 0; i--, pos++) {
+            int digit = digits[i] - '0';
+            if (pos % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        digits[length - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(digits, 0, length);
+    }
+
+    private String zipCode(String prefix, int suffix) {
+        prefix.getChars(0, 2, zip, 0);
+        zip[2] = (char) ('0' + suffix / 100);
+        zip[3] = (char) ('0' + suffix / 10 % 10);
+        zip[4] = (char) ('0' + suffix % 10);
+        return new String(zip);
+    }
+
+    private static int pick(long bits, int bound) {
+        return (int) Long.remainderUnsigned(bits, bound);
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}